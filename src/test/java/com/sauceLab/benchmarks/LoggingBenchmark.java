@@ -0,0 +1,165 @@
+package com.sauceLab.benchmarks;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.sauceLab.utilities.TestLogger;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openqa.selenium.WebElement;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Measures what logging "Click on ..." costs a click: built eagerly from
+ * the element's text as BasePage.click used to, against the {} overload
+ * describing the element by its locator. Reading the text of an element
+ * with no text (an input, an icon button) costs four round trips, here
+ * simulated by parking for 'roundTripMicros' each; the roundTrips counter
+ * reports how many were made per click.
+ *
+ * <p>Run after mvn test-compile with
+ * {@code java -cp target/test-classes:<test classpath>
+ * com.sauceLab.benchmarks.LoggingBenchmark}.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LoggingBenchmark {
+
+	/**
+	 * The simulated time of one round trip to the Grid, in microseconds.
+	 */
+	@Param({"0", "300"})
+	public long roundTripMicros;
+
+	/**
+	 * The level of the logger: INFO logs the message, WARN skips it.
+	 */
+	@Param({"INFO", "WARN"})
+	public String level;
+
+	/**
+	 * The element clicked, described by its locator.
+	 */
+	private WebElement element;
+
+	/**
+	 * Counts the round trips of a click.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class RoundTrips {
+
+		/**
+		 * The round trips made.
+		 */
+		public long roundTrips;
+
+		/**
+		 * Start each iteration from zero.
+		 */
+		@Setup(org.openjdk.jmh.annotations.Level.Iteration)
+		public void reset() {
+			roundTrips = 0;
+		}
+	}
+
+	/**
+	 * The round trips made by the element so far.
+	 */
+	private long made;
+
+	/**
+	 * Silence the logger at the level of the run and build the element.
+	 */
+	@Setup(org.openjdk.jmh.annotations.Level.Trial)
+	public void setUp() {
+		Logger logger = (Logger) LoggerFactory.getLogger(TestLogger.class);
+		logger.detachAndStopAllAppenders();
+		logger.setAdditive(false);
+		logger.setLevel(Level.toLevel(level));
+		element = (WebElement) Proxy.newProxyInstance(
+				WebElement.class.getClassLoader(),
+				new Class<?>[]{WebElement.class},
+				(proxy, method, args) -> {
+					if ("toString".equals(method.getName())) {
+						return "By.id: checkout";
+					}
+					made++;
+					LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+					return "getAttribute".equals(method.getName())
+							&& "value".equals(args[0]) ? "Checkout" : "";
+				});
+	}
+
+	/**
+	 * The message as BasePage.click used to build it.
+	 * @param trips The round trip counter.
+	 */
+	@Benchmark
+	public void eagerText(final RoundTrips trips) {
+		long before = made;
+		TestLogger.info("Click on " + text(element));
+		trips.roundTrips += made - before;
+	}
+
+	/**
+	 * The message described by the locator, formatted only if logged.
+	 * @param trips The round trip counter.
+	 */
+	@Benchmark
+	public void lazyLocator(final RoundTrips trips) {
+		long before = made;
+		TestLogger.info("Click on {}", element);
+		trips.roundTrips += made - before;
+	}
+
+	/**
+	 * The text of an element as BasePage.getText reads it.
+	 * @param webElement The element.
+	 * @return The text.
+	 */
+	private static String text(final WebElement webElement) {
+		String text = webElement.getText();
+		if (null == text || text.isEmpty()) {
+			text = webElement.getAttribute("innerText");
+			if (null == text || text.isEmpty()) {
+				text = webElement.getAttribute("innerHTML");
+				if (null == text || text.isEmpty()) {
+					text = webElement.getAttribute("value");
+				}
+			}
+		}
+		return text;
+	}
+
+	/**
+	 * Run the benchmark.
+	 * @param args Unused.
+	 * @throws RunnerException If the run fails.
+	 */
+	public static void main(final String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(LoggingBenchmark.class.getSimpleName())
+				.build()).run();
+	}
+}
@@ -0,0 +1,172 @@
+package com.sauceLab.benchmarks;
+
+import com.sauceLab.utilities.ReportFragment;
+import com.sauceLab.utilities.ReportFragment.Template;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openqa.selenium.logging.LogEntry;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building the report of a scenario whose browser logged
+ * 'entries' console entries: with String += and a tag rebuilt per entry
+ * as SystemEnvironment used to, against a {@link ReportFragment } with
+ * compiled templates. Run with -prof gc to compare the bytes allocated
+ * per report as well as the time.
+ *
+ * <p>Run after mvn test-compile with
+ * {@code java -cp target/test-classes:<test classpath>
+ * com.sauceLab.benchmarks.ReportFragmentBenchmark}.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ReportFragmentBenchmark {
+
+	/**
+	 * A row of the Test Data table.
+	 */
+	private static final Template DATA_ROW
+			= Template.compile("<tr><td>{}</td><td>{}</td></tr>");
+
+	/**
+	 * A console entry coloured by its level.
+	 */
+	private static final Template CONSOLE_ENTRY
+			= Template.compile("<li style=\"color: {}\"><p>{} {} {}</p></li>");
+
+	/**
+	 * The number of browser console entries.
+	 */
+	@Param({"10000"})
+	public int entries;
+
+	/**
+	 * The console entries, of every level in turn.
+	 */
+	private List<LogEntry> logs;
+
+	/**
+	 * Build the console entries.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		java.util.logging.Level[] levels = {
+				java.util.logging.Level.SEVERE, java.util.logging.Level.WARNING,
+				java.util.logging.Level.FINE, java.util.logging.Level.INFO};
+		logs = new ArrayList<>(entries);
+		long now = System.currentTimeMillis();
+		for (int i = 0; i < entries; i++) {
+			logs.add(new LogEntry(levels[i % levels.length], now + i,
+					"https://www.saucedemo.com/static/js/main.js 2:" + i
+							+ " \"Unexpected response for /inventory-item " + i + "\""));
+		}
+	}
+
+	/**
+	 * The report as SystemEnvironment used to build it.
+	 * @return The report.
+	 */
+	@Benchmark
+	public String concatenated() {
+		String log = "<h2>Framework Console Logs</h2>";
+		log += "</br><span><table><tbody>";
+		log += "<tr><th><b>Test Data</b></th></tr>";
+		log += "<tr><td>Browser Name :</td><td>" + "chrome" + "</td></tr>";
+		log += "<tr><td>User Name :</td><td>" + "standard_user" + "</td></tr>";
+
+		StringBuilder consoleLogs = new StringBuilder()
+				.append("<h2>Browser Console Logs</h2></br><span><ul>");
+		for (LogEntry logEntry : logs) {
+			String openingListItemTag = "<li";
+			if (logEntry.toString().contains("[SEVERE]")) {
+				openingListItemTag += " style=\"color: red\">";
+			} else if (logEntry.toString().contains("[WARNING]")) {
+				openingListItemTag += " style=\"color: orange\">";
+			} else if (logEntry.toString().contains("[FINE]")) {
+				openingListItemTag += " style=\"color: green\">";
+			} else if (logEntry.toString().contains("[INFO]")) {
+				openingListItemTag += " style=\"color: blue\">";
+			}
+			consoleLogs.append(openingListItemTag)
+					.append("<p>")
+					.append(new Date(logEntry.getTimestamp()))
+					.append(" ")
+					.append(logEntry.getLevel())
+					.append(" ")
+					.append(logEntry.getMessage())
+					.append("</p>")
+					.append("</li>");
+		}
+		consoleLogs.append("</ul></span>");
+		return log + consoleLogs;
+	}
+
+	/**
+	 * The report written by a fragment.
+	 * @return The report.
+	 */
+	@Benchmark
+	public String fragment() {
+		ReportFragment report = ReportFragment.open()
+				.raw("<h2>Framework Console Logs</h2>")
+				.raw("</br><span><table><tbody>")
+				.raw("<tr><th><b>Test Data</b></th></tr>")
+				.append(DATA_ROW, "Browser Name :", "chrome")
+				.append(DATA_ROW, "User Name :", "standard_user")
+				.raw("<h2>Browser Console Logs</h2></br><span><ul>");
+		for (LogEntry logEntry : logs) {
+			report.append(CONSOLE_ENTRY, colourOf(logEntry.getLevel()),
+					new Date(logEntry.getTimestamp()), logEntry.getLevel(),
+					logEntry.getMessage());
+		}
+		return report.raw("</ul></span>").build();
+	}
+
+	/**
+	 * The colour of a level, as SystemEnvironment picks it.
+	 * @param level The level.
+	 * @return The colour.
+	 */
+	private static String colourOf(final java.util.logging.Level level) {
+		if (java.util.logging.Level.SEVERE.equals(level)) {
+			return "red";
+		} else if (java.util.logging.Level.WARNING.equals(level)) {
+			return "orange";
+		} else if (java.util.logging.Level.FINE.equals(level)) {
+			return "green";
+		}
+		return "blue";
+	}
+
+	/**
+	 * Run the benchmark.
+	 * @param args Unused.
+	 * @throws RunnerException If the run fails.
+	 */
+	public static void main(final String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(ReportFragmentBenchmark.class.getSimpleName())
+				.build()).run();
+	}
+}
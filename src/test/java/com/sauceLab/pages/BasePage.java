@@ -1,8 +1,10 @@
 package com.sauceLab.pages;
 
+import com.sauceLab.utilities.SleepSavings;
+import com.sauceLab.utilities.WaitProfiler;
+import com.sauceLab.utilities.WaitProfiler.WaitType;
 import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Actions;
-import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.*;
 
 import java.io.File;
@@ -14,8 +16,9 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map.Entry;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
 import static com.sauceLab.utilities.TestConstants.*;
@@ -25,22 +28,35 @@ public abstract class BasePage {
 
 	protected Wait<WebDriver> newWait;
 	protected WebDriver driver;
-	public String windowHandle;
+	protected final PageContext context;
 
 	public BasePage(WebDriver _driver) {
-		driver = _driver;
-
-		newWait = new FluentWait<>(driver)
-				.withTimeout(Duration.ofSeconds(WAIT_EXPLICIT))
-				.pollingEvery(Duration.ofSeconds(WAIT_STANDARD))
-				.ignoring(NoSuchElementException.class)
-				.ignoring(StaleElementReferenceException.class)
-				.ignoring(TimeoutException.class)
-				.ignoring(InvalidElementStateException.class);
+		this(new PageContext(_driver));
+	}
 
-		windowHandle = driver.getWindowHandle();
-		PageFactory.initElements(driver, this);
+	/**
+	 * Builds the page in the scenario's 'context', sharing its driver and
+	 * wait. The element fields are set once the page is built, so pages are
+	 * built through {@link PageContext#page(Class) } or
+	 * {@link PageObjectRegistry#create(Class, PageContext) }
+	 *
+	 * @param context the context of the scenario
+	 */
+	public BasePage(PageContext context) {
+		this.context = context;
+		driver = context.getDriver();
+		newWait = context.getWait();
+	}
 
+	/**
+	 * Returns the handle of the window this test began in, fetched the
+	 * first time it is needed. Replaces the public windowHandle field,
+	 * which fetched the handle every time a page was built
+	 *
+	 * @return the window handle
+	 */
+	public String getWindowHandle() {
+		return context.getHomeWindowHandle();
 	}
 
 	/***
@@ -48,13 +64,13 @@ public abstract class BasePage {
 	 * @param element - The WebElement to scroll into view
 	 */
 	public void scrollIntoView(WebElement element) {
-		debug("Scrolling into view " + element.toString());
+		debug("Scrolling into view {}", element);
 
 		JavascriptExecutor js = (JavascriptExecutor) driver;
 		try {
 			js.executeScript("arguments[0].scrollIntoView({behaviour: \"auto\", block: \"center\", inline: \"nearest\"});", element);
 
-			waitStandard();
+			waitStandard(Readiness.elementSettled(element));
 		} catch (InvalidElementStateException
 				 | StaleElementReferenceException
 				 | TimeoutException
@@ -71,10 +87,10 @@ public abstract class BasePage {
 	 */
 	public void scrollIntoView(WebElement element, boolean topOrBottom) {
 		try {
-			debug("Scrolling into view " + element.toString() + " aligning to " + topOrBottom);
+			debug("Scrolling into view {} aligning to {}", element, topOrBottom);
 			JavascriptExecutor js = (JavascriptExecutor) driver;
 			js.executeScript("arguments[0].scrollIntoView(arguments[1]);", element, topOrBottom);
-			waitStandard();
+			waitStandard(Readiness.elementSettled(element));
 		} catch (InvalidElementStateException | StaleElementReferenceException | TimeoutException |
 				 NoSuchElementException e) {
 			error("Could not scroll the element : [" + element + "] into view as it could not be found.", e);
@@ -88,7 +104,7 @@ public abstract class BasePage {
 		info("Scrolling to the top of the screen");
 		JavascriptExecutor js = (JavascriptExecutor) driver;
 		js.executeScript("window.scrollTo(0,0);");
-		waitStandard();
+		waitStandard(Readiness.scrollSettled());
 	}
 
 	/**
@@ -100,7 +116,7 @@ public abstract class BasePage {
 		int xCoord = 0;
 		int yCoord = 100;
 		js.executeScript("scrollBy(arguments[0], arguments[1]);", xCoord, yCoord);
-		waitStandard();
+		waitStandard(Readiness.scrollSettled());
 	}
 
 	/**
@@ -112,7 +128,7 @@ public abstract class BasePage {
 		int xCoord = 0;
 		int yCoord = Math.abs(pixels);
 		js.executeScript("scrollBy(arguments[0], arguments[1]);", xCoord, yCoord);
-		waitStandard();
+		waitStandard(Readiness.scrollSettled());
 	}
 
 	/**
@@ -125,7 +141,7 @@ public abstract class BasePage {
 		xCoord = 0;
 		yCoord = -100;
 		js.executeScript("scrollBy(arguments[0], arguments[1]);", xCoord, yCoord);
-		waitStandard();
+		waitStandard(Readiness.scrollSettled());
 	}
 
 	/**
@@ -138,7 +154,7 @@ public abstract class BasePage {
 		xCoord = 0;
 		yCoord = -1 * Math.abs(pixels);
 		js.executeScript("scrollBy(arguments[0], arguments[1]);", xCoord, yCoord);
-		waitStandard();
+		waitStandard(Readiness.scrollSettled());
 	}
 
 	/**
@@ -149,7 +165,7 @@ public abstract class BasePage {
 	 */
 	public void scrollElementIntoView(WebElement element) {
 		try {
-			info("Scrolling " + element.toString() + " into view");
+			info("Scrolling {} into view", element);
 			boolean isOnScreen = isOnScreen(element);
 
 			if (!isOnScreen) {
@@ -184,7 +200,8 @@ public abstract class BasePage {
 	public void navigateBack() {
 		debug("Navigating Back");
 		driver.navigate().back();
-		waitForPageToLoad();
+		pageMayHaveChanged();
+		waitForNetworkIdle();
 		waitStandard();
 	}
 
@@ -194,9 +211,9 @@ public abstract class BasePage {
 	 */
 	public void switchToHomeTab() {
 		debug("Switching to Home Tab");
-		driver.switchTo().window(windowHandle);
+		driver.switchTo().window(getWindowHandle());
 		//switchTab();
-		waitStandard();
+		waitStandard(Readiness.ready());
 	}
 
 	/**
@@ -204,7 +221,9 @@ public abstract class BasePage {
 	 */
 	public void switchTab() {
 		info("Switching tabs");
-		info("Number of tabs: [" + driver.getWindowHandles().size() + "]");
+		// remember the home tab before leaving it
+		getWindowHandle();
+		info(() -> "Number of tabs: [" + driver.getWindowHandles().size() + "]");
 		try {
 			driver.getWindowHandles().forEach(tab -> driver.switchTo().window(tab));
 		} catch (InvalidElementStateException
@@ -220,9 +239,10 @@ public abstract class BasePage {
 	 */
 	public void closeBrowserTab() {
 		debug("Closing Browser Tab");
+		int windows = driver.getWindowHandles().size();
 		driver.switchTo().window(driver.getWindowHandle());
 		driver.close();
-		waitStandard();
+		waitStandard(Readiness.windowsBelow(windows));
 	}
 
 	/**
@@ -232,16 +252,18 @@ public abstract class BasePage {
 	 */
 	protected <T> void clickWithJavascript(T element) {
 		if (element instanceof WebElement) {
-			info("Attempting to Click [" + (WebElement) element + "] with JavaScript");
+			info("Attempting to Click [{}] with JavaScript", element);
 			scrollIntoView((WebElement) element);
-			waitStandard();
+			waitStandard(Readiness.ready());
 			((JavascriptExecutor) driver).executeScript("arguments[0].click();", element);
+			pageMayHaveChanged();
 		} else if (element instanceof By) {
 			WebElement webElement = findElement((By) element);
-			info("Attempting to Click [" + webElement + "] with JavaScript");
+			info("Attempting to Click [{}] with JavaScript", element);
 			scrollIntoView(webElement);
-			waitStandard();
+			waitStandard(Readiness.ready());
 			((JavascriptExecutor) driver).executeScript("arguments[0].click();", webElement);
+			pageMayHaveChanged();
 		}
 	}
 
@@ -252,32 +274,88 @@ public abstract class BasePage {
 	 * @param seconds - The amount of seconds to wait for
 	 */
 	public void waitFor(long seconds) {
+		long start = WaitProfiler.start();
 		try {
 			info("Waiting for [" + seconds + "] seconds");
 			Thread.sleep(seconds * 1000);
 		} catch (InterruptedException e) {
 			error("Error waiting for [" + seconds + "] seconds\n" + e.getMessage());
+		} finally {
+			WaitProfiler.stop(WaitType.WAIT_FOR, start);
 		}
 	}
 
 	/**
 	 * Waits for seconds
 	 * default=2
+	 * In zero-sleep mode, waits for the page to settle instead
 	 */
 	public void waitStandard() {
+		waitStandard(Readiness.pageSettled());
+	}
+
+	/**
+	 * Waits for the standard [WAIT_STANDARD] seconds, or in zero-sleep mode
+	 * only until the 'readiness' condition holds, polling every
+	 * ZERO_SLEEP_POLL_INTERVAL milliseconds. A condition that does not hold
+	 * within WAIT_STANDARD seconds is given up on, as the sleep would have
+	 * been, so the mode is never slower than the sleep it replaces
+	 *
+	 * @param readiness The condition the sleep was waiting for
+	 */
+	protected void waitStandard(ExpectedCondition<?> readiness) {
+		long profile = WaitProfiler.start();
+		if (!ZERO_SLEEP_ENABLED) {
+			try {
+				debug("Waiting for standard [" + WAIT_STANDARD + "] seconds");
+				Thread.sleep(WAIT_STANDARD * 1000L);
+			} catch (InterruptedException e) {
+				error("Error waiting for standard [" + WAIT_STANDARD + "] seconds\n" + e.getMessage());
+			} finally {
+				WaitProfiler.stop(WaitType.WAIT_STANDARD_SLEEP, profile);
+			}
+			return;
+		}
+
+		long start = System.nanoTime();
 		try {
-			debug("Waiting for standard [" + WAIT_STANDARD + "] seconds");
-			Thread.sleep(WAIT_STANDARD * 1000L);
-		} catch (InterruptedException e) {
-			error("Error waiting for standard [" + WAIT_STANDARD + "] seconds\n" + e.getMessage());
+			new FluentWait<>(driver)
+					.withTimeout(Duration.ofSeconds(WAIT_STANDARD))
+					.pollingEvery(Duration.ofMillis(ZERO_SLEEP_POLL_INTERVAL))
+					.ignoring(NoSuchElementException.class)
+					.ignoring(StaleElementReferenceException.class)
+					.ignoring(JavascriptException.class)
+					.until(readiness);
+		} catch (TimeoutException e) {
+			debug("Not ready within the standard [" + WAIT_STANDARD + "] seconds, continuing");
+		} finally {
+			WaitProfiler.stop(WaitType.WAIT_STANDARD_READINESS, profile);
+			SleepSavings.record(callingMethod(),
+					TimeUnit.SECONDS.toNanos(WAIT_STANDARD),
+					System.nanoTime() - start);
 		}
 	}
 
+	/**
+	 * Finds the page method that asked for a standard wait
+	 *
+	 * @return the name of the method
+	 */
+	private static String callingMethod() {
+		return StackWalker.getInstance().walk(frames -> frames
+				.map(StackWalker.StackFrame::getMethodName)
+				.filter(name -> !name.equals("waitStandard")
+						&& !name.equals("callingMethod")
+						&& !name.startsWith("lambda$"))
+				.findFirst()
+				.orElse("unknown"));
+	}
+
 	/**
 	 * Generic method used to wait until element invisible with text
 	 */
 	public void waitForInvisibilityOfElement(By element) {
-		debug("Waiting for the invisibility of [" + element + "]");
+		debug("Waiting for the invisibility of [{}]", element);
 		newWait.until(ExpectedConditions.invisibilityOfElementLocated(element));
 	}
 
@@ -286,7 +364,7 @@ public abstract class BasePage {
 	 * Generic method used to wait until element is clickable
 	 */
 	public void waitUntilElementIsClickable(WebElement element) {
-		debug("Waiting for the clickable of [" + element + "]");
+		debug("Waiting for the clickable of [{}]", element);
 		newWait.until(ExpectedConditions.elementToBeClickable(element));
 	}
 
@@ -301,7 +379,10 @@ public abstract class BasePage {
 	}
 
 	public <T> void waitForVisibility(T element) {
-		info("Waiting for the visibility of element [" + element + "]");
+		info("Waiting for the visibility of element [{}]", element);
+		if (waitInBrowser(BrowserWait.visible(element))) {
+			return;
+		}
 		if (element instanceof WebElement) {
 			newWait.until(ExpectedConditions.visibilityOf((WebElement) element));
 		} else if (element instanceof By) {
@@ -309,6 +390,21 @@ public abstract class BasePage {
 		}
 	}
 
+	/**
+	 * Wait in the browser for the 'condition', when in-browser waits are
+	 * enabled and the driver can run them. The caller polls with
+	 * {@link #newWait } when this returns false.
+	 *
+	 * @param condition The condition, see {@link BrowserWait }
+	 * @return True once the condition holds, false if it was not waited on
+	 * @throws TimeoutException If the condition did not hold in time
+	 */
+	private boolean waitInBrowser(Map<String, Object> condition) {
+		return IN_BROWSER_WAITS_ENABLED
+				&& null != BrowserWait.await(driver, condition,
+						Duration.ofSeconds(WAIT_EXPLICIT));
+	}
+
 	/**
 	 * Generic method used to wait for a Modal to be Visible
 	 */
@@ -335,13 +431,37 @@ public abstract class BasePage {
 		newWait.until(pageLoadCondition);
 	}
 
+	/***
+	 * Waits for the page to load and its fetch and XHR traffic to settle,
+	 * i.e. no request in flight for NETWORK_IDLE_TIME milliseconds. Falls
+	 * back to {@link #waitForPageToLoad() } when the network does not settle
+	 * within NETWORK_IDLE_TIMEOUT seconds (e.g. long polling) or the
+	 * driver cannot run scripts.
+	 */
+	public void waitForNetworkIdle() {
+		debug("Waiting for the Network to be Idle");
+		if (NETWORK_IDLE_ENABLED) {
+			try {
+				if (null != BrowserWait.await(driver,
+						BrowserWait.networkIdle(NETWORK_IDLE_TIME),
+						Duration.ofSeconds(NETWORK_IDLE_TIMEOUT))) {
+					return;
+				}
+			} catch (TimeoutException e) {
+				warn("The network did not become idle within [" + NETWORK_IDLE_TIMEOUT
+						+ "] seconds, waiting for the document to load instead");
+			}
+		}
+		waitForPageToLoad();
+	}
+
 	/**
 	 * Waits for the element to be present in the DOM
 	 *
 	 * @param locator The By locator strategy to use to find the element
 	 */
 	public void waitForPresenceOfElement(By locator) {
-		info("waiting for presence of element : [" + locator + "]");
+		info("waiting for presence of element : [{}]", locator);
 		newWait.until(ExpectedConditions.presenceOfElementLocated(locator));
 	}
 
@@ -353,8 +473,10 @@ public abstract class BasePage {
 	 */
 	public void waitForURLToContain(String expectedInURL) {
 		info("Waiting for URL to contain : [" + expectedInURL + "]");
-		info("Current URL: [" + getPageURL() + "]");
-		newWait.until(ExpectedConditions.urlContains(expectedInURL));
+		info(() -> "Current URL: [" + getPageURL() + "]");
+		if (!waitInBrowser(BrowserWait.urlContains(expectedInURL))) {
+			newWait.until(ExpectedConditions.urlContains(expectedInURL));
+		}
 		waitStandard();
 	}
 
@@ -365,7 +487,7 @@ public abstract class BasePage {
 	 */
 	public void waitForURLToBe(String url) {
 		info("waiting for URL to be : " + url);
-		info("Current URL: " + getPageURL());
+		info(() -> "Current URL: " + getPageURL());
 		newWait.until(ExpectedConditions.urlToBe(url));
 	}
 
@@ -376,6 +498,9 @@ public abstract class BasePage {
 	 */
 	public <T> void waitForValueOfElementToBe(T element, String expectedValue) {
 		info("waiting for value of element to be : " + expectedValue);
+		if (waitInBrowser(BrowserWait.valuePresent(element, expectedValue))) {
+			return;
+		}
 		if (element instanceof WebElement) {
 			newWait.until(ExpectedConditions.textToBePresentInElementValue((WebElement) element, expectedValue));
 		} else if (element instanceof By) {
@@ -389,8 +514,29 @@ public abstract class BasePage {
 	 * @param expectedText The expected text
 	 */
 	public void waitForTextToBePresentInElement(By element, String expectedText) {
-		info("waiting for text to be present : [" + expectedText + "] in element : [" + element + "]");
-		newWait.until(ExpectedConditions.textToBePresentInElementLocated(element, expectedText));
+		info("waiting for text to be present : [{}] in element : [{}]", expectedText, element);
+		if (!waitInBrowser(BrowserWait.textPresent(element, expectedText))) {
+			newWait.until(ExpectedConditions.textToBePresentInElementLocated(element, expectedText));
+		}
+	}
+
+	/**
+	 * Waits for an attribute of an element to be the expected value
+	 *
+	 * @param element       A WebElement or By to wait on
+	 * @param attribute     The name of the attribute
+	 * @param expectedValue The expected value
+	 */
+	public <T> void waitForAttributeToBe(T element, String attribute, String expectedValue) {
+		info("waiting for the attribute : [{}] of element : [{}] to be : [{}]", attribute, element, expectedValue);
+		if (waitInBrowser(BrowserWait.attributeIs(element, attribute, expectedValue))) {
+			return;
+		}
+		if (element instanceof WebElement) {
+			newWait.until(ExpectedConditions.attributeToBe((WebElement) element, attribute, expectedValue));
+		} else if (element instanceof By) {
+			newWait.until(ExpectedConditions.attributeToBe((By) element, attribute, expectedValue));
+		}
 	}
 
 	/**
@@ -399,7 +545,7 @@ public abstract class BasePage {
 	 * @param expectedPattern The expected pattern
 	 */
 	public void waitForTextToMatch(By element, Pattern expectedPattern) {
-		info("waiting for text to match the pattern : [" + expectedPattern + "] in element : [" + element + "]");
+		info("waiting for text to match the pattern : [{}] in element : [{}]", expectedPattern, element);
 		newWait.until(ExpectedConditions.textMatches(element, expectedPattern));
 	}
 
@@ -428,7 +574,7 @@ public abstract class BasePage {
 	 * @param childrenLocator The strategy for locating the children
 	 */
 	public void waitForPresenceOfChildrenInParent(By parentLocator, By childrenLocator) {
-		info("waiting for the presence of children : [" + childrenLocator + "] in the parent : [" + parentLocator + "]");
+		info("waiting for the presence of children : [{}] in the parent : [{}]", childrenLocator, parentLocator);
 		newWait.until(ExpectedConditions.presenceOfNestedElementsLocatedBy(parentLocator, childrenLocator));
 	}
 
@@ -439,7 +585,7 @@ public abstract class BasePage {
 	 * @param childLocator The strategy for locating the child
 	 */
 	public void waitForPresenceOfChildInParent(WebElement locator, By childLocator) {
-		info("waiting for the presence of the child : [" + childLocator + "] in the parent : [" + locator + "]");
+		info("waiting for the presence of the child : [{}] in the parent : [{}]", childLocator, locator);
 		newWait.until(ExpectedConditions.presenceOfNestedElementLocatedBy(locator, childLocator));
 	}
 
@@ -464,7 +610,9 @@ public abstract class BasePage {
 	 */
 	public void waitForTitleToContain(String expectedInTitle) {
 		info("waiting for the title to contain : " + expectedInTitle);
-		newWait.until(ExpectedConditions.titleContains(expectedInTitle));
+		if (!waitInBrowser(BrowserWait.titleContains(expectedInTitle))) {
+			newWait.until(ExpectedConditions.titleContains(expectedInTitle));
+		}
 	}
 
 	/**
@@ -484,8 +632,10 @@ public abstract class BasePage {
 	 * @param numberOfElements The number of windows that should be open
 	 */
 	public void waitForNumberOfElementsToBeGreaterThan(By locator, int numberOfElements) {
-		info("waiting for the number of elements : [" + locator + "] to be greater than : [" + numberOfElements + "]");
-		newWait.until(ExpectedConditions.numberOfElementsToBeMoreThan(locator, numberOfElements));
+		info("waiting for the number of elements : [{}] to be greater than : [{}]", locator, numberOfElements);
+		if (!waitInBrowser(BrowserWait.countMoreThan(locator, numberOfElements))) {
+			newWait.until(ExpectedConditions.numberOfElementsToBeMoreThan(locator, numberOfElements));
+		}
 	}
 
 	/**
@@ -495,84 +645,73 @@ public abstract class BasePage {
 	 * @param numberOfElements The maximum number of elements that should be
 	 */
 	public void waitForNumberOfElementsToBeLessThan(By locator, int numberOfElements) {
-		info("waiting for the number of elements : [" + locator + "] to be less than : [" + numberOfElements + "]");
-		newWait.until(ExpectedConditions.numberOfElementsToBeLessThan(locator, numberOfElements));
+		info("waiting for the number of elements : [{}] to be less than : [{}]", locator, numberOfElements);
+		if (!waitInBrowser(BrowserWait.countLessThan(locator, numberOfElements))) {
+			newWait.until(ExpectedConditions.numberOfElementsToBeLessThan(locator, numberOfElements));
+		}
 	}
 
 
 	public void waitForPresenceOfAllElements(By locator) {
-		info("Waiting for all elements located by : [" + locator + "]");
+		info("Waiting for all elements located by : [{}]", locator);
 		newWait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(locator));
 	}
 
 	/**
-	 * Wait for an element to become enabled
+	 * Wait for an element to become enabled, within the wait budget of the
+	 * step
 	 *
 	 * @param locator The locator for the element
 	 */
 	public <T> void waitForElementToBeEnabled(T locator) {
-		info("Waiting for the element to tbe enabled");
-		ExpectedCondition<Boolean> elementEnabledCondition = driver ->
-		{
-			if (null == driver) {
-				return false;
-			}
-
-			int retries = 0;
-			WebElement element = null;
-			if (locator instanceof WebElement) {
-				element = (WebElement) locator;
-			} else if (locator instanceof By) {
-				element = findElement((By) locator);
-			}
-
-			// Waits for the element at the locator to become enabled
-			// waiting 3 seconds between tries to establish the element is enabled
-			// will retry 5 times before giving up and returning the status
-			// total wait time for max wait is (3 X 5 = 15 seconds)
-			while (!isEnabled(element) && retries < 4) {
-				waitFor(3);
-				retries++;
-			}
-
-			return isEnabled(element);
-		};
-		newWait.until(elementEnabledCondition);
+		info("Waiting for the element to be enabled");
+		Deadline.current().await(driver, enabled(locator));
 	}
 
 	/**
-	 * Wait for an element to become disabled
+	 * Wait for an element to become disabled, within the wait budget of
+	 * the step
 	 *
 	 * @param locator The locator for the element
 	 */
 	public <T> void waitForElementToBeDisabled(T locator) {
-		info("Waiting for the element to tbe enabled");
-		ExpectedCondition<Boolean> elementEnabledCondition = driver ->
-		{
-			if (null == driver) {
-				return false;
-			}
+		info("Waiting for the element to be disabled");
+		Deadline.current().await(driver, present(locator)
+				.and(Condition.not(enabled(locator))));
+	}
 
-			int retries = 0;
-			WebElement element = null;
-			if (locator instanceof WebElement) {
-				element = (WebElement) locator;
-			} else if (locator instanceof By) {
-				element = findElement((By) locator);
-			}
+	/**
+	 * The element is in the DOM
+	 *
+	 * @param locator A WebElement or By
+	 * @return the {@link Condition }
+	 */
+	protected <T> Condition present(T locator) {
+		return Condition.of("present : " + locator,
+				d -> null != resolve(locator));
+	}
 
-			// Waits for the element at the locator to become disabled
-			// waiting 3 seconds between tries to establish the element is disabled
-			// will retry 5 times before giving up and returning the status
-			// total wait time for max wait is (3 X 5 = 15 seconds)
-			while (isEnabled(element) && retries < 4) {
-				waitFor(3);
-				retries++;
-			}
+	/**
+	 * The element is enabled
+	 *
+	 * @param locator A WebElement or By
+	 * @return the {@link Condition }
+	 */
+	protected <T> Condition enabled(T locator) {
+		return Condition.of("enabled : " + locator,
+				d -> resolve(locator).isEnabled());
+	}
 
-			return !isEnabled(element);
-		};
-		newWait.until(elementEnabledCondition);
+	/**
+	 * Finds the element without failing the test, for use in a condition
+	 *
+	 * @param locator A WebElement or By
+	 * @return the element, a lookup that fails throws
+	 */
+	private <T> WebElement resolve(T locator) {
+		return locator instanceof By
+				? driver.findElement(LocatorOptimiser.optimise((By) locator))
+				: (WebElement) locator;
 	}
 
 	///////// BOTTOM OF WAITS //////////////////////////////////////////////////////////////////////////////////
@@ -603,7 +742,7 @@ public abstract class BasePage {
 	protected LinkedHashMap<Integer, ArrayList<WebElement>>
 	setUpLinkedHashMapUsing(int rowLength, ArrayList<WebElement> parents) {
 		debug("Creating a LinkedHashMap<Integer, ArrayList<WebElement>> to process a table");
-		waitStandard();
+		waitStandard(Readiness.ready());
 		// The map that will be returned by this method, stores the rows of elements
 		LinkedHashMap<Integer, ArrayList<WebElement>> rows = new LinkedHashMap<Integer, ArrayList<WebElement>>();
 
@@ -650,10 +789,7 @@ public abstract class BasePage {
 	protected String getNumberOfRowsInTable(WebElement table) {
 		debug("Retrieving the size of the list of table rows for the table");
 		if (isDisplayed(table)) {
-			waitStandard();
-			//populate an arraylist of table rows
-			ArrayList<WebElement> tableRows = setUpArrayListChildElementsUsing(table, By.tagName("tr"));
-			return String.valueOf(tableRows.size());
+			return String.valueOf(readTable(table).rowCount());
 		}
 		return "0";
 	}
@@ -666,31 +802,25 @@ public abstract class BasePage {
 	protected String getNumberOfElementsInTableRow(WebElement table, String row) {
 		debug("Retrieving the size of the list of table rows for the table");
 		if (isDisplayed(table)) {
-			waitStandard();
-			//populate an arraylist of table rows
-			ArrayList<WebElement> tableRows = setUpArrayListChildElementsUsing(table, By.tagName("tr"));
-
-			// One "table row - <tr>" per row in the linked hash map
-			int tableRowsLength = 1;
-
-			// sort that arraylist into a LinkedHashMap in order to index it
-			LinkedHashMap<Integer, ArrayList<WebElement>> tableRowsData
-					= setUpLinkedHashMapUsing(tableRowsLength, tableRows);
-
 			int rowValue = (Integer.parseInt(row) > 0) ? Integer.parseInt(row) - 1 : Integer.parseInt(row);
 
-			// in the map obtain the table row data for the rowValue
-			for (Entry<Integer, ArrayList<WebElement>> e : tableRowsData.entrySet()) {
-				if (e.getKey().equals(rowValue)) {
-					ArrayList<WebElement> tableData =
-							setUpArrayListChildElementsUsing(e.getValue().get(0), By.tagName("td"));
-					return String.valueOf(tableData.size());
-				}
-			}
+			// Only the data cells are counted, as the header cells are not
+			return String.valueOf(readTable(table).cells("td").cellCount(rowValue));
 		}
 		return "0";
 	}
 
+	/**
+	 * Reads a table a chunk of rows per script, into columns of cell texts
+	 *
+	 * @param table the table
+	 * @param <T>   either a 'By' or a 'WebElement'
+	 * @return {@link TableReader }
+	 */
+	protected <T> TableReader readTable(T table) {
+		return new TableReader(driver, table);
+	}
+
 	private void makeScreenshotsFolder() {
 		debug("Checking / Making the Screenshots Folder");
 		// Create Screenshots Folder if it doesn't exist already
@@ -780,13 +910,17 @@ public abstract class BasePage {
 	 */
 	public WebElement findElement(By locator) {
 		WebElement element = null;
+		By optimised = LocatorOptimiser.optimise(locator);
+		long start = LocatorOptimiser.start();
 		try {
-			element = driver.findElement(locator);
+			element = driver.findElement(optimised);
 		} catch (InvalidElementStateException
 				 | StaleElementReferenceException
 				 | TimeoutException
 				 | NoSuchElementException e) {
 			error("Could not find the element by locator : [" + locator + "]", e);
+		} finally {
+			LocatorOptimiser.record(optimised, start);
 		}
 		return element;
 	}
@@ -799,17 +933,48 @@ public abstract class BasePage {
 	 */
 	public List<WebElement> findElements(By locator) {
 		List<WebElement> elements = null;
+		By optimised = LocatorOptimiser.optimise(locator);
+		long start = LocatorOptimiser.start();
 		try {
-			elements = driver.findElements(locator);
+			elements = driver.findElements(optimised);
 		} catch (InvalidElementStateException
 				 | StaleElementReferenceException
 				 | TimeoutException
 				 | NoSuchElementException e) {
 			error("Could not find the elements with the locator : [" + locator + "]", e);
+		} finally {
+			LocatorOptimiser.record(optimised, start);
 		}
 		return elements;
 	}
 
+	/**
+	 * Returns a snapshot of the text, visibility, bounding box and the
+	 * requested attributes of every element, read in one round trip
+	 *
+	 * @param elements   a locator, or a List of WebElements
+	 * @param attributes the attributes to read from each element
+	 * @param <T>        either a 'By' or a 'List<WebElement>'
+	 * @return {@link ElementList }
+	 */
+	public <T> ElementList readElements(T elements, String... attributes) {
+		ElementList list = null;
+		long start = LocatorOptimiser.start();
+		try {
+			list = ElementList.read(driver, elements, attributes);
+		} catch (InvalidElementStateException
+				 | StaleElementReferenceException
+				 | TimeoutException
+				 | NoSuchElementException e) {
+			error("Could not read the elements : [" + elements + "]", e);
+		} finally {
+			if (elements instanceof By) {
+				LocatorOptimiser.record(LocatorOptimiser.optimise((By) elements), start);
+			}
+		}
+		return list;
+	}
+
 	/**
 	 * Returns a WebElement located by searching in the children of a parent element
 	 * using the unique locator
@@ -887,6 +1052,13 @@ public abstract class BasePage {
 	 */
 	public <T> Boolean isSelected(T element) {
 		try {
+			CompositeActions.ElementState state = composite(element, CompositeActions.STATE);
+			if (null != state) {
+				if (!state.found) {
+					error("The element : [" + element + "] could not be found");
+				}
+				return state.selected;
+			}
 			if (element instanceof WebElement) {
 				scrollIntoView((WebElement) element);
 				return ((WebElement) element).isSelected();
@@ -946,13 +1118,19 @@ public abstract class BasePage {
 	 * @param <T>     Either a 'By' or a 'WebElement'
 	 */
 	public <T> void click(T element) {
-		info("Click on " + getText(element));
+		CompositeActions.ElementState state = composite(element, CompositeActions.STATE);
+		if (null != state) {
+			clickPrepared(element, state);
+			return;
+		}
+		info("Click on {}", element);
 		if (null != element) {
 			if (element instanceof WebElement) {
 				if (((WebElement) element).isEnabled()) {
 					try {
 						scrollIntoView((WebElement) element);
 						((WebElement) element).click();
+						pageMayHaveChanged();
 					} catch (InvalidElementStateException
 							 | StaleElementReferenceException
 							 | TimeoutException
@@ -969,7 +1147,8 @@ public abstract class BasePage {
 					try {
 						scrollIntoView(byElement);
 						byElement.click();
-						waitForPageToLoad();
+						pageMayHaveChanged();
+						waitForNetworkIdle();
 					} catch (InvalidElementStateException
 							 | StaleElementReferenceException
 							 | TimeoutException
@@ -984,6 +1163,72 @@ public abstract class BasePage {
 		}
 	}
 
+	/**
+	 * Clicks an element already found, scrolled into view and checked by
+	 * the composite script
+	 *
+	 * @param element the element as passed to click
+	 * @param state   the state of the element
+	 * @param <T>     Either a 'By' or a 'WebElement'
+	 */
+	private <T> void clickPrepared(T element, CompositeActions.ElementState state) {
+		info("Click on {}", element);
+		if (!state.found) {
+			error("Could not find the element by locator : [" + element + "]");
+		} else if (!state.enabled) {
+			error("The element with locator: [" + element + "] was not enabled");
+		}
+		try {
+			state.element.click();
+			pageMayHaveChanged();
+			if (element instanceof By) {
+				waitForNetworkIdle();
+			}
+		} catch (InvalidElementStateException
+				 | StaleElementReferenceException
+				 | TimeoutException
+				 | NoSuchElementException
+				 | UnhandledAlertException e) {
+			error("An Exception was caught while trying to click the element [" + element + "]", e);
+		}
+	}
+
+	/**
+	 * Reads the state of an element with the composite script, when
+	 * composite actions are enabled
+	 *
+	 * @param element   the element
+	 * @param operation what the script should do besides reading the state
+	 * @param <T>       Either a 'By' or a 'WebElement'
+	 * @return the {@link CompositeActions.ElementState }, or null to use the native commands
+	 */
+	private <T> CompositeActions.ElementState composite(T element, String operation) {
+		if (!COMPOSITE_ACTIONS_ENABLED || null == element) {
+			return null;
+		}
+		try {
+			try {
+				return CompositeActions.run(driver, element, operation);
+			} catch (StaleElementReferenceException e) {
+				// a cached element of a page that has since re-rendered
+				pageMayHaveChanged();
+				return CompositeActions.run(driver, element, operation);
+			}
+		} catch (StaleElementReferenceException
+				 | NoSuchElementException e) {
+			error("The element : [" + element + "] could not be found", e);
+		}
+		return null;
+	}
+
+	/**
+	 * Drops the elements the page fields keep, after something that may
+	 * have navigated or re-rendered the page
+	 */
+	private void pageMayHaveChanged() {
+		CachingElementLocatorFactory.invalidate(driver);
+	}
+
 	/**
 	 * Press Enter
 	 */
@@ -994,6 +1239,7 @@ public abstract class BasePage {
 			WebElement tempElement = findElement((By) element);
 			tempElement.sendKeys(Keys.RETURN);
 		}
+		pageMayHaveChanged();
 		waitStandard();
 	}
 
@@ -1026,6 +1272,7 @@ public abstract class BasePage {
 				error("An Exception was caught while trying to click the element [" + element + "]", e);
 			}
 		}
+		pageMayHaveChanged();
 		waitStandard();
 	}
 
@@ -1040,7 +1287,18 @@ public abstract class BasePage {
 	public <T> void input(T element, String input) {
 		if (null != element) {
 			try {
-				if (element instanceof WebElement) {
+				CompositeActions.ElementState state = composite(element, CompositeActions.PREPARE_INPUT);
+				if (null != state) {
+					if (!state.found) {
+						error("The element : [" + element + "] could not be found");
+					}
+					if (state.displayed) {
+						if (!state.cleared) {
+							state.element.clear();
+						}
+						state.element.sendKeys(input);
+					}
+				} else if (element instanceof WebElement) {
 					scrollIntoView((WebElement) element);
 					if (isDisplayed(element)) {
 						((WebElement) element).click();
@@ -1200,77 +1458,113 @@ public abstract class BasePage {
 	}
 
 	/**
-	 * Select an option from a Select Dropdown using the visible text
+	 * Select an option from a Select Dropdown using the visible text,
+	 * ignoring case, reading the options and the result in the same script
 	 *
 	 * @param element     the WebElement
 	 * @param visibleText the Visible Text
 	 * @param <T>         either a 'By' or a 'WebElement'
+	 * @return {@link Selection }, or null if it was made without a script
 	 */
-	public <T> void selectByVisibleText(T element, String visibleText) {
+	public <T> Selection selectByVisibleText(T element, String visibleText) {
 		debug("Selecting " + visibleText + " from the list");
-		Select select = null;
-		if (element instanceof WebElement) {
-			if (isDisplayed((WebElement) element)) {
-				select = new Select((WebElement) element);
-			} else {
-				info("The select element is not displayed");
-			}
-		} else if (element instanceof By) {
-			WebElement tempElement = findElement((By) element);
-			if (isDisplayed(tempElement)) {
-				select = new Select(tempElement);
-			} else {
-				info("The select element is not displayed");
-			}
+		Selection selection = Selection.run(driver, element, Selection.BY_TEXT, visibleText);
+		if (null == selection) {
+			selectNatively(element, Selection.BY_TEXT, visibleText);
+			return null;
 		}
-		waitStandard();
-		if (null != select) {
-			try {
-				List<WebElement> options = select.getOptions();
+		return verifySelection(selection, element, "option", visibleText);
+	}
 
-				// For debugging purposes only
-				debug("The available options are :");
-				for (WebElement e : options) {
-					debug(getText(e));
-				}
+	/**
+	 * Select an option from a Select Dropdown using its value, reading the
+	 * options and the result in the same script
+	 *
+	 * @param selectElement the WebElement
+	 * @param value         the value of the option
+	 * @param <T>           either a 'By' or a 'WebElement'
+	 * @return {@link Selection }, or null if it was made without a script
+	 */
+	public <T> Selection selectByValue(T selectElement, String value) {
+		info("Selecting by value : " + value);
+		Selection selection = Selection.run(driver, selectElement, Selection.BY_VALUE, value);
+		if (null == selection) {
+			selectNatively(selectElement, Selection.BY_VALUE, value);
+			return null;
+		}
+		return verifySelection(selection, selectElement, "value", value);
+	}
 
-				// Avoids the problem options being case-sensitive
-				for (WebElement option : options) {
-					debug(getText(option));
-					if (getText(option).trim().equalsIgnoreCase(visibleText)) {
-						select.selectByVisibleText(visibleText);
-						waitStandard();
-						break;
-					}
-				}
-			} catch (InvalidElementStateException
-					 | StaleElementReferenceException
-					 | TimeoutException
-					 | NoSuchElementException e) {
-				error("The 'option' : [" + visibleText
-						+ "] was not available in the Select element : [" + element + "]", e);
+	/**
+	 * Reports a selection that could not be made
+	 *
+	 * @param selection the result of the select script
+	 * @param element   the select element
+	 * @param kind      'option' or 'value'
+	 * @param wanted    the visible text or value asked for
+	 * @param <T>       either a 'By' or a 'WebElement'
+	 * @return {@link Selection }
+	 */
+	private <T> Selection verifySelection(Selection selection, T element, String kind, String wanted) {
+		if (!selection.isFound() || !selection.isSelect()) {
+			error("The Select element : [" + element + "] could not be found");
+		} else if (!selection.isDisplayed()) {
+			// Select.selectByValue() refuses a hidden select, while the
+			// visible-text path has always skipped it
+			if ("value".equals(kind)) {
+				error("The 'value' : [" + wanted
+						+ "] was not available in the Select element : [" + element
+						+ "] as it is not displayed");
+			}
+			info("The select element is not displayed");
+		} else {
+			// For debugging purposes only
+			debug("The available options are : " + selection.getTexts());
+			if (!selection.isMatched()) {
+				error("The '" + kind + "' : [" + wanted
+						+ "] was not available in the Select element : [" + element + "]");
+			} else if (!selection.isSelected()) {
+				error("The '" + kind + "' : [" + wanted
+						+ "] could not be selected in the Select element : [" + element + "]");
 			}
 		}
+		return selection;
 	}
 
-	public <T> void selectByValue(T selectElement, String value) {
-		info("Selecting by value : " + value);
-		Select select = null;
-		if (selectElement instanceof WebElement) {
-			select = new Select((WebElement) selectElement);
-		} else if (selectElement instanceof By) {
-			select = new Select(findElement((By) selectElement));
-		}
-		if (null != select) {
-			try {
-				select.selectByValue(value);
-			} catch (InvalidElementStateException
-					 | StaleElementReferenceException
-					 | TimeoutException
-					 | NoSuchElementException e) {
-				error("The 'value' : [" + value
-						+ "] was not available in the Select element : [" + selectElement + "]", e);
+	/**
+	 * Selects an option through Select, for drivers that cannot run the
+	 * select script
+	 *
+	 * @param element the select element
+	 * @param mode    {@link Selection#BY_TEXT } or {@link Selection#BY_VALUE }
+	 * @param wanted  the visible text or value to select
+	 * @param <T>     either a 'By' or a 'WebElement'
+	 */
+	private <T> void selectNatively(T element, String mode, String wanted) {
+		try {
+			Select select = new Select(element instanceof By
+					? findElement((By) element)
+					: (WebElement) element);
+			if (Selection.BY_VALUE.equals(mode)) {
+				select.selectByValue(wanted);
+				return;
 			}
+			// Avoids the problem options being case-sensitive
+			List<WebElement> options = select.getOptions();
+			for (int i = 0; i < options.size(); i++) {
+				if (options.get(i).getText().trim().equalsIgnoreCase(wanted.trim())) {
+					select.selectByIndex(i);
+					return;
+				}
+			}
+			error("The 'option' : [" + wanted
+					+ "] was not available in the Select element : [" + element + "]");
+		} catch (InvalidElementStateException
+				 | StaleElementReferenceException
+				 | TimeoutException
+				 | NoSuchElementException e) {
+			error("The '" + (Selection.BY_VALUE.equals(mode) ? "value" : "option") + "' : [" + wanted
+					+ "] was not available in the Select element : [" + element + "]", e);
 		}
 	}
 
@@ -1283,42 +1577,56 @@ public abstract class BasePage {
 	 */
 	protected List<WebElement> getSelectedOptions(String xpath) {
 		debug("Returning Selected Options from " + xpath);
-		waitStandard();
-		Select select = null;
-		try {
-			select = new Select(driver.findElement(By.xpath(xpath)));
-		} catch (InvalidElementStateException
-				 | StaleElementReferenceException
-				 | TimeoutException
-				 | NoSuchElementException e) {
-			error("The element at XPATH : [" + xpath + "] could not be found", e);
+		Selection selection = Selection.run(driver, By.xpath(xpath), Selection.READ, null);
+		if (null == selection) {
+			Select select = nativeSelect(xpath);
+			return null != select ? select.getAllSelectedOptions() : null;
 		}
-		waitStandard();
-		return null != select ? select.getAllSelectedOptions() : null;
+		if (!selection.isFound() || !selection.isSelect()) {
+			error("The element at XPATH : [" + xpath + "] could not be found");
+			return null;
+		}
+		return selection.getSelectedOptions();
 	}
 
 	/**
-	 * Returns a List of WebElements representing the selected options in the
+	 * Returns a List of WebElements representing the options in the
 	 * Select dropdown
 	 *
 	 * @param xpath Path to the Select WebElement
 	 * @return {@link List<WebElement> }
 	 */
 	protected List<WebElement> getSelectOptions(String xpath) {
-		debug("Returning Selected Options from " + xpath);
-		waitStandard();
-		Select select = null;
+		debug("Returning Select Options from " + xpath);
+		Selection selection = Selection.run(driver, By.xpath(xpath), Selection.READ, null);
+		if (null == selection) {
+			Select select = nativeSelect(xpath);
+			return null != select ? select.getOptions() : null;
+		}
+		if (!selection.isFound() || !selection.isSelect()) {
+			error("The element at XPATH : [" + xpath + "] could not be found");
+			return null;
+		}
+		return selection.getOptions();
+	}
+
+	/**
+	 * Finds the Select dropdown for drivers that cannot run the select
+	 * script
+	 *
+	 * @param xpath Path to the Select WebElement
+	 * @return {@link Select }, or null if it could not be found
+	 */
+	private Select nativeSelect(String xpath) {
 		try {
-			select = new Select(driver.findElement(By.xpath(xpath)));
+			return new Select(driver.findElement(By.xpath(xpath)));
 		} catch (InvalidElementStateException
 				 | StaleElementReferenceException
 				 | TimeoutException
 				 | NoSuchElementException e) {
 			error("The element at XPATH : [" + xpath + "] could not be found", e);
 		}
-		waitStandard();
-		return null != select ? select.getOptions() : null;
-
+		return null;
 	}
 
 	/**
@@ -1330,6 +1638,8 @@ public abstract class BasePage {
 		if (null != url && !url.isEmpty()) {
 			info("Go to URL : [" + url + "]");
 			driver.navigate().to(url);
+			pageMayHaveChanged();
+			waitForNetworkIdle();
 		}
 	}
 
@@ -1339,8 +1649,9 @@ public abstract class BasePage {
 	 */
 	public String getPageURL() {
 		String currentURL = driver.getCurrentUrl();
+		CachingElementLocatorFactory.observeUrl(driver, currentURL);
 		info("Returning Current URL " + currentURL);
-		waitStandard();
+		waitStandard(Readiness.ready());
 		return currentURL;
 	}
 
@@ -1351,7 +1662,7 @@ public abstract class BasePage {
 	public String getTitle() {
 		String title = driver.getTitle();
 		info("Returning Title of Page " + title);
-		waitStandard();
+		waitStandard(Readiness.ready());
 		waitForPageToLoad();
 		return title;
 	}
@@ -1361,6 +1672,7 @@ public abstract class BasePage {
 	 */
 	public void refreshPage() {
 		driver.navigate().refresh();
+		pageMayHaveChanged();
 	}
 
 	/**
@@ -1371,7 +1683,7 @@ public abstract class BasePage {
 	 */
 	public void addToClassList(WebElement element, String className) {
 		try {
-			debug("Adding : " + className + " to element : " + element.toString());
+			debug("Adding : {} to element : {}", className, element);
 			JavascriptExecutor js = (JavascriptExecutor) driver;
 			js.executeScript("arguments[0].classList.add(arguments[1])", element, className);
 		} catch (InvalidElementStateException
@@ -1410,10 +1722,10 @@ public abstract class BasePage {
 	 */
 	protected void removeAttribute(WebElement element, String attribute) {
 		try {
-			debug("Removing Attribute " + attribute + " from " + element.toString());
+			debug("Removing Attribute {} from {}", attribute, element);
 			JavascriptExecutor js = (JavascriptExecutor) driver;
 			js.executeScript("arguments[0].removeAttribute(arguments[1]);", element, attribute);
-			waitStandard();
+			waitStandard(driver -> null == element.getAttribute(attribute));
 		} catch (InvalidElementStateException
 				 | StaleElementReferenceException
 				 | TimeoutException
@@ -1429,10 +1741,10 @@ public abstract class BasePage {
 	 */
 	protected void removeElement(WebElement element) {
 		try {
-			debug("Removing Element " + element + " from the DOM");
+			debug("Removing Element {} from the DOM", element);
 			JavascriptExecutor js = (JavascriptExecutor) driver;
 			js.executeScript("return arguments[0].remove();", element);
-			waitStandard();
+			waitStandard(ExpectedConditions.stalenessOf(element));
 		} catch (InvalidElementStateException
 				 | StaleElementReferenceException
 				 | TimeoutException
@@ -1459,6 +1771,7 @@ public abstract class BasePage {
 	public Boolean didExportWindowOpen() {
 		info("Determining if the Export Window opened");
 		waitStandard();
+		String homeWindowHandle = getWindowHandle();
 		Set<String> windowHandles = driver.getWindowHandles();
 
 		// For all the Windows that are currently open (Counts tabs as windows)
@@ -1476,12 +1789,12 @@ public abstract class BasePage {
 			for (int i = 0; i < windowTitles.size(); i++) {
 				if (windowTitles.get(i).contains("Queued Report")) {
 					driver.switchTo().window((String) windowHandles.toArray()[i]).close();
-					driver.switchTo().window(windowHandle);
+					driver.switchTo().window(homeWindowHandle);
 					return true;
 				}
 			}
 		}
-		driver.switchTo().window(windowHandle);
+		driver.switchTo().window(homeWindowHandle);
 		return false;
 	}
 
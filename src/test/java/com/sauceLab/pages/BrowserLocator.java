@@ -0,0 +1,87 @@
+package com.sauceLab.pages;
+
+import org.openqa.selenium.By;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Resolves locators inside the browser for the injected scripts, so every
+ * script finds elements the way the driver does. A locator is handed to a
+ * script as {@link #argument(By) } and resolved by the functions of
+ * {@link #FUNCTIONS }, which the scripts include.
+ */
+final class BrowserLocator {
+
+	/**
+	 * There should be no instance of this class.
+	 */
+	private BrowserLocator() { }
+
+	/**
+	 * Defines locateAll(target), the elements matched in document order,
+	 * and locate(target), the first of them or null. The target is a
+	 * {using, value} locator, an element, an array of elements, or null.
+	 * Ids are matched as [id="..."], like the rewrites of the
+	 * {@link LocatorOptimiser }, and link texts as the trimmed visible text
+	 * of the links.
+	 */
+	static final String FUNCTIONS
+			= "function locateElements(target, all) {"
+			+ "  if (!target) { return []; }"
+			+ "  if (Array.isArray(target)) { return target; }"
+			+ "  if (!target.using) { return target.nodeType ? [target] : []; }"
+			+ "  var value = target.value, found = [];"
+			+ "  function select(selector) {"
+			+ "    if (all) { return Array.prototype.slice.call(document.querySelectorAll(selector)); }"
+			+ "    var el = document.querySelector(selector);"
+			+ "    return el ? [el] : [];"
+			+ "  }"
+			+ "  switch (target.using) {"
+			+ "    case 'css selector': return select(value);"
+			+ "    case 'id': return select('[id=\"' + CSS.escape(value) + '\"]');"
+			+ "    case 'name': return select('[name=\"' + CSS.escape(value) + '\"]');"
+			+ "    case 'xpath':"
+			+ "      if (!all) {"
+			+ "        var first = document.evaluate(value, document, null,"
+			+ "            XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;"
+			+ "        return first ? [first] : [];"
+			+ "      }"
+			+ "      var result = document.evaluate(value, document, null,"
+			+ "          XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);"
+			+ "      for (var i = 0; i < result.snapshotLength; i++) { found.push(result.snapshotItem(i)); }"
+			+ "      return found;"
+			+ "    case 'class name': found = document.getElementsByClassName(value); break;"
+			+ "    case 'tag name': found = document.getElementsByTagName(value); break;"
+			+ "    case 'link text':"
+			+ "    case 'partial link text':"
+			+ "      found = Array.prototype.filter.call(document.getElementsByTagName('a'), function (a) {"
+			+ "        var text = a.innerText.trim();"
+			+ "        return target.using === 'link text' ? text === value : text.indexOf(value) >= 0;"
+			+ "      });"
+			+ "      break;"
+			+ "    default: throw new Error('Unsupported locator strategy : ' + target.using);"
+			+ "  }"
+			+ "  return all ? Array.prototype.slice.call(found) : Array.prototype.slice.call(found, 0, 1);"
+			+ "}"
+			+ "function locateAll(target) { return locateElements(target, true); }"
+			+ "function locate(target) { return locateElements(target, false)[0] || null; }";
+
+	/**
+	 * The 'locator', optimised, in the form {@link #FUNCTIONS } resolve.
+	 * @param locator The locator.
+	 * @return The strategy and value of the locator, or null if it cannot
+	 * be resolved in the browser.
+	 */
+	static Map<String, Object> argument(final By locator) {
+		if (!(locator instanceof By.Remotable)) {
+			return null;
+		}
+		By.Remotable.Parameters parameters = ((By.Remotable)
+				LocatorOptimiser.optimise(locator)).getRemoteParameters();
+		Map<String, Object> argument = new HashMap<>();
+		argument.put("using", parameters.using());
+		argument.put("value", parameters.value());
+		return argument;
+	}
+}
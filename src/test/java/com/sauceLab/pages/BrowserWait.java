@@ -0,0 +1,439 @@
+package com.sauceLab.pages;
+
+import com.sauceLab.utilities.WaitProfiler;
+import com.sauceLab.utilities.WaitProfiler.WaitType;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.sauceLab.utilities.TestConstants.ZERO_SLEEP_POLL_INTERVAL;
+import static com.sauceLab.utilities.TestLogger.debug;
+
+/**
+ * Waits for a condition inside the browser instead of polling it from the
+ * JVM. A single asynchronous script watches the page with a
+ * MutationObserver (DOM, text and attribute changes) and on every
+ * animation frame (style, URL and title changes), and answers as soon as
+ * the condition holds or the time is up. The whole wait is one round trip
+ * to the Grid, and the condition is seen within a frame of it becoming
+ * true. Network idleness is tracked by counting the fetch and XHR requests
+ * in flight, and by the resource timings of everything else the page loads.
+ */
+final class BrowserWait {
+
+	/**
+	 * There should be no instance of this class.
+	 */
+	private BrowserWait() { }
+
+	/**
+	 * Added to the script timeout of the session, so the script's own
+	 * timer always answers first.
+	 */
+	static final Duration SCRIPT_TIMEOUT_MARGIN = Duration.ofSeconds(5);
+
+	/**
+	 * The script timeout set on each session, so it is only set once.
+	 */
+	private static final Map<WebDriver, Duration> SCRIPT_TIMEOUTS
+			= Collections.synchronizedMap(new WeakHashMap<>());
+
+	/**
+	 * Parts of the script errors the browsers raise when the page unloads
+	 * or navigates while the script waits, in lower case.
+	 */
+	private static final String[] NAVIGATION_ERRORS = {
+			"document unloaded",
+			"document was unloaded",
+			"execution context was destroyed",
+			"cannot find context with specified id",
+			"inspected target navigated or closed"
+	};
+
+	/**
+	 * Resolves arguments[0] (the condition) within arguments[1]
+	 * milliseconds, calling back with true when it holds, false when the
+	 * time is up, and {error} when the condition cannot be checked.
+	 */
+	private static final String SCRIPT
+			= "var condition = arguments[0], timeout = arguments[1];"
+			+ "var callback = arguments[arguments.length - 1];"
+			+ BrowserLocator.FUNCTIONS
+			+ "function displayed(el) {"
+			+ "  var style = window.getComputedStyle(el), rect = el.getBoundingClientRect();"
+			+ "  return style.display !== 'none' && style.visibility !== 'hidden'"
+			+ "      && style.opacity !== '0' && rect.width > 0 && rect.height > 0;"
+			+ "}"
+			+ "function holds() {"
+			+ "  var expected = condition.expected;"
+			+ "  switch (condition.type) {"
+			+ "    case 'url': return window.location.href.indexOf(expected) >= 0;"
+			+ "    case 'title': return document.title.indexOf(expected) >= 0;"
+			+ "    case 'networkIdle':"
+			+ "      var network = window.__sauceLabNetwork;"
+			+ "      return document.readyState === 'complete' && network.inflight === 0"
+			+ "          && performance.now() - network.last >= expected;"
+			+ "  }"
+			+ "  var elements = locateAll(condition.target), el = elements[0];"
+			+ "  switch (condition.type) {"
+			+ "    case 'visible': return !!el && displayed(el);"
+			+ "    case 'text': return !!el && (el.innerText || el.textContent || '').indexOf(expected) >= 0;"
+			+ "    case 'value': return !!el && String(el.value || el.getAttribute('value') || '').indexOf(expected) >= 0;"
+			+ "    case 'attribute':"
+			+ "      if (!el) { return false; }"
+			+ "      var actual = condition.name in el && typeof el[condition.name] !== 'object'"
+			+ "          ? String(el[condition.name]) : el.getAttribute(condition.name);"
+			+ "      return actual === expected;"
+			+ "    case 'countMoreThan': return elements.length > expected;"
+			+ "    case 'countLessThan': return elements.length < expected;"
+			+ "  }"
+			+ "  throw new Error('Unsupported condition : ' + condition.type);"
+			+ "}"
+			+ "var finished = false, observer = null, timer = null;"
+			+ "function finish(result) {"
+			+ "  if (finished) { return; }"
+			+ "  finished = true;"
+			+ "  if (observer) { observer.disconnect(); }"
+			+ "  clearTimeout(timer);"
+			+ "  callback(result);"
+			+ "}"
+			+ "function fail(e) { finish({error: String(e && e.message || e)}); }"
+			+ "function check() {"
+			+ "  if (finished) { return; }"
+			+ "  try { if (holds()) { finish(true); } } catch (e) { fail(e); }"
+			+ "}"
+			+ "if (condition.type === 'networkIdle' && !window.__sauceLabNetwork) {"
+			+ "  var network = window.__sauceLabNetwork = {inflight: 0, last: performance.now()};"
+			+ "  var busy = function () { network.inflight++; network.last = performance.now(); };"
+			+ "  var idle = function () {"
+			+ "    network.inflight = Math.max(0, network.inflight - 1);"
+			+ "    network.last = performance.now();"
+			+ "  };"
+			+ "  if (window.fetch) {"
+			+ "    var fetch = window.fetch;"
+			+ "    window.fetch = function () {"
+			+ "      busy();"
+			+ "      try {"
+			+ "        return fetch.apply(this, arguments).then("
+			+ "            function (response) { idle(); return response; },"
+			+ "            function (error) { idle(); throw error; });"
+			+ "      } catch (e) { idle(); throw e; }"
+			+ "    };"
+			+ "  }"
+			+ "  var send = XMLHttpRequest.prototype.send;"
+			+ "  XMLHttpRequest.prototype.send = function () {"
+			+ "    busy();"
+			+ "    this.addEventListener('loadend', idle, {once: true});"
+			+ "    try { return send.apply(this, arguments); } catch (e) { idle(); throw e; }"
+			+ "  };"
+			+ "  if (window.PerformanceObserver) {"
+			+ "    try {"
+			+ "      new PerformanceObserver(function (list) {"
+			+ "        list.getEntries().forEach(function (entry) {"
+			+ "          network.last = Math.max(network.last, entry.responseEnd);"
+			+ "        });"
+			+ "      }).observe({type: 'resource', buffered: true});"
+			+ "    } catch (e) { }"
+			+ "  }"
+			+ "}"
+			+ "if (holds()) { callback(true); return; }"
+			+ "observer = new MutationObserver(check);"
+			+ "observer.observe(document, {subtree: true, childList: true,"
+			+ "    attributes: true, characterData: true});"
+			+ "timer = setTimeout(function () {"
+			+ "  try { finish(holds()); } catch (e) { fail(e); }"
+			+ "}, timeout);"
+			+ "(function frame() {"
+			+ "  if (finished) { return; }"
+			+ "  check();"
+			+ "  window.requestAnimationFrame(frame);"
+			+ "})();";
+
+	/**
+	 * The element, or the first element at the locator, is displayed.
+	 * @param target The element or its By locator.
+	 * @return The condition.
+	 */
+	static Map<String, Object> visible(final Object target) {
+		return condition("visible", target, null);
+	}
+
+	/**
+	 * The text of the element contains the 'text'.
+	 * @param target The element or its By locator.
+	 * @param text The expected text.
+	 * @return The condition.
+	 */
+	static Map<String, Object> textPresent(final Object target,
+										   final String text) {
+		return condition("text", target, text);
+	}
+
+	/**
+	 * The value of the element contains the 'value'.
+	 * @param target The element or its By locator.
+	 * @param value The expected value.
+	 * @return The condition.
+	 */
+	static Map<String, Object> valuePresent(final Object target,
+											final String value) {
+		return condition("value", target, value);
+	}
+
+	/**
+	 * The attribute (or property) 'name' of the element is the 'value'.
+	 * @param target The element or its By locator.
+	 * @param name The attribute.
+	 * @param value The expected value.
+	 * @return The condition.
+	 */
+	static Map<String, Object> attributeIs(final Object target,
+										   final String name,
+										   final String value) {
+		Map<String, Object> condition = condition("attribute", target, value);
+		condition.put("name", name);
+		return condition;
+	}
+
+	/**
+	 * More than 'count' elements are found at the locator.
+	 * @param locator The locator.
+	 * @param count The number to exceed.
+	 * @return The condition.
+	 */
+	static Map<String, Object> countMoreThan(final By locator,
+											 final int count) {
+		return condition("countMoreThan", locator, count);
+	}
+
+	/**
+	 * Fewer than 'count' elements are found at the locator.
+	 * @param locator The locator.
+	 * @param count The number to stay under.
+	 * @return The condition.
+	 */
+	static Map<String, Object> countLessThan(final By locator,
+											 final int count) {
+		return condition("countLessThan", locator, count);
+	}
+
+	/**
+	 * The URL of the page contains the 'text'.
+	 * @param text The expected part of the URL.
+	 * @return The condition.
+	 */
+	static Map<String, Object> urlContains(final String text) {
+		return condition("url", null, text);
+	}
+
+	/**
+	 * The title of the page contains the 'text'.
+	 * @param text The expected part of the title.
+	 * @return The condition.
+	 */
+	static Map<String, Object> titleContains(final String text) {
+		return condition("title", null, text);
+	}
+
+	/**
+	 * The document has loaded and no request has been in flight for
+	 * 'idleMillis'. Requests sent before the first wait on a page are only
+	 * seen once they finish, through their resource timing.
+	 * @param idleMillis How long the network has to be quiet.
+	 * @return The condition.
+	 */
+	static Map<String, Object> networkIdle(final long idleMillis) {
+		return condition("networkIdle", null, idleMillis);
+	}
+
+	/**
+	 * Wait in the browser for the 'condition'. A navigation unloads the
+	 * watching script, so the wait is started again on the new page until
+	 * the timeout is used up.
+	 * @param driver The WebDriver.
+	 * @param condition The condition.
+	 * @param timeout The longest time to wait.
+	 * @return True once the condition holds, or null if this driver cannot
+	 * wait in the browser and the caller has to poll instead.
+	 * @throws TimeoutException If the condition did not hold in time.
+	 * @throws JavascriptException If the condition could not be checked.
+	 */
+	static Boolean await(final WebDriver driver,
+						 final Map<String, Object> condition,
+						 final Duration timeout) {
+		if (null == condition || !(driver instanceof JavascriptExecutor)) {
+			return null;
+		}
+		long start = WaitProfiler.start();
+		try {
+			return awaitUntil(driver, condition, timeout,
+					start + timeout.toNanos());
+		} finally {
+			WaitProfiler.stop("networkIdle".equals(condition.get("type"))
+					? WaitType.NETWORK_IDLE
+					: WaitType.IN_BROWSER, start);
+		}
+	}
+
+	/**
+	 * Run the script until the condition holds or the 'deadline' passes.
+	 * @param driver The WebDriver.
+	 * @param condition The condition.
+	 * @param timeout The longest time to wait.
+	 * @param deadline The System.nanoTime to give up at.
+	 * @return True once the condition holds, or null if this driver cannot
+	 * wait in the browser.
+	 * @throws TimeoutException If the condition did not hold in time.
+	 * @throws JavascriptException If the condition could not be checked.
+	 */
+	private static Boolean awaitUntil(final WebDriver driver,
+									  final Map<String, Object> condition,
+									  final Duration timeout,
+									  final long deadline) {
+		setScriptTimeout(driver, timeout.plus(SCRIPT_TIMEOUT_MARGIN));
+
+		while (true) {
+			long remainingMillis = Math.max(0,
+					(deadline - System.nanoTime()) / 1_000_000);
+			Object result;
+			try {
+				result = ((JavascriptExecutor) driver).executeAsyncScript(
+						SCRIPT, condition, remainingMillis);
+			} catch (JavascriptException e) {
+				if (!isNavigation(e)) {
+					throw e;
+				}
+				// The page navigated away from under the script
+				restart(driver, condition, timeout, deadline, e);
+				continue;
+			} catch (ScriptTimeoutException
+					 | StaleElementReferenceException
+					 | NoSuchElementException e) {
+				// The element has not been rendered yet, or is from the old
+				// page
+				restart(driver, condition, timeout, deadline, e);
+				continue;
+			} catch (UnsupportedCommandException e) {
+				return null;
+			}
+
+			if (Boolean.TRUE.equals(result)) {
+				return true;
+			}
+			if (Boolean.FALSE.equals(result)) {
+				throw new TimeoutException("Timed out after [" + timeout
+						+ "] waiting in the browser for " + condition);
+			}
+			if (result instanceof Map<?, ?> && ((Map<?, ?>) result).containsKey("error")) {
+				throw new JavascriptException("The in-browser wait for " + condition
+						+ " failed : " + ((Map<?, ?>) result).get("error"));
+			}
+			// Scripts do not run on this driver
+			return null;
+		}
+	}
+
+	/**
+	 * Get ready to start the script again after the 'cause', or give up if
+	 * the 'deadline' has passed. The next attempt is held back for
+	 * ZERO_SLEEP_POLL_INTERVAL milliseconds, so an element that keeps
+	 * going stale does not flood the Grid with scripts.
+	 * @param driver The WebDriver.
+	 * @param condition The condition.
+	 * @param timeout The longest time to wait.
+	 * @param deadline The System.nanoTime to give up at.
+	 * @param cause Why the script ended.
+	 * @throws TimeoutException If the deadline has passed.
+	 */
+	private static void restart(final WebDriver driver,
+								final Map<String, Object> condition,
+								final Duration timeout,
+								final long deadline,
+								final RuntimeException cause) {
+		long left = deadline - System.nanoTime();
+		if (left <= 0) {
+			throw new TimeoutException("Timed out after [" + timeout
+					+ "] waiting in the browser for " + condition, cause);
+		}
+		// the elements the page fields keep may be from the old page
+		CachingElementLocatorFactory.invalidate(driver);
+		debug("Restarting the in-browser wait for " + condition
+				+ " : " + cause.getClass().getSimpleName());
+		LockSupport.parkNanos(Math.min(left,
+				Duration.ofMillis(ZERO_SLEEP_POLL_INTERVAL).toNanos()));
+	}
+
+	/**
+	 * Whether the script error was raised because the page unloaded, and
+	 * not by the script itself.
+	 * @param e The script error.
+	 * @return True if the page navigated away from under the script.
+	 */
+	private static boolean isNavigation(final JavascriptException e) {
+		String message = String.valueOf(e.getMessage()).toLowerCase(Locale.ROOT);
+		for (String navigation : NAVIGATION_ERRORS) {
+			if (message.contains(navigation)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Build a condition for the script.
+	 * @param type The type of the condition.
+	 * @param target The element, its By locator, or null.
+	 * @param expected The expected value, or null.
+	 * @return The condition, or null if the target cannot be located in
+	 * the browser.
+	 */
+	private static Map<String, Object> condition(final String type,
+												 final Object target,
+												 final Object expected) {
+		Map<String, Object> condition = new HashMap<>();
+		condition.put("type", type);
+		condition.put("expected", expected);
+		if (target instanceof By) {
+			Map<String, Object> locator = BrowserLocator.argument((By) target);
+			if (null == locator) {
+				return null;
+			}
+			condition.put("target", locator);
+		} else if (target instanceof WebElement) {
+			condition.put("target", target);
+		} else if (null != target) {
+			return null;
+		}
+		return condition;
+	}
+
+	/**
+	 * Make sure the session lets an asynchronous script run for at least
+	 * the 'timeout'.
+	 * @param driver The WebDriver.
+	 * @param timeout The script timeout.
+	 */
+	static void setScriptTimeout(final WebDriver driver,
+								 final Duration timeout) {
+		Duration current = SCRIPT_TIMEOUTS.get(driver);
+		if (null == current || current.compareTo(timeout) < 0) {
+			driver.manage().timeouts().scriptTimeout(timeout);
+			SCRIPT_TIMEOUTS.put(driver, timeout);
+		}
+	}
+}
@@ -0,0 +1,256 @@
+package com.sauceLab.pages;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.DefaultElementLocator;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+import org.openqa.selenium.support.pagefactory.ElementLocatorFactory;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.sauceLab.utilities.TestLogger.info;
+import static com.sauceLab.utilities.TestLogger.warn;
+
+/**
+ * Creates element locators that keep the element they found, so the
+ * repeated calls a page makes on one of its @FindBy fields cost one
+ * lookup instead of one per call. The elements of a browser session are
+ * dropped together whenever it may have navigated (see
+ * {@link #invalidate }), or when its URL is seen to change, and a single
+ * element is dropped when it turns out to be stale. Lists are not kept, as
+ * their contents change without a navigation.
+ */
+public final class CachingElementLocatorFactory implements ElementLocatorFactory {
+
+	/**
+	 * The navigation epoch of each browser session. An element found in an
+	 * earlier epoch is looked up again.
+	 */
+	private static final Map<SearchContext, AtomicLong> EPOCHS
+			= Collections.synchronizedMap(new WeakHashMap<>());
+
+	/**
+	 * The last URL seen of each browser session.
+	 */
+	private static final Map<SearchContext, String> URLS
+			= Collections.synchronizedMap(new WeakHashMap<>());
+
+	/**
+	 * The number of lookups answered from the cache.
+	 */
+	private static final LongAdder HITS = new LongAdder();
+
+	/**
+	 * The number of lookups sent to the browser.
+	 */
+	private static final LongAdder MISSES = new LongAdder();
+
+	/**
+	 * The number of cached elements found to be stale.
+	 */
+	private static final LongAdder STALE = new LongAdder();
+
+	/**
+	 * The browser session the elements are looked up in.
+	 */
+	private final SearchContext searchContext;
+
+	/**
+	 * @param searchContext The browser session.
+	 */
+	public CachingElementLocatorFactory(final SearchContext searchContext) {
+		this.searchContext = searchContext;
+	}
+
+	/**
+	 * Create a caching locator for the 'field'.
+	 * @param field The field of the page.
+	 * @return The locator.
+	 */
+	@Override
+	public ElementLocator createLocator(final Field field) {
+		return new CachingElementLocator(searchContext,
+				new DefaultElementLocator(searchContext, field));
+	}
+
+	/**
+	 * Drop the cached elements of the 'searchContext', after something that
+	 * may have navigated or re-rendered the page.
+	 * @param searchContext The browser session.
+	 */
+	public static void invalidate(final SearchContext searchContext) {
+		epochOf(searchContext).incrementAndGet();
+	}
+
+	/**
+	 * Drop the cached elements of the 'searchContext' if the 'url' is not
+	 * the URL last seen.
+	 * @param searchContext The browser session.
+	 * @param url The current URL.
+	 */
+	public static void observeUrl(final SearchContext searchContext,
+								  final String url) {
+		String last = URLS.put(searchContext, url);
+		if (null != last && !last.equals(url)) {
+			invalidate(searchContext);
+		}
+	}
+
+	/**
+	 * Retrieve the number of lookups answered from the cache.
+	 * @return The hits.
+	 */
+	public static long getHits() {
+		return HITS.sum();
+	}
+
+	/**
+	 * Retrieve the number of lookups sent to the browser.
+	 * @return The misses.
+	 */
+	public static long getMisses() {
+		return MISSES.sum();
+	}
+
+	/**
+	 * Retrieve the number of cached elements found to be stale.
+	 * @return The stale elements.
+	 */
+	public static long getStale() {
+		return STALE.sum();
+	}
+
+	/**
+	 * Write the hit and miss counts of this run to the 'report' as JSON,
+	 * and log them.
+	 * @param report The file to write the counts to.
+	 */
+	public static void writeReport(final Path report) {
+		long hits = getHits();
+		long misses = getMisses();
+		if (hits + misses == 0) {
+			return;
+		}
+
+		JsonObject summary = new JsonObject();
+		summary.addProperty("hits", hits);
+		summary.addProperty("misses", misses);
+		summary.addProperty("stale", getStale());
+		summary.addProperty("hit_ratio", (double) hits / (hits + misses));
+		info(String.format("%nElement cache : %d hits, %d misses (%.0f%% hits), %d stale",
+				hits, misses, 100.0 * hits / (hits + misses), getStale()));
+
+		try {
+			Files.createDirectories(report.getParent());
+			Files.writeString(report, new GsonBuilder()
+					.setPrettyPrinting()
+					.create()
+					.toJson(summary));
+		} catch (IOException e) {
+			warn("Could not write the element cache report : "
+					+ e.getMessage());
+		}
+	}
+
+	/**
+	 * The navigation epoch of the 'searchContext'.
+	 * @param searchContext The browser session.
+	 * @return The epoch.
+	 */
+	private static AtomicLong epochOf(final SearchContext searchContext) {
+		return EPOCHS.computeIfAbsent(searchContext, context -> new AtomicLong());
+	}
+
+	/**
+	 * A locator that keeps the element it found for as long as the
+	 * navigation epoch of its browser session does not change.
+	 */
+	static final class CachingElementLocator implements ElementLocator {
+
+		/**
+		 * The browser session.
+		 */
+		private final SearchContext searchContext;
+
+		/**
+		 * The locator doing the lookups.
+		 */
+		private final ElementLocator delegate;
+
+		/**
+		 * The element found, or null.
+		 */
+		private WebElement element;
+
+		/**
+		 * The navigation epoch the element was found in.
+		 */
+		private long epoch;
+
+		/**
+		 * @param searchContext The browser session.
+		 * @param delegate The locator doing the lookups.
+		 */
+		CachingElementLocator(final SearchContext searchContext,
+							  final ElementLocator delegate) {
+			this.searchContext = searchContext;
+			this.delegate = delegate;
+		}
+
+		/**
+		 * The element found in the current navigation epoch, looked up if
+		 * there is none.
+		 * @return The element.
+		 */
+		@Override
+		public synchronized WebElement findElement() {
+			long current = epochOf(searchContext).get();
+			if (null != element && epoch == current) {
+				HITS.increment();
+				return element;
+			}
+			MISSES.increment();
+			element = delegate.findElement();
+			epoch = current;
+			return element;
+		}
+
+		/**
+		 * Lists are looked up every time.
+		 * @return The elements.
+		 */
+		@Override
+		public List<WebElement> findElements() {
+			MISSES.increment();
+			return delegate.findElements();
+		}
+
+		/**
+		 * Drop the element, it was found to be stale.
+		 */
+		synchronized void invalidate() {
+			STALE.increment();
+			element = null;
+		}
+
+		/**
+		 * The locator doing the lookups.
+		 * @return The description of the locator.
+		 */
+		@Override
+		public String toString() {
+			return delegate.toString();
+		}
+	}
+}
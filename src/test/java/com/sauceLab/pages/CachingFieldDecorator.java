@@ -0,0 +1,134 @@
+package com.sauceLab.pages;
+
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.support.pagefactory.DefaultFieldDecorator;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+/**
+ * Decorates the @FindBy element fields of a page with proxies that call
+ * the element kept by their {@link CachingElementLocatorFactory} locator.
+ * A call that finds the kept element stale drops it and is made once more
+ * on a freshly found element. The proxies, of list fields too, describe
+ * themselves by their locator, so logging a field never looks the element
+ * up.
+ */
+final class CachingFieldDecorator extends DefaultFieldDecorator {
+
+	/**
+	 * @param factory The factory of caching locators.
+	 */
+	CachingFieldDecorator(final CachingElementLocatorFactory factory) {
+		super(factory);
+	}
+
+	/**
+	 * Create the proxy of an element field.
+	 * @param loader The class loader of the proxy.
+	 * @param locator The locator of the field.
+	 * @return The proxy.
+	 */
+	@Override
+	protected WebElement proxyForLocator(final ClassLoader loader,
+										 final ElementLocator locator) {
+		return (WebElement) Proxy.newProxyInstance(loader,
+				new Class<?>[]{WebElement.class, WrapsElement.class, Locatable.class},
+				new StaleRetryingHandler(locator, false));
+	}
+
+	/**
+	 * Create the proxy of a list field. The list is found afresh on every
+	 * call, as the locators never keep lists, so it cannot be stale.
+	 * @param loader The class loader of the proxy.
+	 * @param locator The locator of the field.
+	 * @return The proxy.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	protected List<WebElement> proxyForListLocator(
+			final ClassLoader loader,
+			final ElementLocator locator) {
+		return (List<WebElement>) Proxy.newProxyInstance(loader,
+				new Class<?>[]{List.class},
+				new StaleRetryingHandler(locator, true));
+	}
+
+	/**
+	 * Calls the element of a locator, again on a fresh element if it was
+	 * stale, or the elements of a list locator.
+	 */
+	private static final class StaleRetryingHandler implements InvocationHandler {
+
+		/**
+		 * The locator of the field.
+		 */
+		private final ElementLocator locator;
+
+		/**
+		 * Whether the field is a list of elements.
+		 */
+		private final boolean list;
+
+		/**
+		 * @param locator The locator of the field.
+		 * @param isList Whether the field is a list of elements.
+		 */
+		private StaleRetryingHandler(final ElementLocator locator,
+									 final boolean isList) {
+			this.locator = locator;
+			this.list = isList;
+		}
+
+		/**
+		 * Call the 'method' on the element.
+		 * @param proxy The proxy.
+		 * @param method The method.
+		 * @param args The arguments.
+		 * @return The result of the call.
+		 * @throws Throwable What the call threw.
+		 */
+		@Override
+		public Object invoke(final Object proxy,
+							 final Method method,
+							 final Object[] args) throws Throwable {
+			if ("toString".equals(method.getName())) {
+				return (list ? "Proxy element list for: " : "Proxy element for: ")
+						+ locator;
+			}
+			if (list) {
+				try {
+					return method.invoke(locator.findElements(), args);
+				} catch (InvocationTargetException e) {
+					throw e.getCause();
+				}
+			}
+			if ("getWrappedElement".equals(method.getName())) {
+				return locator.findElement();
+			}
+			try {
+				return method.invoke(locator.findElement(), args);
+			} catch (InvocationTargetException e) {
+				if (!(e.getCause() instanceof StaleElementReferenceException)) {
+					throw e.getCause();
+				}
+			}
+
+			if (locator instanceof CachingElementLocatorFactory.CachingElementLocator) {
+				((CachingElementLocatorFactory.CachingElementLocator) locator).invalidate();
+			}
+			try {
+				return method.invoke(locator.findElement(), args);
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		}
+	}
+}
@@ -0,0 +1,177 @@
+package com.sauceLab.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.Map;
+
+import static com.sauceLab.utilities.TestLogger.debug;
+
+/**
+ * Runs the checks that come before an element action as one injected
+ * script instead of a command each. Locating the element, scrolling it
+ * into view, reading whether it is displayed, enabled and selected and,
+ * before typing, focusing and clearing it, all cost a single
+ * round trip to the Grid. The action itself (click, sendKeys) is still
+ * sent as a native command so the page receives real input events.
+ */
+final class CompositeActions {
+
+	/**
+	 * There should be no instance of this class.
+	 */
+	private CompositeActions() { }
+
+	/**
+	 * Only read the state of the element.
+	 */
+	static final String STATE = "state";
+
+	/**
+	 * Also focus the element and clear its value when it can take input.
+	 */
+	static final String PREPARE_INPUT = "input";
+
+	/**
+	 * Finds the element (arguments[0] is an element or a locator), scrolls
+	 * it to the centre of the viewport and describes it. For 'input' the
+	 * value is cleared through the native value setter followed by input
+	 * and change events, so frameworks that track the value (React) see
+	 * the change.
+	 */
+	private static final String SCRIPT
+			= "var target = arguments[0], op = arguments[1];"
+			+ BrowserLocator.FUNCTIONS
+			+ "var el = locate(target);"
+			+ "if (!el) { return {found: false}; }"
+			+ "el.scrollIntoView({block: 'center', inline: 'nearest'});"
+			+ "var style = window.getComputedStyle(el);"
+			+ "var rect = el.getBoundingClientRect();"
+			+ "var displayed = style.display !== 'none' && style.visibility !== 'hidden'"
+			+ "    && style.opacity !== '0' && rect.width > 0 && rect.height > 0;"
+			+ "var enabled = !el.disabled && !el.closest('fieldset[disabled]');"
+			+ "var cleared = false;"
+			+ "if (op === 'input' && displayed && enabled && 'value' in el) {"
+			+ "  el.focus();"
+			+ "  var proto = Object.getPrototypeOf(el);"
+			+ "  var descriptor = Object.getOwnPropertyDescriptor(proto, 'value');"
+			+ "  if (descriptor && descriptor.set) { descriptor.set.call(el, ''); } else { el.value = ''; }"
+			+ "  el.dispatchEvent(new Event('input', {bubbles: true}));"
+			+ "  el.dispatchEvent(new Event('change', {bubbles: true}));"
+			+ "  cleared = true;"
+			+ "}"
+			+ "return {found: true, element: el, displayed: displayed, enabled: enabled,"
+			+ "    selected: !!(el.checked || el.selected), cleared: cleared};";
+
+	/**
+	 * Find and describe the 'element' in one round trip.
+	 * @param driver The WebDriver.
+	 * @param element The element, or the By locator of the element.
+	 * @param operation {@link #STATE } or {@link #PREPARE_INPUT }.
+	 * @param <T> Either a 'By' or a 'WebElement'.
+	 * @return The {@link ElementState }, or null if the driver cannot run
+	 * the script and the native commands have to be used instead.
+	 */
+	static <T> ElementState run(final WebDriver driver,
+								final T element,
+								final String operation) {
+		if (!(driver instanceof JavascriptExecutor)) {
+			return null;
+		}
+
+		Object target = element;
+		if (element instanceof By) {
+			target = BrowserLocator.argument((By) element);
+			if (null == target) {
+				return null;
+			}
+		}
+
+		Object result;
+		try {
+			result = ((JavascriptExecutor) driver).executeScript(SCRIPT,
+					target, operation);
+		} catch (JavascriptException | UnsupportedCommandException e) {
+			debug("The composite script failed for [" + element
+					+ "], using native commands : " + e.getMessage());
+			return null;
+		}
+		if (!(result instanceof Map)) {
+			return null;
+		}
+
+		Map<?, ?> state = (Map<?, ?>) result;
+		WebElement found = element instanceof WebElement
+				? (WebElement) element
+				: (WebElement) state.get("element");
+		return new ElementState(Boolean.TRUE.equals(state.get("found")),
+				found,
+				Boolean.TRUE.equals(state.get("displayed")),
+				Boolean.TRUE.equals(state.get("enabled")),
+				Boolean.TRUE.equals(state.get("selected")),
+				Boolean.TRUE.equals(state.get("cleared")));
+	}
+
+	/**
+	 * The state of an element as read by the composite script.
+	 */
+	static final class ElementState {
+
+		/**
+		 * Whether the element was found.
+		 */
+		final boolean found;
+
+		/**
+		 * The element, or null if it was not found.
+		 */
+		final WebElement element;
+
+		/**
+		 * Whether the element is displayed.
+		 */
+		final boolean displayed;
+
+		/**
+		 * Whether the element is enabled.
+		 */
+		final boolean enabled;
+
+		/**
+		 * Whether the element is checked or selected.
+		 */
+		final boolean selected;
+
+		/**
+		 * Whether the value of the element was cleared.
+		 */
+		final boolean cleared;
+
+		/**
+		 * Create the state of an element.
+		 * @param isFound Whether the element was found.
+		 * @param webElement The element.
+		 * @param isDisplayed Whether it is displayed.
+		 * @param isEnabled Whether it is enabled.
+		 * @param isSelected Whether it is selected.
+		 * @param isCleared Whether its value was cleared.
+		 */
+		ElementState(final boolean isFound,
+					 final WebElement webElement,
+					 final boolean isDisplayed,
+					 final boolean isEnabled,
+					 final boolean isSelected,
+					 final boolean isCleared) {
+			this.found = isFound;
+			this.element = webElement;
+			this.displayed = isDisplayed;
+			this.enabled = isEnabled;
+			this.selected = isSelected;
+			this.cleared = isCleared;
+		}
+	}
+}
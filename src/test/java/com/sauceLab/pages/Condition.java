@@ -0,0 +1,221 @@
+package com.sauceLab.pages;
+
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.function.Predicate;
+
+/**
+ * A named condition on the page for {@link Deadline#await }. Conditions
+ * compose with {@link #and }, {@link #or } and {@link #not }, and are
+ * checked once per poll: they never sleep or wait themselves, so the only
+ * time spent is the time the deadline allows. Each condition keeps how
+ * often and how long it was checked, so a wait that runs out of time can
+ * show which part of it held the step up.
+ */
+public abstract class Condition {
+
+	/**
+	 * What the condition checks, e.g. "enabled : By.id: login".
+	 */
+	private final String description;
+
+	/**
+	 * The name of the condition in a diagnostic, its description or the
+	 * operator combining the conditions it is made of.
+	 */
+	private final String name;
+
+	/**
+	 * The number of checks.
+	 */
+	private int checks;
+
+	/**
+	 * The time spent checking, in nanoseconds.
+	 */
+	private long nanos;
+
+	/**
+	 * The result of the last check.
+	 */
+	private boolean lastResult;
+
+	/**
+	 * The exception of the last check, or null.
+	 */
+	private WebDriverException lastError;
+
+	/**
+	 * @param description What the condition checks.
+	 */
+	protected Condition(final String description) {
+		this(description, description);
+	}
+
+	/**
+	 * @param name The name of the condition in a diagnostic.
+	 * @param description What the condition checks.
+	 */
+	private Condition(final String name, final String description) {
+		this.name = name;
+		this.description = description;
+	}
+
+	/**
+	 * A condition checked by the 'check'. An element that is not there yet
+	 * or has gone stale (NoSuchElementException,
+	 * StaleElementReferenceException) counts as false.
+	 * @param description What the condition checks.
+	 * @param check The check.
+	 * @return The condition.
+	 */
+	public static Condition of(final String description,
+							   final Predicate<WebDriver> check) {
+		return new Condition(description) {
+			@Override
+			protected boolean evaluate(final WebDriver driver) {
+				return check.test(driver);
+			}
+		};
+	}
+
+	/**
+	 * Holds when the 'condition' does not.
+	 * @param condition The condition.
+	 * @return The negated condition.
+	 */
+	public static Condition not(final Condition condition) {
+		return new Condition("not", "not " + condition) {
+			@Override
+			protected boolean evaluate(final WebDriver driver) {
+				return !condition.check(driver);
+			}
+
+			@Override
+			protected void diagnose(final StringBuilder out,
+									final String indent) {
+				describe(out, indent);
+				condition.diagnose(out, indent + "  ");
+			}
+		};
+	}
+
+	/**
+	 * Holds when this and the 'other' condition hold. The other condition
+	 * is not checked while this one does not hold.
+	 * @param other The other condition.
+	 * @return The combined condition.
+	 */
+	public Condition and(final Condition other) {
+		Condition self = this;
+		return new Condition("and", "(" + this + " and " + other + ")") {
+			@Override
+			protected boolean evaluate(final WebDriver driver) {
+				return self.check(driver) && other.check(driver);
+			}
+
+			@Override
+			protected void diagnose(final StringBuilder out,
+									final String indent) {
+				describe(out, indent);
+				self.diagnose(out, indent + "  ");
+				other.diagnose(out, indent + "  ");
+			}
+		};
+	}
+
+	/**
+	 * Holds when this or the 'other' condition holds. The other condition
+	 * is not checked while this one holds.
+	 * @param other The other condition.
+	 * @return The combined condition.
+	 */
+	public Condition or(final Condition other) {
+		Condition self = this;
+		return new Condition("or", "(" + this + " or " + other + ")") {
+			@Override
+			protected boolean evaluate(final WebDriver driver) {
+				return self.check(driver) || other.check(driver);
+			}
+
+			@Override
+			protected void diagnose(final StringBuilder out,
+									final String indent) {
+				describe(out, indent);
+				self.diagnose(out, indent + "  ");
+				other.diagnose(out, indent + "  ");
+			}
+		};
+	}
+
+	/**
+	 * Check the condition once.
+	 * @param driver The WebDriver.
+	 * @return Whether it holds.
+	 */
+	protected abstract boolean evaluate(WebDriver driver);
+
+	/**
+	 * Append the state of the condition, and of the conditions it is made
+	 * of, to the 'out'.
+	 * @param out The diagnostic.
+	 * @param indent The indentation of this condition.
+	 */
+	protected void diagnose(final StringBuilder out, final String indent) {
+		describe(out, indent);
+	}
+
+	/**
+	 * Check the condition once, keeping the time it took and its result.
+	 * A missing or stale element only means "not yet"; any other failure
+	 * (a lost session, an unreachable browser, ...) will not go away by
+	 * polling again and is thrown.
+	 * @param driver The WebDriver.
+	 * @return Whether it holds.
+	 */
+	final boolean check(final WebDriver driver) {
+		long start = System.nanoTime();
+		try {
+			lastResult = evaluate(driver);
+			lastError = null;
+		} catch (NoSuchElementException | StaleElementReferenceException e) {
+			lastResult = false;
+			lastError = e;
+		} finally {
+			checks++;
+			nanos += System.nanoTime() - start;
+		}
+		return lastResult;
+	}
+
+	/**
+	 * Append one line on this condition to the 'out'.
+	 * @param out The diagnostic.
+	 * @param indent The indentation of this condition.
+	 */
+	protected final void describe(final StringBuilder out,
+								  final String indent) {
+		out.append(String.format("%n%s[%s] %s : %d checks, %.1f ms",
+				indent,
+				checks == 0 ? "not checked" : String.valueOf(lastResult),
+				name,
+				checks,
+				nanos / 1e6));
+		if (null != lastError) {
+			out.append(", last error ")
+					.append(lastError.getClass().getSimpleName());
+		}
+	}
+
+	/**
+	 * The description of the condition.
+	 * @return What the condition checks.
+	 */
+	@Override
+	public String toString() {
+		return description;
+	}
+}
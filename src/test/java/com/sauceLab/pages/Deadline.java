@@ -0,0 +1,134 @@
+package com.sauceLab.pages;
+
+import com.sauceLab.utilities.WaitProfiler;
+import com.sauceLab.utilities.WaitProfiler.WaitType;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.sauceLab.utilities.TestConstants.STEP_WAIT_BUDGET;
+import static com.sauceLab.utilities.TestConstants.ZERO_SLEEP_POLL_INTERVAL;
+
+/**
+ * The time a step may spend waiting. Every {@link #await } of a step
+ * draws on the same budget, so a step with several waits can never take
+ * longer than its budget, and a wait that starts with the budget already
+ * spent fails at once instead of blocking for its own full timeout. The
+ * budget of each step is started by the step hooks; waits outside a step
+ * get a budget of their own.
+ */
+public final class Deadline {
+
+	/**
+	 * The deadline of the step running on this thread.
+	 */
+	private static final ThreadLocal<Deadline> STEP = new ThreadLocal<>();
+
+	/**
+	 * The System.nanoTime at which the budget is spent.
+	 */
+	private final long expiresAt;
+
+	/**
+	 * The budget.
+	 */
+	private final Duration budget;
+
+	/**
+	 * The waits that drew on the budget, with the time they took.
+	 */
+	private final List<String> spentOn = new ArrayList<>();
+
+	/**
+	 * @param budget The time the waits may take in total.
+	 */
+	private Deadline(final Duration budget) {
+		this.budget = budget;
+		this.expiresAt = System.nanoTime() + budget.toNanos();
+	}
+
+	/**
+	 * Start the budget of the step running on this thread.
+	 */
+	public static void startStep() {
+		STEP.set(new Deadline(Duration.ofSeconds(STEP_WAIT_BUDGET)));
+	}
+
+	/**
+	 * End the budget of the step running on this thread.
+	 */
+	public static void endStep() {
+		STEP.remove();
+	}
+
+	/**
+	 * The deadline of the step running on this thread, or a new deadline
+	 * of STEP_WAIT_BUDGET seconds outside a step.
+	 * @return The deadline.
+	 */
+	public static Deadline current() {
+		Deadline deadline = STEP.get();
+		return null != deadline
+				? deadline
+				: new Deadline(Duration.ofSeconds(STEP_WAIT_BUDGET));
+	}
+
+	/**
+	 * The time left.
+	 * @return The remaining budget, never negative.
+	 */
+	public Duration remaining() {
+		return Duration.ofNanos(Math.max(0, expiresAt - System.nanoTime()));
+	}
+
+	/**
+	 * Wait until the 'condition' holds, checking it every
+	 * ZERO_SLEEP_POLL_INTERVAL milliseconds for as long as the budget
+	 * lasts.
+	 * @param driver The WebDriver.
+	 * @param condition The condition.
+	 * @throws TimeoutException If the budget ran out, with the state of
+	 * each part of the condition and the waits that spent the budget.
+	 */
+	public void await(final WebDriver driver, final Condition condition) {
+		long start = WaitProfiler.start();
+		try {
+			while (!condition.check(driver)) {
+				long left = expiresAt - System.nanoTime();
+				if (left <= 0) {
+					throw new TimeoutException(diagnostic(condition, start));
+				}
+				LockSupport.parkNanos(Math.min(left,
+						Duration.ofMillis(ZERO_SLEEP_POLL_INTERVAL).toNanos()));
+			}
+		} finally {
+			spentOn.add(String.format("%s (%.1f s)", condition,
+					(System.nanoTime() - start) / 1e9));
+			WaitProfiler.stop(WaitType.DEADLINE, start);
+		}
+	}
+
+	/**
+	 * Explain a timeout.
+	 * @param condition The condition that did not hold.
+	 * @param start The System.nanoTime the wait started.
+	 * @return The diagnostic.
+	 */
+	private String diagnostic(final Condition condition, final long start) {
+		StringBuilder out = new StringBuilder(String.format(
+				"The step's wait budget of %.1f s ran out after waiting %.1f s for : %s",
+				budget.toMillis() / 1e3,
+				(System.nanoTime() - start) / 1e9,
+				condition));
+		condition.diagnose(out, "  ");
+		if (!spentOn.isEmpty()) {
+			out.append(String.format("%nEarlier waits of this step : %s",
+					String.join(", ", spentOn)));
+		}
+		return out.toString();
+	}
+}
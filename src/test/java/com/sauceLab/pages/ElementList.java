@@ -0,0 +1,383 @@
+package com.sauceLab.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static com.sauceLab.utilities.TestLogger.debug;
+
+/**
+ * A snapshot of every element matched by a locator: its text, the
+ * attributes asked for, whether it is displayed and its bounding box, all
+ * read by one injected script instead of a command per element and per
+ * property. Reading 200 products is one round trip to the Grid instead of
+ * 600. The snapshot is immutable and does not follow later changes to the
+ * page; the elements it holds can still be acted on.
+ */
+public final class ElementList implements Iterable<ElementList.Item> {
+
+	/**
+	 * Finds the elements (arguments[0] is a locator or a list of elements)
+	 * and reads the attributes named in arguments[1] of each. An attribute
+	 * is read as getAttribute reads it: the property when the element has
+	 * a plain one, else the attribute.
+	 */
+	private static final String SCRIPT
+			= "var target = arguments[0], names = arguments[1];"
+			+ BrowserLocator.FUNCTIONS
+			+ "function attribute(el, name) {"
+			+ "  var property = el[name];"
+			+ "  if (name in el && property !== null && typeof property !== 'object'"
+			+ "      && typeof property !== 'function') {"
+			+ "    return typeof property === 'boolean' ? (property ? 'true' : null) : String(property);"
+			+ "  }"
+			+ "  return el.getAttribute(name);"
+			+ "}"
+			+ "var sx = window.pageXOffset, sy = window.pageYOffset;"
+			+ "return locateAll(target).map(function (el) {"
+			+ "  var style = window.getComputedStyle(el), rect = el.getBoundingClientRect();"
+			+ "  var attributes = {};"
+			+ "  names.forEach(function (name) { attributes[name] = attribute(el, name); });"
+			+ "  return {element: el,"
+			+ "      text: (el.innerText || el.textContent || el.value || '').trim(),"
+			+ "      displayed: style.display !== 'none' && style.visibility !== 'hidden'"
+			+ "          && style.opacity !== '0' && rect.width > 0 && rect.height > 0,"
+			+ "      box: [Math.round(rect.left + sx), Math.round(rect.top + sy),"
+			+ "          Math.round(rect.width), Math.round(rect.height)],"
+			+ "      attributes: attributes};"
+			+ "});";
+
+	/**
+	 * The elements read, in document order.
+	 */
+	private final List<Item> items;
+
+	/**
+	 * @param items The elements read.
+	 */
+	private ElementList(final List<Item> items) {
+		this.items = Collections.unmodifiableList(items);
+	}
+
+	/**
+	 * Read the elements matched by the 'locator', or the 'elements' of a
+	 * list, in one round trip, falling back to a command per property if
+	 * the driver cannot run the script.
+	 * @param driver The WebDriver.
+	 * @param elements The By locator of the elements, or a List of them.
+	 * @param attributes The attributes to read from each element.
+	 * @return The snapshot.
+	 */
+	static ElementList read(final WebDriver driver,
+							final Object elements,
+							final String... attributes) {
+		Object target = elements;
+		if (elements instanceof By) {
+			target = BrowserLocator.argument((By) elements);
+			if (null == target) {
+				return readNatively(driver.findElements((By) elements), attributes);
+			}
+		}
+
+		if (driver instanceof JavascriptExecutor) {
+			try {
+				Object result = ((JavascriptExecutor) driver).executeScript(SCRIPT,
+						target, List.of(attributes));
+				if (result instanceof List) {
+					return fromScript((List<?>) result, attributes);
+				}
+			} catch (JavascriptException | UnsupportedCommandException e) {
+				debug("The element list script failed for [" + elements
+						+ "], using native commands : " + e.getMessage());
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		List<WebElement> found = elements instanceof By
+				? driver.findElements((By) elements)
+				: (List<WebElement>) elements;
+		return readNatively(found, attributes);
+	}
+
+	/**
+	 * Build the snapshot from what the script returned.
+	 * @param result The list of maps returned by the script.
+	 * @param attributes The attributes read.
+	 * @return The snapshot.
+	 */
+	private static ElementList fromScript(final List<?> result,
+										  final String... attributes) {
+		List<Item> items = new ArrayList<>(result.size());
+		for (Object entry : result) {
+			Map<?, ?> read = (Map<?, ?>) entry;
+			Map<?, ?> values = (Map<?, ?>) read.get("attributes");
+			Map<String, String> attributeValues = new LinkedHashMap<>();
+			for (String attribute : attributes) {
+				Object value = null == values ? null : values.get(attribute);
+				attributeValues.put(attribute, null == value ? null : String.valueOf(value));
+			}
+			List<?> box = (List<?>) read.get("box");
+			items.add(new Item((WebElement) read.get("element"),
+					null == read.get("text") ? "" : String.valueOf(read.get("text")),
+					Boolean.TRUE.equals(read.get("displayed")),
+					new Rectangle(((Number) box.get(0)).intValue(),
+							((Number) box.get(1)).intValue(),
+							((Number) box.get(3)).intValue(),
+							((Number) box.get(2)).intValue()),
+					attributeValues));
+		}
+		return new ElementList(items);
+	}
+
+	/**
+	 * Build the snapshot with a command per element and property.
+	 * @param elements The elements.
+	 * @param attributes The attributes to read.
+	 * @return The snapshot.
+	 */
+	private static ElementList readNatively(final List<WebElement> elements,
+											final String... attributes) {
+		List<Item> items = new ArrayList<>(elements.size());
+		for (WebElement element : elements) {
+			Map<String, String> attributeValues = new LinkedHashMap<>();
+			for (String attribute : attributes) {
+				attributeValues.put(attribute, element.getAttribute(attribute));
+			}
+			Rectangle box;
+			try {
+				box = element.getRect();
+			} catch (WebDriverException e) {
+				box = new Rectangle(0, 0, 0, 0);
+			}
+			String text = element.getText();
+			items.add(new Item(element,
+					null == text ? "" : text.trim(),
+					element.isDisplayed(),
+					box,
+					attributeValues));
+		}
+		return new ElementList(items);
+	}
+
+	/**
+	 * Retrieve the number of elements.
+	 * @return The number of elements read.
+	 */
+	public int size() {
+		return items.size();
+	}
+
+	/**
+	 * Whether no element matched.
+	 * @return True if the snapshot is empty.
+	 */
+	public boolean isEmpty() {
+		return items.isEmpty();
+	}
+
+	/**
+	 * Retrieve an element.
+	 * @param index The index of the element, in document order.
+	 * @return The element read.
+	 */
+	public Item get(final int index) {
+		return items.get(index);
+	}
+
+	/**
+	 * Retrieve the elements.
+	 * @return The elements read, unmodifiable.
+	 */
+	public List<Item> items() {
+		return items;
+	}
+
+	/**
+	 * Retrieve the texts of the elements.
+	 * @return The trimmed text of each element.
+	 */
+	public List<String> texts() {
+		return items.stream().map(Item::getText).toList();
+	}
+
+	/**
+	 * Retrieve an attribute of the elements.
+	 * @param name An attribute read with the snapshot.
+	 * @return The value of the attribute for each element, null where it
+	 * is absent.
+	 */
+	public List<String> attributes(final String name) {
+		List<String> values = new ArrayList<>(items.size());
+		for (Item item : items) {
+			values.add(item.getAttribute(name));
+		}
+		return Collections.unmodifiableList(values);
+	}
+
+	/**
+	 * Retrieve the displayed elements.
+	 * @return A snapshot of only the elements that are displayed.
+	 */
+	public ElementList displayed() {
+		return new ElementList(items.stream().filter(Item::isDisplayed).toList());
+	}
+
+	/**
+	 * Find the first element with the 'text', ignoring case and the
+	 * surrounding spaces.
+	 * @param text The text.
+	 * @return The element, or null if there is none.
+	 */
+	public Item withText(final String text) {
+		for (Item item : items) {
+			if (item.getText().equalsIgnoreCase(text.trim())) {
+				return item;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Stream the elements.
+	 * @return A stream of the elements read.
+	 */
+	public Stream<Item> stream() {
+		return items.stream();
+	}
+
+	/**
+	 * Iterate over the elements.
+	 * @return An iterator over the elements read.
+	 */
+	@Override
+	public Iterator<Item> iterator() {
+		return items.iterator();
+	}
+
+	/**
+	 * The texts of the elements.
+	 * @return The description of the snapshot.
+	 */
+	@Override
+	public String toString() {
+		return texts().toString();
+	}
+
+	/**
+	 * One element as it was when the snapshot was read.
+	 */
+	public static final class Item {
+
+		/**
+		 * The element.
+		 */
+		private final WebElement element;
+
+		/**
+		 * The trimmed text.
+		 */
+		private final String text;
+
+		/**
+		 * Whether it was displayed.
+		 */
+		private final boolean displayed;
+
+		/**
+		 * The bounding box, in page coordinates.
+		 */
+		private final Rectangle box;
+
+		/**
+		 * The attributes read, by name.
+		 */
+		private final Map<String, String> attributes;
+
+		/**
+		 * @param element The element.
+		 * @param text The trimmed text.
+		 * @param displayed Whether it was displayed.
+		 * @param box The bounding box.
+		 * @param attributes The attributes read.
+		 */
+		private Item(final WebElement element,
+					 final String text,
+					 final boolean displayed,
+					 final Rectangle box,
+					 final Map<String, String> attributes) {
+			this.element = element;
+			this.text = text;
+			this.displayed = displayed;
+			this.box = box;
+			this.attributes = Collections.unmodifiableMap(attributes);
+		}
+
+		/**
+		 * Retrieve the element, to act on it.
+		 * @return The element.
+		 */
+		public WebElement getElement() {
+			return element;
+		}
+
+		/**
+		 * Retrieve the text.
+		 * @return The trimmed text.
+		 */
+		public String getText() {
+			return text;
+		}
+
+		/**
+		 * Whether the element was displayed.
+		 * @return True if it was displayed.
+		 */
+		public boolean isDisplayed() {
+			return displayed;
+		}
+
+		/**
+		 * Retrieve the bounding box.
+		 * @return The box, in page coordinates.
+		 */
+		public Rectangle getBox() {
+			return box;
+		}
+
+		/**
+		 * Retrieve an attribute.
+		 * @param name An attribute read with the snapshot.
+		 * @return The value, or null if it is absent.
+		 * @throws IllegalArgumentException If the attribute was not read.
+		 */
+		public String getAttribute(final String name) {
+			if (!attributes.containsKey(name)) {
+				throw new IllegalArgumentException("The attribute : [" + name
+						+ "] was not read with the snapshot");
+			}
+			return attributes.get(name);
+		}
+
+		/**
+		 * The text of the element.
+		 * @return The description of the element.
+		 */
+		@Override
+		public String toString() {
+			return text;
+		}
+	}
+}
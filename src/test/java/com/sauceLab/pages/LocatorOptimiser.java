@@ -0,0 +1,241 @@
+package com.sauceLab.pages;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.sauceLab.utilities.LatencyHistogram;
+import org.openqa.selenium.By;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.sauceLab.utilities.TestConstants.LOCATOR_OPTIMISER_ENABLED;
+import static com.sauceLab.utilities.TestConstants.LOCATOR_PROFILING_ENABLED;
+import static com.sauceLab.utilities.TestLogger.info;
+import static com.sauceLab.utilities.TestLogger.warn;
+
+/**
+ * Rewrites XPath locators that say no more than a CSS selector into that
+ * selector, which browsers match faster, and times the lookups of each
+ * locator in profiling mode.
+ *
+ * <p>Only XPaths made of steps such as {@code //div[@class="login-box"]}
+ * or {@code /input[@id='user-name']} are rewritten: a lower-case tag or
+ * {@code *}, then only exact attribute comparisons. Those mean the same
+ * as the CSS descendant, child and attribute selectors they become, and
+ * return the same elements in the same order. Anything else (functions,
+ * positions, axes, text, unions, absolute paths) is left alone, and so
+ * are values that would need escaping and the attributes whose values CSS
+ * matches ignoring case in HTML (type, lang, ...). Ids become [id="..."]
+ * rather than #..., which quirks-mode pages match ignoring case. An XPath
+ * starting with // searches the whole document while CSS searches below
+ * its search context, so only lookups made from the driver are
+ * rewritten.</p>
+ */
+public final class LocatorOptimiser {
+
+	/**
+	 * There should be no instance of this class.
+	 */
+	private LocatorOptimiser() { }
+
+	/**
+	 * The number of locators listed in the logged table.
+	 */
+	private static final int TOP = 10;
+
+	/**
+	 * One step of an XPath: the separator, the tag and the predicates.
+	 */
+	private static final Pattern STEP = Pattern.compile(
+			"\\G(//|/)([a-z][a-z0-9]*(?:-[a-z0-9]+)*|\\*)"
+			+ "((?:\\[\\s*@[a-z][a-z0-9_-]*\\s*=\\s*(?:\"[^\"]*\"|'[^']*')\\s*])*)");
+
+	/**
+	 * One predicate of a step: the attribute and the quoted value.
+	 */
+	private static final Pattern PREDICATE = Pattern.compile(
+			"\\[\\s*@([a-z][a-z0-9_-]*)\\s*=\\s*(\"[^\"]*\"|'[^']*')\\s*]");
+
+	/**
+	 * A value that reads the same in a double-quoted CSS string, without
+	 * quotes, backslashes or line breaks to escape.
+	 */
+	private static final Pattern PLAIN_VALUE = Pattern.compile("[^\"\\\\\\r\\n\\f]*");
+
+	/**
+	 * The attributes whose values CSS selectors match ignoring case in an
+	 * HTML document, where XPath compares them exactly.
+	 */
+	private static final Set<String> CASE_INSENSITIVE_ATTRIBUTES = Set.of(
+			"accept", "accept-charset", "align", "alink", "axis", "bgcolor",
+			"charset", "checked", "clear", "codetype", "color", "compact",
+			"declare", "defer", "dir", "direction", "disabled", "enctype",
+			"face", "frame", "hreflang", "http-equiv", "lang", "language",
+			"link", "media", "method", "multiple", "nohref", "noresize",
+			"noshade", "nowrap", "readonly", "rel", "rev", "rules", "scope",
+			"scrolling", "selected", "shape", "target", "text", "type",
+			"valign", "valuetype", "vlink");
+
+	/**
+	 * The rewrite of each locator seen, the locator itself if it is kept.
+	 */
+	private static final Map<By, By> REWRITES = new ConcurrentHashMap<>();
+
+	/**
+	 * The lookup times of each locator.
+	 */
+	private static final Map<String, LatencyHistogram> LOOKUPS
+			= new ConcurrentHashMap<>();
+
+	/**
+	 * The faster equivalent of the 'locator', if there is one.
+	 * @param locator The locator.
+	 * @return The rewritten locator, or the 'locator' itself.
+	 */
+	public static By optimise(final By locator) {
+		if (!LOCATOR_OPTIMISER_ENABLED
+				|| !(locator instanceof By.Remotable)
+				|| !"xpath".equals(((By.Remotable) locator)
+						.getRemoteParameters().using())) {
+			return locator;
+		}
+		return REWRITES.computeIfAbsent(locator, LocatorOptimiser::rewrite);
+	}
+
+	/**
+	 * Start timing a lookup.
+	 * @return The start time to pass to {@link #record }, or 0 if
+	 * profiling is off.
+	 */
+	public static long start() {
+		return LOCATOR_PROFILING_ENABLED ? System.nanoTime() : 0;
+	}
+
+	/**
+	 * Record the time of a lookup.
+	 * @param locator The locator looked up.
+	 * @param start The time returned by {@link #start() }.
+	 */
+	public static void record(final By locator, final long start) {
+		if (LOCATOR_PROFILING_ENABLED) {
+			LOOKUPS.computeIfAbsent(locator.toString(),
+					name -> new LatencyHistogram())
+					.record(System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * Write the lookup times of each locator, slowest total first, and the
+	 * rewrites made to the 'report' as JSON, and log the slowest locators.
+	 * @param report The file to write the report to.
+	 */
+	public static void writeReport(final Path report) {
+		if (LOOKUPS.isEmpty() && REWRITES.isEmpty()) {
+			return;
+		}
+
+		List<Map.Entry<String, LatencyHistogram>> lookups = LOOKUPS
+				.entrySet()
+				.stream()
+				.sorted(Comparator.comparingLong(
+						(Map.Entry<String, LatencyHistogram> e)
+								-> e.getValue().getTotalNanos()).reversed())
+				.toList();
+		JsonObject locators = new JsonObject();
+		StringBuilder table = new StringBuilder(
+				"\nSlowest locators"
+				+ "\nlocator                                                       count   p50 (ms)   total (s)");
+		for (int i = 0; i < lookups.size(); i++) {
+			Map.Entry<String, LatencyHistogram> entry = lookups.get(i);
+			locators.add(entry.getKey(), entry.getValue().toJson());
+			if (i < TOP) {
+				table.append(String.format("%n%-60.60s %7d %10.1f %11.1f",
+						entry.getKey(),
+						entry.getValue().getCount(),
+						LatencyHistogram.millis(entry.getValue().getPercentileNanos(50)),
+						entry.getValue().getTotalNanos() / 1e9));
+			}
+		}
+
+		JsonObject rewrites = new JsonObject();
+		REWRITES.forEach((from, to) -> {
+			if (!from.equals(to)) {
+				rewrites.addProperty(from.toString(), to.toString());
+			}
+		});
+		table.append(String.format("%n%d XPath locators rewritten", rewrites.size()));
+		info(table.toString());
+
+		JsonObject summary = new JsonObject();
+		summary.add("locators", locators);
+		summary.add("rewrites", rewrites);
+		try {
+			Files.createDirectories(report.getParent());
+			Files.writeString(report, new GsonBuilder()
+					.setPrettyPrinting()
+					.disableHtmlEscaping()
+					.create()
+					.toJson(summary));
+		} catch (IOException e) {
+			warn("Could not write the locator report : " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Rewrite an XPath locator.
+	 * @param locator The XPath locator.
+	 * @return The CSS locator, or the 'locator' if it cannot be rewritten
+	 * safely.
+	 */
+	static By rewrite(final By locator) {
+		String xpath = ((By.Remotable) locator).getRemoteParameters()
+				.value()
+				.toString()
+				.trim();
+		if (!xpath.startsWith("//")) {
+			return locator;
+		}
+
+		StringBuilder css = new StringBuilder();
+		Matcher step = STEP.matcher(xpath);
+		int end = 0;
+		int steps = 0;
+		while (end < xpath.length() && step.find() && step.start() == end) {
+			if (steps > 0) {
+				css.append("//".equals(step.group(1)) ? " " : " > ");
+			}
+			String tag = step.group(2);
+			String predicates = step.group(3);
+			if (!"*".equals(tag) || predicates.isEmpty()) {
+				css.append(tag);
+			}
+
+			Matcher predicate = PREDICATE.matcher(predicates);
+			while (predicate.find()) {
+				String value = predicate.group(2);
+				value = value.substring(1, value.length() - 1);
+				if (CASE_INSENSITIVE_ATTRIBUTES.contains(predicate.group(1))
+						|| !PLAIN_VALUE.matcher(value).matches()) {
+					return locator;
+				}
+				css.append('[').append(predicate.group(1))
+						.append("=\"").append(value).append("\"]");
+			}
+			end = step.end();
+			steps++;
+		}
+		if (end != xpath.length() || steps == 0) {
+			return locator;
+		}
+
+		return By.cssSelector(css.toString());
+	}
+}
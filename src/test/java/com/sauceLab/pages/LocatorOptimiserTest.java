@@ -0,0 +1,84 @@
+package com.sauceLab.pages;
+
+import org.openqa.selenium.By;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+/**
+ * Unit tests for the XPath to CSS rewrites of {@link LocatorOptimiser }.
+ */
+public class LocatorOptimiserTest {
+
+	/**
+	 * Descendant steps with exact attribute comparisons become descendant
+	 * attribute selectors.
+	 */
+	@Test
+	public void rewritesDescendantSteps() {
+		assertEquals(LocatorOptimiser.rewrite(By.xpath("//div[@class=\"x\"]//input[@id=\"y\"]")),
+				By.cssSelector("div[class=\"x\"] input[id=\"y\"]"));
+	}
+
+	/**
+	 * Child steps become child selectors, single quotes become double
+	 * quotes and a bare * with predicates is dropped.
+	 */
+	@Test
+	public void rewritesChildStepsAndWildcards() {
+		assertEquals(LocatorOptimiser.rewrite(By.xpath("//form[@id='login']/div/input[@name='user']")),
+				By.cssSelector("form[id=\"login\"] > div > input[name=\"user\"]"));
+		assertEquals(LocatorOptimiser.rewrite(By.xpath("//*[@data-test=\"error\"]")),
+				By.cssSelector("[data-test=\"error\"]"));
+	}
+
+	/**
+	 * Relative and absolute XPaths are left alone, as CSS cannot say where
+	 * they start.
+	 */
+	@Test
+	public void keepsRelativeAndAbsolutePaths() {
+		assertKept(By.xpath("div[@class=\"x\"]"));
+		assertKept(By.xpath(".//div[@class=\"x\"]"));
+		assertKept(By.xpath("/html/body/div"));
+	}
+
+	/**
+	 * Positions, text and functions are left alone.
+	 */
+	@Test
+	public void keepsPositionalAndTextPaths() {
+		assertKept(By.xpath("//li[2]"));
+		assertKept(By.xpath("//li[@class=\"item\"][1]"));
+		assertKept(By.xpath("//a[text()=\"Home\"]"));
+		assertKept(By.xpath("//a[contains(text(), \"Home\")]"));
+		assertKept(By.xpath("//div[@class=\"x\"]/parent::section"));
+	}
+
+	/**
+	 * Attributes whose values CSS matches ignoring case are left alone.
+	 */
+	@Test
+	public void keepsCaseInsensitiveAttributes() {
+		assertKept(By.xpath("//input[@type=\"submit\"]"));
+		assertKept(By.xpath("//div[@id=\"x\"]//html[@lang='en']"));
+	}
+
+	/**
+	 * Values that would need escaping in CSS are left alone.
+	 */
+	@Test
+	public void keepsValuesWithQuotesOrBackslashes() {
+		assertKept(By.xpath("//input[@value='say \"hi\"']"));
+		assertKept(By.xpath("//input[@name=\"a\\b\"]"));
+	}
+
+	/**
+	 * Check the 'locator' is not rewritten.
+	 * @param locator The XPath locator.
+	 */
+	private static void assertKept(final By locator) {
+		assertSame(LocatorOptimiser.rewrite(locator), locator);
+	}
+}
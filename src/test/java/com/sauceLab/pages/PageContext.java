@@ -0,0 +1,116 @@
+package com.sauceLab.pages;
+
+import com.sauceLab.utilities.WaitProfiler;
+import org.openqa.selenium.InvalidElementStateException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.FluentWait;
+import org.openqa.selenium.support.ui.Wait;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.sauceLab.utilities.TestConstants.WAIT_EXPLICIT;
+import static com.sauceLab.utilities.TestConstants.WAIT_STANDARD;
+
+/**
+ * What the pages of one scenario share: the driver, the explicit wait, the
+ * field decorator and the handle of the window the scenario began in. The
+ * pages themselves are built on first use by {@link #page(Class) } and then
+ * reused, so a scenario pays for each page at most once. A context belongs
+ * to the thread of its scenario and is not shared between threads.
+ */
+public final class PageContext {
+
+	/**
+	 * The driver of the scenario.
+	 */
+	private final WebDriver driver;
+
+	/**
+	 * The explicit wait of the pages.
+	 */
+	private final Wait<WebDriver> wait;
+
+	/**
+	 * Builds the proxies of the element fields.
+	 */
+	private final CachingFieldDecorator decorator;
+
+	/**
+	 * The pages built so far, by class.
+	 */
+	private final Map<Class<?>, BasePage> pages = new HashMap<>();
+
+	/**
+	 * The handle of the window the scenario began in, fetched on first use.
+	 */
+	private String homeWindowHandle;
+
+	/**
+	 * @param driver The driver of the scenario.
+	 */
+	public PageContext(final WebDriver driver) {
+		this.driver = driver;
+		this.wait = WaitProfiler.profiled(new FluentWait<>(driver)
+				.withTimeout(Duration.ofSeconds(WAIT_EXPLICIT))
+				.pollingEvery(Duration.ofSeconds(WAIT_STANDARD))
+				.ignoring(NoSuchElementException.class)
+				.ignoring(StaleElementReferenceException.class)
+				.ignoring(TimeoutException.class)
+				.ignoring(InvalidElementStateException.class));
+		this.decorator = new CachingFieldDecorator(
+				new CachingElementLocatorFactory(driver));
+	}
+
+	/**
+	 * The page of the 'type', built the first time it is asked for.
+	 * @param type The class of the page.
+	 * @param <T> The type of the page.
+	 * @return The page.
+	 */
+	public <T extends BasePage> T page(final Class<T> type) {
+		return type.cast(pages.computeIfAbsent(type,
+				pageType -> PageObjectRegistry.create(type, this)));
+	}
+
+	/**
+	 * Retrieve the driver.
+	 * @return The driver of the scenario.
+	 */
+	public WebDriver getDriver() {
+		return driver;
+	}
+
+	/**
+	 * Retrieve the explicit wait.
+	 * @return The wait shared by the pages.
+	 */
+	Wait<WebDriver> getWait() {
+		return wait;
+	}
+
+	/**
+	 * Retrieve the field decorator.
+	 * @return The decorator building the element proxies.
+	 */
+	CachingFieldDecorator getDecorator() {
+		return decorator;
+	}
+
+	/**
+	 * Retrieve the handle of the window the scenario began in, fetching it
+	 * on first use. Pages call this before they open or switch windows, so
+	 * the handle is still the one of the first window.
+	 * @return The window handle.
+	 */
+	public String getHomeWindowHandle() {
+		if (null == homeWindowHandle) {
+			homeWindowHandle = driver.getWindowHandle();
+		}
+		return homeWindowHandle;
+	}
+}
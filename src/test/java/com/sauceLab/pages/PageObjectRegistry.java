@@ -0,0 +1,278 @@
+package com.sauceLab.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindAll;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.FindBys;
+import org.openqa.selenium.support.pagefactory.Annotations;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.sauceLab.utilities.TestConstants.ELEMENT_CACHE_ENABLED;
+import static com.sauceLab.utilities.TestLogger.error;
+
+/**
+ * The element fields and constructor of each page class, worked out by
+ * reflection once per class instead of by PageFactory on every page built.
+ * Which fields are decorated, and with which locator, follows PageFactory:
+ * every WebElement field, and every List of WebElement annotated with
+ * {@link FindBy }, {@link FindBys } or {@link FindAll }.
+ */
+public final class PageObjectRegistry {
+
+	/**
+	 * There should be no instance of this class.
+	 */
+	private PageObjectRegistry() { }
+
+	/**
+	 * The metadata of each page class, computed on first use.
+	 */
+	private static final ClassValue<PageMetadata> METADATA
+			= new ClassValue<>() {
+				@Override
+				protected PageMetadata computeValue(final Class<?> type) {
+					return new PageMetadata(type);
+				}
+			};
+
+	/**
+	 * Build a page of the 'type' in the 'context', through its
+	 * (PageContext) constructor, or its (WebDriver) constructor if it has
+	 * none, and set its element fields once the constructor has returned.
+	 * @param type The class of the page.
+	 * @param context The context of the scenario.
+	 * @param <T> The type of the page.
+	 * @return The page.
+	 */
+	public static <T extends BasePage> T create(final Class<T> type,
+												final PageContext context) {
+		PageMetadata metadata = METADATA.get(type);
+		try {
+			T page = type.cast(metadata.constructor.newInstance(
+					metadata.takesContext ? context : context.getDriver()));
+			initElements(page, page.context);
+			return page;
+		} catch (InvocationTargetException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			error("Could not create the page : [" + type.getName() + "]", e);
+		} catch (ReflectiveOperationException e) {
+			error("Could not create the page : [" + type.getName() + "]", e);
+		}
+		return null;
+	}
+
+	/**
+	 * Set the element fields of the 'page' to proxies locating their
+	 * elements through the driver of the 'context'.
+	 * @param page The page.
+	 * @param context The context of the scenario.
+	 */
+	private static void initElements(final BasePage page,
+									 final PageContext context) {
+		WebDriver driver = context.getDriver();
+		ClassLoader loader = page.getClass().getClassLoader();
+		for (ElementField element : METADATA.get(page.getClass()).fields) {
+			ElementLocator locator = new ByLocator(driver, element.by);
+			if (ELEMENT_CACHE_ENABLED) {
+				locator = new CachingElementLocatorFactory
+						.CachingElementLocator(driver, locator);
+			}
+			try {
+				element.field.set(page, element.list
+						? context.getDecorator().proxyForListLocator(loader, locator)
+						: context.getDecorator().proxyForLocator(loader, locator));
+			} catch (IllegalAccessException e) {
+				error("Could not set the field : [" + element.field + "]", e);
+			}
+		}
+	}
+
+	/**
+	 * The element fields and constructor of a page class.
+	 */
+	private static final class PageMetadata {
+
+		/**
+		 * The decorated fields, of the class and its superclasses.
+		 */
+		private final List<ElementField> fields = new ArrayList<>();
+
+		/**
+		 * The constructor.
+		 */
+		private final Constructor<?> constructor;
+
+		/**
+		 * Whether the constructor takes a PageContext, or else a WebDriver.
+		 */
+		private final boolean takesContext;
+
+		/**
+		 * @param type The page class.
+		 */
+		private PageMetadata(final Class<?> type) {
+			for (Class<?> current = type;
+				 null != current && current != Object.class;
+				 current = current.getSuperclass()) {
+				for (Field field : current.getDeclaredFields()) {
+					if (Modifier.isStatic(field.getModifiers())
+							|| Modifier.isFinal(field.getModifiers())) {
+						continue;
+					}
+					boolean list = isElementList(field);
+					if (!list && !WebElement.class.equals(field.getType())) {
+						continue;
+					}
+					field.setAccessible(true);
+					fields.add(new ElementField(field,
+							LocatorOptimiser.optimise(
+									new Annotations(field).buildBy()),
+							list));
+				}
+			}
+
+			Constructor<?> handle = null;
+			boolean context = false;
+			try {
+				try {
+					handle = type.getConstructor(PageContext.class);
+					context = true;
+				} catch (NoSuchMethodException e) {
+					handle = type.getConstructor(WebDriver.class);
+				}
+			} catch (NoSuchMethodException e) {
+				error("The page : [" + type.getName() + "] needs a public"
+						+ " (PageContext) or (WebDriver) constructor", e);
+			}
+			this.constructor = handle;
+			this.takesContext = context;
+		}
+
+		/**
+		 * Whether the 'field' is a List of WebElement that PageFactory would
+		 * decorate.
+		 * @param field The field.
+		 * @return True for an annotated List of WebElement.
+		 */
+		private static boolean isElementList(final Field field) {
+			if (!List.class.isAssignableFrom(field.getType())
+					|| (null == field.getAnnotation(FindBy.class)
+					&& null == field.getAnnotation(FindBys.class)
+					&& null == field.getAnnotation(FindAll.class))) {
+				return false;
+			}
+			Type generic = field.getGenericType();
+			return generic instanceof ParameterizedType
+					&& WebElement.class.equals(((ParameterizedType) generic)
+					.getActualTypeArguments()[0]);
+		}
+	}
+
+	/**
+	 * A decorated field and its locator.
+	 */
+	private static final class ElementField {
+
+		/**
+		 * The field, accessible.
+		 */
+		private final Field field;
+
+		/**
+		 * How its element is located.
+		 */
+		private final By by;
+
+		/**
+		 * Whether it is a List of WebElement.
+		 */
+		private final boolean list;
+
+		/**
+		 * @param field The field, accessible.
+		 * @param by How its element is located.
+		 * @param list Whether it is a List of WebElement.
+		 */
+		private ElementField(final Field field, final By by, final boolean list) {
+			this.field = field;
+			this.by = by;
+			this.list = list;
+		}
+	}
+
+	/**
+	 * Locates the element of a field by its precomputed By.
+	 */
+	private static final class ByLocator implements ElementLocator {
+
+		/**
+		 * The driver to search with.
+		 */
+		private final SearchContext searchContext;
+
+		/**
+		 * How the element is located.
+		 */
+		private final By by;
+
+		/**
+		 * @param searchContext The driver to search with.
+		 * @param by How the element is located.
+		 */
+		private ByLocator(final SearchContext searchContext, final By by) {
+			this.searchContext = searchContext;
+			this.by = by;
+		}
+
+		/**
+		 * Find the element.
+		 * @return The element.
+		 */
+		@Override
+		public WebElement findElement() {
+			long start = LocatorOptimiser.start();
+			try {
+				return searchContext.findElement(by);
+			} finally {
+				LocatorOptimiser.record(by, start);
+			}
+		}
+
+		/**
+		 * Find the elements.
+		 * @return The elements.
+		 */
+		@Override
+		public List<WebElement> findElements() {
+			long start = LocatorOptimiser.start();
+			try {
+				return searchContext.findElements(by);
+			} finally {
+				LocatorOptimiser.record(by, start);
+			}
+		}
+
+		/**
+		 * The locator.
+		 * @return The description of the locator.
+		 */
+		@Override
+		public String toString() {
+			return "Located by " + by;
+		}
+	}
+}
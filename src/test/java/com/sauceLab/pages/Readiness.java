@@ -0,0 +1,134 @@
+package com.sauceLab.pages;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+
+/**
+ * The conditions the zero-sleep mode of {@link BasePage#waitStandard() }
+ * waits on instead of sleeping. Each is cheap enough to poll every few
+ * milliseconds. A driver that cannot run scripts (jsoup) has nothing
+ * asynchronous to wait for and is always ready.
+ */
+final class Readiness {
+
+	/**
+	 * There should be no instance of this class.
+	 */
+	private Readiness() { }
+
+	/**
+	 * The document has loaded and no finite animation or transition is
+	 * running. Endless animations (spinners) are left to the element
+	 * conditions of the page.
+	 */
+	private static final String PAGE_SETTLED_SCRIPT
+			= "if (document.readyState !== 'complete') { return false; }"
+			+ "if (!document.getAnimations) { return true; }"
+			+ "return document.getAnimations().every(function (animation) {"
+			+ "  return animation.playState !== 'running'"
+			+ "      || !animation.effect"
+			+ "      || animation.effect.getComputedTiming().iterations === Infinity;"
+			+ "});";
+
+	/**
+	 * The position of arguments[0] in the viewport.
+	 */
+	private static final String ELEMENT_POSITION_SCRIPT
+			= "var rect = arguments[0].getBoundingClientRect();"
+			+ "return rect.top + ',' + rect.left;";
+
+	/**
+	 * The scroll position of the window.
+	 */
+	private static final String SCROLL_POSITION_SCRIPT
+			= "return window.scrollX + ',' + window.scrollY;";
+
+	/**
+	 * Ready at once, for call sites that had nothing to wait for.
+	 * @return An {@link ExpectedCondition } that always holds.
+	 */
+	static ExpectedCondition<Boolean> ready() {
+		return driver -> true;
+	}
+
+	/**
+	 * The document has loaded and its animations have finished.
+	 * @return An {@link ExpectedCondition } for a settled page.
+	 */
+	static ExpectedCondition<Boolean> pageSettled() {
+		return driver -> {
+			Object settled = script(driver, PAGE_SETTLED_SCRIPT);
+			return !(settled instanceof Boolean) || (Boolean) settled;
+		};
+	}
+
+	/**
+	 * The 'element' has stopped moving, e.g. a smooth scroll bringing it
+	 * into view has finished. Holds once two polls in a row see it at the
+	 * same position.
+	 * @param element The element.
+	 * @return An {@link ExpectedCondition } for a settled element.
+	 */
+	static ExpectedCondition<Boolean> elementSettled(final WebElement element) {
+		return stable(ELEMENT_POSITION_SCRIPT, element);
+	}
+
+	/**
+	 * The window has stopped scrolling. Holds once two polls in a row see
+	 * the same scroll position.
+	 * @return An {@link ExpectedCondition } for a settled scroll.
+	 */
+	static ExpectedCondition<Boolean> scrollSettled() {
+		return stable(SCROLL_POSITION_SCRIPT);
+	}
+
+	/**
+	 * Fewer than 'count' windows are open.
+	 * @param count The number of windows.
+	 * @return An {@link ExpectedCondition } on the number of windows.
+	 */
+	static ExpectedCondition<Boolean> windowsBelow(final int count) {
+		return driver -> driver.getWindowHandles().size() < count;
+	}
+
+	/**
+	 * Holds once the result of the 'script' is the same on two polls in a
+	 * row.
+	 * @param script The script.
+	 * @param args The arguments of the script.
+	 * @return An {@link ExpectedCondition } for a stable result.
+	 */
+	private static ExpectedCondition<Boolean> stable(final String script,
+													 final Object... args) {
+		String[] last = new String[1];
+		return driver -> {
+			String now = String.valueOf(script(driver, script, args));
+			boolean unchanged = now.equals(last[0]);
+			last[0] = now;
+			return unchanged;
+		};
+	}
+
+	/**
+	 * Run a script, if the driver can.
+	 * @param driver The WebDriver.
+	 * @param script The script.
+	 * @param args The arguments of the script.
+	 * @return The result, or null.
+	 */
+	private static Object script(final WebDriver driver,
+								 final String script,
+								 final Object... args) {
+		if (!(driver instanceof JavascriptExecutor)) {
+			return null;
+		}
+		try {
+			return ((JavascriptExecutor) driver).executeScript(script, args);
+		} catch (UnsupportedCommandException e) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,316 @@
+package com.sauceLab.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static com.sauceLab.utilities.TestLogger.debug;
+
+/**
+ * The options of a select element and which of them are selected, read by
+ * one injected script that can also make the selection. The option is
+ * matched by its visible text ignoring case, or by its value, selected,
+ * and the select sent input and change events so the page reacts as it
+ * does to a user, all in the same round trip that reads the result.
+ */
+public final class Selection {
+
+	/**
+	 * Only read the options.
+	 */
+	static final String READ = "read";
+
+	/**
+	 * Select the option whose visible text matches, ignoring case.
+	 */
+	static final String BY_TEXT = "text";
+
+	/**
+	 * Select the option whose value matches.
+	 */
+	static final String BY_VALUE = "value";
+
+	/**
+	 * Finds the select (arguments[0] is an element or a locator) and, for
+	 * 'text' or 'value', selects the matching option (all of them in a
+	 * multiple select) unless the select is hidden or disabled. The text
+	 * of an option is matched as Select reads it, spaces collapsed.
+	 */
+	private static final String SCRIPT
+			= "var target = arguments[0], mode = arguments[1], wanted = arguments[2];"
+			+ BrowserLocator.FUNCTIONS
+			+ "var el = locate(target);"
+			+ "if (!el) { return {found: false}; }"
+			+ "if (el.tagName.toLowerCase() !== 'select') { return {found: true, select: false}; }"
+			+ "var style = window.getComputedStyle(el), rect = el.getBoundingClientRect();"
+			+ "var displayed = style.display !== 'none' && style.visibility !== 'hidden'"
+			+ "    && rect.width > 0 && rect.height > 0;"
+			+ "var enabled = !el.disabled && !el.closest('fieldset[disabled]');"
+			+ "var options = Array.prototype.slice.call(el.options);"
+			+ "var texts = options.map(function (o) { return (o.text || '').replace(/\\s+/g, ' ').trim(); });"
+			+ "var values = options.map(function (o) { return o.value; });"
+			+ "var matched = [];"
+			+ "if (mode !== 'read') {"
+			+ "  var expected = mode === 'text' ? String(wanted).replace(/\\s+/g, ' ').trim().toLowerCase() : wanted;"
+			+ "  options.forEach(function (o, i) {"
+			+ "    var actual = mode === 'text' ? texts[i].toLowerCase() : values[i];"
+			+ "    if (actual === expected && (el.multiple || !matched.length)) { matched.push(i); }"
+			+ "  });"
+			+ "  var changed = false;"
+			+ "  if (displayed && enabled) {"
+			+ "    matched.forEach(function (i) {"
+			+ "      if (!options[i].selected && !options[i].disabled) {"
+			+ "        options[i].selected = true;"
+			+ "        changed = true;"
+			+ "      }"
+			+ "    });"
+			+ "  }"
+			+ "  if (changed) {"
+			+ "    el.dispatchEvent(new Event('input', {bubbles: true}));"
+			+ "    el.dispatchEvent(new Event('change', {bubbles: true}));"
+			+ "  }"
+			+ "}"
+			+ "var selected = [];"
+			+ "options.forEach(function (o, i) { if (o.selected) { selected.push(i); } });"
+			+ "return {found: true, select: true, displayed: displayed, enabled: enabled,"
+			+ "    options: options, texts: texts, values: values, matched: matched,"
+			+ "    selected: selected};";
+
+	/**
+	 * Whether the select element was found.
+	 */
+	private final boolean found;
+
+	/**
+	 * Whether the element found is a select.
+	 */
+	private final boolean select;
+
+	/**
+	 * Whether the select is displayed.
+	 */
+	private final boolean displayed;
+
+	/**
+	 * Whether the select is enabled.
+	 */
+	private final boolean enabled;
+
+	/**
+	 * The option elements.
+	 */
+	private final List<WebElement> options;
+
+	/**
+	 * The visible text of each option.
+	 */
+	private final List<String> texts;
+
+	/**
+	 * The value of each option.
+	 */
+	private final List<String> values;
+
+	/**
+	 * The indexes of the options that matched what was asked for.
+	 */
+	private final List<Integer> matched;
+
+	/**
+	 * The indexes of the options selected once the script was done.
+	 */
+	private final List<Integer> selected;
+
+	/**
+	 * Build the selection from what the script returned.
+	 * @param result The map returned by the script.
+	 */
+	private Selection(final Map<?, ?> result) {
+		this.found = Boolean.TRUE.equals(result.get("found"));
+		this.select = Boolean.TRUE.equals(result.get("select"));
+		this.displayed = Boolean.TRUE.equals(result.get("displayed"));
+		this.enabled = Boolean.TRUE.equals(result.get("enabled"));
+		this.options = list(result.get("options"), WebElement.class);
+		this.texts = list(result.get("texts"), String.class);
+		this.values = list(result.get("values"), String.class);
+		List<Integer> matchedIndexes = new ArrayList<>();
+		for (Number index : list(result.get("matched"), Number.class)) {
+			matchedIndexes.add(index.intValue());
+		}
+		this.matched = Collections.unmodifiableList(matchedIndexes);
+		List<Integer> selectedIndexes = new ArrayList<>();
+		for (Number index : list(result.get("selected"), Number.class)) {
+			selectedIndexes.add(index.intValue());
+		}
+		this.selected = Collections.unmodifiableList(selectedIndexes);
+	}
+
+	/**
+	 * Read the options of the 'element', and select the one matching
+	 * 'wanted' unless the 'mode' is {@link #READ }, in one round trip.
+	 * @param driver The WebDriver.
+	 * @param element The select element, or its By locator.
+	 * @param mode {@link #READ }, {@link #BY_TEXT } or {@link #BY_VALUE }.
+	 * @param wanted The visible text or value to select.
+	 * @param <T> Either a 'By' or a 'WebElement'.
+	 * @return The {@link Selection }, or null if the driver cannot run the
+	 * script and Select has to be used instead.
+	 */
+	static <T> Selection run(final WebDriver driver,
+							 final T element,
+							 final String mode,
+							 final String wanted) {
+		if (!(driver instanceof JavascriptExecutor)) {
+			return null;
+		}
+
+		Object target = element;
+		if (element instanceof By) {
+			target = BrowserLocator.argument((By) element);
+			if (null == target) {
+				return null;
+			}
+		}
+
+		Object result;
+		try {
+			result = ((JavascriptExecutor) driver).executeScript(SCRIPT,
+					target, mode, wanted);
+		} catch (JavascriptException | UnsupportedCommandException e) {
+			debug("The select script failed for [" + element
+					+ "], using Select : " + e.getMessage());
+			return null;
+		}
+		return result instanceof Map ? new Selection((Map<?, ?>) result) : null;
+	}
+
+	/**
+	 * Copy a list returned by the script.
+	 * @param value The list, or null.
+	 * @param type The type of its items.
+	 * @param <E> The type of its items.
+	 * @return The unmodifiable list, empty for null.
+	 */
+	private static <E> List<E> list(final Object value, final Class<E> type) {
+		List<E> items = new ArrayList<>();
+		if (value instanceof List) {
+			for (Object item : (List<?>) value) {
+				items.add(type.cast(item));
+			}
+		}
+		return Collections.unmodifiableList(items);
+	}
+
+	/**
+	 * Whether the select element was found.
+	 * @return True if it was found.
+	 */
+	public boolean isFound() {
+		return found;
+	}
+
+	/**
+	 * Whether the element found is a select.
+	 * @return True if it is a select element.
+	 */
+	public boolean isSelect() {
+		return select;
+	}
+
+	/**
+	 * Whether the select is displayed.
+	 * @return True if it is displayed.
+	 */
+	public boolean isDisplayed() {
+		return displayed;
+	}
+
+	/**
+	 * Whether the select is enabled.
+	 * @return True if it is enabled.
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Whether an option matched what was asked for.
+	 * @return True if at least one option matched.
+	 */
+	public boolean isMatched() {
+		return !matched.isEmpty();
+	}
+
+	/**
+	 * Whether every option that matched is now selected.
+	 * @return True if the selection was made.
+	 */
+	public boolean isSelected() {
+		return isMatched() && selected.containsAll(matched);
+	}
+
+	/**
+	 * Retrieve the option elements.
+	 * @return The options, in order.
+	 */
+	public List<WebElement> getOptions() {
+		return options;
+	}
+
+	/**
+	 * Retrieve the visible texts of the options.
+	 * @return The text of each option, in order.
+	 */
+	public List<String> getTexts() {
+		return texts;
+	}
+
+	/**
+	 * Retrieve the values of the options.
+	 * @return The value of each option, in order.
+	 */
+	public List<String> getValues() {
+		return values;
+	}
+
+	/**
+	 * Retrieve the selected option elements.
+	 * @return The selected options, in order.
+	 */
+	public List<WebElement> getSelectedOptions() {
+		List<WebElement> selectedOptions = new ArrayList<>(selected.size());
+		for (int index : selected) {
+			selectedOptions.add(options.get(index));
+		}
+		return selectedOptions;
+	}
+
+	/**
+	 * Retrieve the visible texts of the selected options.
+	 * @return The text of each selected option, in order.
+	 */
+	public List<String> getSelectedTexts() {
+		List<String> selectedTexts = new ArrayList<>(selected.size());
+		for (int index : selected) {
+			selectedTexts.add(texts.get(index));
+		}
+		return selectedTexts;
+	}
+
+	/**
+	 * The options and the selected ones.
+	 * @return The description of the selection.
+	 */
+	@Override
+	public String toString() {
+		return "options : " + texts + ", selected : " + getSelectedTexts();
+	}
+}
@@ -0,0 +1,564 @@
+package com.sauceLab.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static com.sauceLab.utilities.TestConstants.TABLE_CHUNK_ROWS;
+import static com.sauceLab.utilities.TestConstants.TABLE_SCROLL_SETTLE;
+import static com.sauceLab.utilities.TestLogger.debug;
+
+/**
+ * Reads a table a chunk of rows at a time, each chunk by one injected
+ * script, into columns of cell texts. Only one chunk is held at a time, so
+ * a 10k-row grid is read in a few round trips and without keeping 10k
+ * WebElements.
+ *
+ * <p>A table that only renders the rows in view (a virtualised or
+ * infinitely scrolling grid) is read with {@link #virtualised(Object) }:
+ * the script takes the rendered rows not read yet, scrolls the container
+ * down a view, waits for the new rows and takes them, until the chunk is
+ * full or no new rows come at the end of the table. A row is told apart
+ * from those already read by its key attribute (aria-rowindex by
+ * default), or else by its position in the scrolled content. Sticky and
+ * fixed rows, such as pinned headers, are skipped.</p>
+ */
+public final class TableReader {
+
+	/**
+	 * How long one script may keep scrolling a virtualised table to fill a
+	 * chunk before it replies with the rows it has.
+	 */
+	private static final Duration CHUNK_BUDGET = Duration.ofSeconds(5);
+
+	/**
+	 * Reads the rows after arguments[1].after, at most arguments[1].limit
+	 * of them, and replies with their keys, their cell counts and the cell
+	 * texts by column. A virtualised table is scrolled a view at a time
+	 * until the chunk is full, its end is reached or the budget is spent.
+	 */
+	private static final String SCRIPT
+			= "var reply = arguments[arguments.length - 1], o = arguments[1];"
+			+ BrowserLocator.FUNCTIONS
+			+ "var table = locate(arguments[0]);"
+			+ "if (!table) { reply({missing: true}); return; }"
+			+ "var scroller = o.virtual ? (locate(o.container) || table) : null;"
+			+ "var after = o.after === null ? -Infinity : o.after, started = Date.now(), total = 0;"
+			+ "var keys = [], widths = [], rows = [];"
+			+ "var page = scroller && (scroller === document.scrollingElement"
+			+ "    || scroller === document.documentElement || scroller === document.body);"
+			+ "function pinned(row) {"
+			+ "  return [row, row.parentElement].some(function (el) {"
+			+ "    var position = el ? window.getComputedStyle(el).position : '';"
+			+ "    return position === 'sticky' || position === 'fixed';"
+			+ "  });"
+			+ "}"
+			+ "function key(row, index) {"
+			+ "  if (!scroller) { return index; }"
+			+ "  var value = o.key ? row.getAttribute(o.key) : null;"
+			+ "  if (value !== null && value !== '' && !isNaN(value)) { return Number(value); }"
+			+ "  var base = page ? -window.pageYOffset"
+			+ "      : scroller.getBoundingClientRect().top - scroller.scrollTop;"
+			+ "  return Math.round(row.getBoundingClientRect().top - base);"
+			+ "}"
+			+ "function read() {"
+			+ "  var all = table.querySelectorAll(o.rows), found = [];"
+			+ "  for (var i = 0; i < all.length; i++) {"
+			+ "    if (scroller && pinned(all[i])) { continue; }"
+			+ "    var k = key(all[i], i);"
+			+ "    if (k > after) { found.push({key: k, row: all[i]}); }"
+			+ "  }"
+			+ "  if (scroller) { found.sort(function (a, b) { return a.key - b.key; }); }"
+			+ "  total = all.length;"
+			+ "  return found;"
+			+ "}"
+			+ "function take(found) {"
+			+ "  found.slice(0, o.limit - keys.length).forEach(function (entry) {"
+			+ "    var cells = entry.row.querySelectorAll(o.cells), texts = [];"
+			+ "    for (var c = 0; c < cells.length; c++) {"
+			+ "      texts.push((cells[c].innerText || cells[c].textContent || '').trim());"
+			+ "    }"
+			+ "    keys.push(entry.key);"
+			+ "    widths.push(cells.length);"
+			+ "    rows.push(texts);"
+			+ "    after = entry.key;"
+			+ "  });"
+			+ "}"
+			+ "function send(exhausted) {"
+			+ "  var columns = [];"
+			+ "  rows.forEach(function (texts, r) {"
+			+ "    texts.forEach(function (text, c) {"
+			+ "      if (!columns[c]) { columns[c] = new Array(rows.length).fill(null); }"
+			+ "      columns[c][r] = text;"
+			+ "    });"
+			+ "  });"
+			+ "  reply({keys: keys, widths: widths, columns: columns, total: total,"
+			+ "      exhausted: exhausted});"
+			+ "}"
+			+ "function atEnd() {"
+			+ "  return scroller.scrollTop + scroller.clientHeight >= scroller.scrollHeight - 1;"
+			+ "}"
+			+ "function collect(found) {"
+			+ "  take(found);"
+			+ "  if (keys.length >= o.limit || Date.now() - started >= o.budget) { send(false); return; }"
+			+ "  advance();"
+			+ "}"
+			+ "function advance() {"
+			+ "  if (!atEnd()) { scroller.scrollTop = scroller.scrollTop + scroller.clientHeight; }"
+			+ "  var since = Date.now();"
+			+ "  (function poll() {"
+			+ "    var found = read();"
+			+ "    if (found.length) { collect(found); return; }"
+			+ "    if (Date.now() - since >= o.settle) { send(atEnd()); return; }"
+			+ "    setTimeout(poll, 50);"
+			+ "  })();"
+			+ "}"
+			+ "if (!scroller) {"
+			+ "  var found = read();"
+			+ "  take(found);"
+			+ "  send(found.length <= o.limit);"
+			+ "} else if (o.after === null && scroller.scrollTop > 0) {"
+			+ "  scroller.scrollTop = 0;"
+			+ "  requestAnimationFrame(function () { requestAnimationFrame(function () {"
+			+ "    var found = read();"
+			+ "    if (found.length) { collect(found); } else { advance(); }"
+			+ "  }); });"
+			+ "} else {"
+			+ "  var found = read();"
+			+ "  if (found.length) { collect(found); } else { advance(); }"
+			+ "}";
+
+	/**
+	 * The WebDriver.
+	 */
+	private final WebDriver driver;
+
+	/**
+	 * The table, a WebElement or a By locator.
+	 */
+	private final Object table;
+
+	/**
+	 * The CSS selector of the rows, within the table.
+	 */
+	private String rowSelector = "tr";
+
+	/**
+	 * The CSS selector of the cells, within a row.
+	 */
+	private String cellSelector = "td, th";
+
+	/**
+	 * Whether only the rows in view are rendered.
+	 */
+	private boolean virtual;
+
+	/**
+	 * The element that scrolls a virtualised table, null for the table.
+	 */
+	private Object container;
+
+	/**
+	 * The attribute holding the index of a row of a virtualised table.
+	 */
+	private String keyAttribute = "aria-rowindex";
+
+	/**
+	 * The most rows read by one script.
+	 */
+	private int chunkRows = TABLE_CHUNK_ROWS;
+
+	/**
+	 * @param driver The WebDriver.
+	 * @param table The table, a WebElement or a By locator.
+	 */
+	TableReader(final WebDriver driver, final Object table) {
+		this.driver = driver;
+		this.table = table;
+	}
+
+	/**
+	 * Select the rows with the 'selector' instead of tr.
+	 * @param selector The CSS selector of the rows, within the table.
+	 * @return This reader.
+	 */
+	public TableReader rows(final String selector) {
+		this.rowSelector = selector;
+		return this;
+	}
+
+	/**
+	 * Select the cells with the 'selector' instead of td and th.
+	 * @param selector The CSS selector of the cells, within a row.
+	 * @return This reader.
+	 */
+	public TableReader cells(final String selector) {
+		this.cellSelector = selector;
+		return this;
+	}
+
+	/**
+	 * Read the table by scrolling it, as it only renders the rows in view.
+	 * @param scrollContainer The element that scrolls, a WebElement or a
+	 * By locator, or null if it is the table.
+	 * @return This reader.
+	 */
+	public TableReader virtualised(final Object scrollContainer) {
+		this.virtual = true;
+		this.container = scrollContainer;
+		return this;
+	}
+
+	/**
+	 * Tell the rows of a virtualised table apart by the 'attribute'.
+	 * @param attribute The attribute holding the index of a row.
+	 * @return This reader.
+	 */
+	public TableReader keyedBy(final String attribute) {
+		this.keyAttribute = attribute;
+		return this;
+	}
+
+	/**
+	 * Read at most 'rows' rows per script.
+	 * @param rows The size of a chunk.
+	 * @return This reader.
+	 */
+	public TableReader chunkRows(final int rows) {
+		this.chunkRows = Math.max(1, rows);
+		return this;
+	}
+
+	/**
+	 * Read the whole table, handing each chunk to the 'consumer' before the
+	 * next one is read.
+	 * @param consumer What to do with a chunk.
+	 * @return The number of rows read.
+	 * @throws NoSuchElementException If the table cannot be found.
+	 */
+	public int forEachChunk(final Consumer<Chunk> consumer) {
+		int read = 0;
+		Object after = null;
+		while (true) {
+			Chunk chunk = next(after, read, chunkRows);
+			if (chunk.size() > 0) {
+				consumer.accept(chunk);
+				read += chunk.size();
+				after = chunk.lastKey;
+			}
+			if (chunk.exhausted || !virtual && chunk.size() == 0) {
+				return read;
+			}
+		}
+	}
+
+	/**
+	 * Count the rows, in one round trip unless the table is virtualised.
+	 * @return The number of rows.
+	 * @throws NoSuchElementException If the table cannot be found.
+	 */
+	public int rowCount() {
+		if (virtual) {
+			return forEachChunk(chunk -> { });
+		}
+		return next(null, 0, 0).total;
+	}
+
+	/**
+	 * Count the cells of a row.
+	 * @param row The zero-based index of the row.
+	 * @return The number of cells, 0 if there is no such row.
+	 * @throws NoSuchElementException If the table cannot be found.
+	 */
+	public int cellCount(final int row) {
+		if (!virtual) {
+			Chunk chunk = next(row - 1, row, 1);
+			return chunk.size() > 0 ? chunk.cellCount(0) : 0;
+		}
+		int[] count = {0};
+		forEachChunk(chunk -> {
+			if (row >= chunk.firstRow && row < chunk.firstRow + chunk.size()) {
+				count[0] = chunk.cellCount(row - chunk.firstRow);
+			}
+		});
+		return count[0];
+	}
+
+	/**
+	 * Read one column of the table.
+	 * @param column The zero-based index of the column.
+	 * @return The text of the cell of each row, null where a row is short.
+	 * @throws NoSuchElementException If the table cannot be found.
+	 */
+	public List<String> column(final int column) {
+		List<String> values = new ArrayList<>();
+		forEachChunk(chunk -> values.addAll(chunk.column(column)));
+		return values;
+	}
+
+	/**
+	 * Read the next chunk.
+	 * @param after The key of the last row read, null before the first.
+	 * @param firstRow The number of rows read before.
+	 * @param limit The most rows to read.
+	 * @return The chunk.
+	 */
+	private Chunk next(final Object after, final int firstRow, final int limit) {
+		if (!(driver instanceof JavascriptExecutor)) {
+			return readNatively(firstRow, limit);
+		}
+
+		Object target = table;
+		if (table instanceof By) {
+			target = locator((By) table);
+		}
+		Map<String, Object> options = new HashMap<>();
+		options.put("rows", rowSelector);
+		options.put("cells", cellSelector);
+		options.put("virtual", virtual);
+		options.put("container", container instanceof By
+				? locator((By) container)
+				: container);
+		options.put("key", keyAttribute);
+		options.put("after", after);
+		options.put("limit", limit);
+		options.put("settle", TABLE_SCROLL_SETTLE);
+		options.put("budget", CHUNK_BUDGET.toMillis());
+
+		BrowserWait.setScriptTimeout(driver, CHUNK_BUDGET
+				.plusMillis(TABLE_SCROLL_SETTLE)
+				.plus(BrowserWait.SCRIPT_TIMEOUT_MARGIN));
+		Object result = ((JavascriptExecutor) driver).executeAsyncScript(SCRIPT,
+				target, options);
+		Map<?, ?> read = result instanceof Map ? (Map<?, ?>) result : Map.of();
+		if (Boolean.TRUE.equals(read.get("missing")) || !read.containsKey("keys")) {
+			throw new NoSuchElementException("The table : [" + table + "] could not be found");
+		}
+
+		List<?> keys = (List<?>) read.get("keys");
+		List<?> widths = (List<?>) read.get("widths");
+		List<?> columns = (List<?>) read.get("columns");
+		int[] cellCounts = new int[keys.size()];
+		for (int i = 0; i < cellCounts.length; i++) {
+			cellCounts[i] = ((Number) widths.get(i)).intValue();
+		}
+		String[][] cells = new String[columns.size()][];
+		for (int c = 0; c < cells.length; c++) {
+			List<?> column = (List<?>) columns.get(c);
+			cells[c] = new String[column.size()];
+			for (int r = 0; r < cells[c].length; r++) {
+				cells[c][r] = null == column.get(r) ? null : String.valueOf(column.get(r));
+			}
+		}
+		return new Chunk(firstRow,
+				cellCounts,
+				cells,
+				keys.isEmpty() ? after : keys.get(keys.size() - 1),
+				((Number) read.get("total")).intValue(),
+				Boolean.TRUE.equals(read.get("exhausted")));
+	}
+
+	/**
+	 * Read a chunk with a command per row and cell, for a driver that
+	 * cannot run scripts. Only the rendered rows are read.
+	 * @param firstRow The index of the first row to read.
+	 * @param limit The most rows to read.
+	 * @return The chunk.
+	 */
+	private Chunk readNatively(final int firstRow, final int limit) {
+		debug("Reading the table : [" + table + "] with native commands");
+		SearchContext element = table instanceof By
+				? driver.findElement((By) table)
+				: (WebElement) table;
+		List<WebElement> rows = element.findElements(By.cssSelector(rowSelector));
+		int end = Math.min(rows.size(), firstRow + limit);
+		int count = Math.max(0, end - firstRow);
+		int[] cellCounts = new int[count];
+		List<List<WebElement>> cells = new ArrayList<>(count);
+		int width = 0;
+		for (int r = 0; r < count; r++) {
+			List<WebElement> row = rows.get(firstRow + r).findElements(By.cssSelector(cellSelector));
+			cells.add(row);
+			cellCounts[r] = row.size();
+			width = Math.max(width, row.size());
+		}
+		String[][] columns = new String[width][count];
+		for (int r = 0; r < count; r++) {
+			for (int c = 0; c < cellCounts[r]; c++) {
+				columns[c][r] = cells.get(r).get(c).getText().trim();
+			}
+		}
+		return new Chunk(firstRow, cellCounts, columns, firstRow + count - 1,
+				rows.size(), end >= rows.size());
+	}
+
+	/**
+	 * The locator in the form the script resolves.
+	 * @param by The locator.
+	 * @return The strategy and value of the locator.
+	 */
+	private static Map<String, Object> locator(final By by) {
+		Map<String, Object> locator = BrowserLocator.argument(by);
+		if (null == locator) {
+			throw new IllegalArgumentException("The locator : [" + by
+					+ "] cannot be resolved in the browser");
+		}
+		return locator;
+	}
+
+	/**
+	 * A chunk of consecutive rows, stored as one array of cell texts per
+	 * column.
+	 */
+	public static final class Chunk {
+
+		/**
+		 * The index of the first row of the chunk in the table.
+		 */
+		private final int firstRow;
+
+		/**
+		 * The number of cells of each row.
+		 */
+		private final int[] cellCounts;
+
+		/**
+		 * The cell texts, by column then row, null where a row is short.
+		 */
+		private final String[][] columns;
+
+		/**
+		 * The key of the last row, where the next chunk starts after.
+		 */
+		private final Object lastKey;
+
+		/**
+		 * The number of rows the table had rendered.
+		 */
+		private final int total;
+
+		/**
+		 * Whether there are no rows after this chunk.
+		 */
+		private final boolean exhausted;
+
+		/**
+		 * @param firstRow The index of the first row in the table.
+		 * @param cellCounts The number of cells of each row.
+		 * @param columns The cell texts, by column then row.
+		 * @param lastKey The key of the last row.
+		 * @param total The number of rows the table had rendered.
+		 * @param exhausted Whether there are no rows after this chunk.
+		 */
+		private Chunk(final int firstRow,
+					  final int[] cellCounts,
+					  final String[][] columns,
+					  final Object lastKey,
+					  final int total,
+					  final boolean exhausted) {
+			this.firstRow = firstRow;
+			this.cellCounts = cellCounts;
+			this.columns = columns;
+			this.lastKey = lastKey;
+			this.total = total;
+			this.exhausted = exhausted;
+		}
+
+		/**
+		 * Retrieve the index of the first row.
+		 * @return The zero-based index of the first row in the table.
+		 */
+		public int getFirstRow() {
+			return firstRow;
+		}
+
+		/**
+		 * Retrieve the number of rows.
+		 * @return The number of rows in the chunk.
+		 */
+		public int size() {
+			return cellCounts.length;
+		}
+
+		/**
+		 * Retrieve the number of columns.
+		 * @return The number of cells of the longest row.
+		 */
+		public int columnCount() {
+			return columns.length;
+		}
+
+		/**
+		 * Retrieve the number of cells of a row.
+		 * @param row The index of the row in the chunk.
+		 * @return The number of cells.
+		 */
+		public int cellCount(final int row) {
+			return cellCounts[row];
+		}
+
+		/**
+		 * Retrieve the text of a cell.
+		 * @param row The index of the row in the chunk.
+		 * @param column The index of the column.
+		 * @return The text, or null if the row has no such cell.
+		 */
+		public String get(final int row, final int column) {
+			return column < columns.length ? columns[column][row] : null;
+		}
+
+		/**
+		 * Retrieve a column.
+		 * @param column The index of the column.
+		 * @return The text of the cell of each row, unmodifiable.
+		 */
+		public List<String> column(final int column) {
+			return column < columns.length
+					? Collections.unmodifiableList(Arrays.asList(columns[column]))
+					: Collections.nCopies(size(), null);
+		}
+
+		/**
+		 * Retrieve a column as numbers, ignoring what is not part of the
+		 * number (currency signs, thousands separators, units).
+		 * @param column The index of the column.
+		 * @return The number in each cell, NaN where there is none.
+		 */
+		public double[] numbers(final int column) {
+			double[] numbers = new double[size()];
+			for (int r = 0; r < numbers.length; r++) {
+				numbers[r] = parseNumber(get(r, column));
+			}
+			return numbers;
+		}
+
+		/**
+		 * Parse the number in a cell.
+		 * @param text The text of the cell.
+		 * @return The number, or NaN if there is none.
+		 */
+		private static double parseNumber(final String text) {
+			if (null == text) {
+				return Double.NaN;
+			}
+			String number = text.replaceAll("[^0-9.\\-]", "");
+			try {
+				return number.isEmpty() ? Double.NaN : Double.parseDouble(number);
+			} catch (NumberFormatException e) {
+				return Double.NaN;
+			}
+		}
+	}
+}
@@ -1,6 +1,7 @@
 package com.sauceLab.pages.login;
 
 import com.sauceLab.pages.BasePage;
+import com.sauceLab.pages.PageContext;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
@@ -20,6 +21,10 @@ public class LoginPage extends BasePage {
 		super(_driver);
 	}
 
+	public LoginPage(PageContext context) {
+		super(context);
+	}
+
 	/**
 	 * The user enter username
 	 */
@@ -1,14 +1,34 @@
 package com.sauceLab.parallel;
 
-import com.sauceLab.pages.login.LoginPage;
+import com.sauceLab.pages.PageContext;
+import com.sauceLab.utilities.ProductURLs;
 import com.sauceLab.utilities.RemoteWebDriverFactory;
+import com.sauceLab.utilities.ScenarioLogBuffer;
+import com.sauceLab.utilities.StorageStateCache;
+import com.sauceLab.utilities.UserDetailsConfig;
 import io.cucumber.java.en.Given;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
 import org.slf4j.MDC;
 
+import static com.sauceLab.utilities.TestConstants.HOMEPAGEURL;
+import static com.sauceLab.utilities.TestConstants.PASSWORD;
+import static com.sauceLab.utilities.TestConstants.USERNAME;
+import static com.sauceLab.utilities.TestLogger.error;
 import static com.sauceLab.utilities.TestLogger.info;
 
 public class BaseGlue {
 
+    /**
+     * The product list, only shown to a logged in user.
+     */
+    private static final By INVENTORY = By.id("inventory_container");
+
+    /**
+     * The login button of the login form.
+     */
+    private static final By LOGIN_BUTTON = By.id("login-button");
+
     /**
      * The local instance of the System
      * Under test.
@@ -31,34 +51,65 @@ public class BaseGlue {
      */
     @Given("^I Initialize the framework with \"([^\"]*)\"$")
     public void initializeGlue(final String id) {
-        MDC.put("test-case-id", id + "_"
+        MDC.put(ScenarioLogBuffer.KEY, id + "_"
                 + RemoteWebDriverFactory.getBrowser());
         RemoteWebDriverFactory.setTestName(id);
 
         sauceLabObj.setDriver(RemoteWebDriverFactory
                 .getDriver());
 
-        sauceLabObj.setWidth(sauceLabObj
+        Dimension windowSize = sauceLabObj
                 .getDriver()
                 .manage()
                 .window()
-                .getSize()
-                .getWidth());
-        sauceLabObj.setHeight(sauceLabObj
-                .getDriver()
-                .manage()
-                .window()
-                .getSize()
-                .getHeight());
+                .getSize();
+        sauceLabObj.setWidth(windowSize.getWidth());
+        sauceLabObj.setHeight(windowSize.getHeight());
         info("Framework Initialized and Log file Name set to : ["
                 + id + "]");
 
-        sauceLabObj.getDriver()
-                .navigate()
-                .to(sauceLabObj.getProductUrl());
+        // A prefetched session is already sitting on the product URL
+        if (!RemoteWebDriverFactory.isOnLandingPage()) {
+            sauceLabObj.getDriver()
+                    .navigate()
+                    .to(sauceLabObj.getProductUrl());
+        }
 
-        sauceLabObj.setLoginPage(new LoginPage(sauceLabObj
+        // the pages are built when a step first uses them
+        sauceLabObj.setPageContext(new PageContext(sauceLabObj
                 .getDriver()));
     }
 
-}
\ No newline at end of file
+    /**
+     * Start the scenario logged in as the 'user', skipping the login page
+     * when the user's storage state has already been captured this run.
+     * The password is read from the client's user.properties, under
+     * '{user}.Password', or 'Password' for the default user.
+     * @param user The username.
+     */
+    @Given("^I am logged in as \"([^\"]*)\"$")
+    public void loggedInAs(final String user) {
+        String password = UserDetailsConfig.get(user + ".Password");
+        if (null == password && user.equals(USERNAME)) {
+            password = PASSWORD;
+        }
+        if (null == password) {
+            error("There is no password for the user [" + user
+                    + "] in user.properties");
+        }
+        final String userPassword = password;
+
+        sauceLabObj.setUsername(user);
+        StorageStateCache.logIn(sauceLabObj.getDriver(),
+                user,
+                () -> sauceLabObj.getLoginPage()
+                        .enterUsername(user)
+                        .enterPassword(userPassword)
+                        .clickOnLoginInButton(),
+                ProductURLs.getProductURL().replaceAll("/+$", "")
+                        + HOMEPAGEURL,
+                driver -> driver.getCurrentUrl().contains(HOMEPAGEURL)
+                        && !driver.findElements(INVENTORY).isEmpty(),
+                driver -> !driver.findElements(LOGIN_BUTTON).isEmpty());
+    }
+}
@@ -1,26 +1,34 @@
 package com.sauceLab.parallel;
 
+import com.sauceLab.pages.Deadline;
+import com.sauceLab.pages.PageContext;
+import com.sauceLab.utilities.FailureCapture;
 import com.sauceLab.utilities.ProductURLs;
 import com.sauceLab.pages.login.LoginPage;
 import com.sauceLab.utilities.RemoteWebDriverFactory;
+import com.sauceLab.utilities.ReportFragment;
+import com.sauceLab.utilities.ReportFragment.Template;
+import com.sauceLab.utilities.ScenarioLogBuffer;
 import com.sauceLab.utilities.TestConstants;
 import io.cucumber.java.After;
+import io.cucumber.java.AfterStep;
 import io.cucumber.java.Before;
+import io.cucumber.java.BeforeStep;
 import io.cucumber.java.Scenario;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.logging.LogEntries;
 import org.openqa.selenium.logging.LogEntry;
 import org.openqa.selenium.logging.LogType;
+import org.slf4j.MDC;
 
-import java.io.File;
-import java.io.FileNotFoundException;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Date;
-import java.util.Scanner;
+import java.util.List;
+import java.util.logging.Level;
 
 import static com.sauceLab.utilities.TestLogger.*;
 
@@ -43,10 +51,34 @@ public class SystemEnvironment {
      */
     public String username;
 
+    /**
+     * A row of the Test Data table, a label and its value.
+     */
+    private static final Template DATA_ROW
+            = Template.compile("<tr><td>{}</td><td>{}</td></tr>");
+
+    /**
+     * A heading row of the Test Data table.
+     */
+    private static final Template HEADING_ROW
+            = Template.compile("<tr><th><b>{}</b></th></tr>");
+
+    /**
+     * A browser console entry, coloured by its level.
+     */
+    private static final Template CONSOLE_ENTRY
+            = Template.compile("<li style=\"color: {}\"><p>{} {} {}</p></li>");
+
+    /**
+     * A browser console entry of a level without a colour.
+     */
+    private static final Template PLAIN_CONSOLE_ENTRY
+            = Template.compile("<li><p>{} {} {}</p></li>");
+
     /**
      * The log of this test.
      */
-    private String log;
+    private ReportFragment log;
 
     /**
      * The start time of the test.
@@ -133,24 +165,24 @@ public class SystemEnvironment {
     }
 
     /**
-     * Sauce Lab Login PAGE.
+     * The pages of this scenario, built on first use.
      */
-    private LoginPage loginPage;
+    private PageContext pageContext;
 
     /**
      * Retrieve the Login Page.
      * @return A {@link LoginPage }
      */
     public LoginPage getLoginPage() {
-        return loginPage;
+        return pageContext.page(LoginPage.class);
     }
 
     /**
-     * Set the Login Page.
-     * @param page The page.
+     * Set the context the pages of this scenario are built in.
+     * @param context The page context.
      */
-    public void setLoginPage(final LoginPage page) {
-        this.loginPage = page;
+    public void setPageContext(final PageContext context) {
+        this.pageContext = context;
     }
 
     /**
@@ -166,13 +198,12 @@ public class SystemEnvironment {
         LocalDateTime localDateTime = LocalDateTime.now();
 
         // Log test details into an HTML table to display in the HTML report
-        log = "<h2>Framework Console Logs</h2>";
-        log += "</br><span><table><tbody>";
-        log += "<tr><th><b>Test Data</b></th></tr>";
-
-        log += "<tr><td>Browser Name :</td><td>"
-                + RemoteWebDriverFactory.getBrowser()
-                + "</td></tr>";
+        log = ReportFragment.open()
+                .raw("<h2>Framework Console Logs</h2>")
+                .raw("</br><span><table><tbody>")
+                .append(HEADING_ROW, "Test Data")
+                .append(DATA_ROW, "Browser Name :",
+                        RemoteWebDriverFactory.getBrowser());
         featureName = "TEST-" + String.valueOf(scenario.getUri())
                 .split("TEST-")[1].split("\\.")[0];
 
@@ -186,6 +217,23 @@ public class SystemEnvironment {
         testStartTime = LocalTime.now();
     }
 
+    /**
+     * Start the wait budget of the step about to run, shared by all its
+     * budgeted waits.
+     */
+    @BeforeStep
+    public void beforeStep() {
+        Deadline.startStep();
+    }
+
+    /**
+     * End the wait budget of the step that just ran.
+     */
+    @AfterStep
+    public void afterStep() {
+        Deadline.endStep();
+    }
+
     /**
      * This method is called after each scenario. It cleans up the Remote
      * WebDriver, collects all logs and takes a screenshot if required then
@@ -193,120 +241,89 @@ public class SystemEnvironment {
      */
     @After
     public void afterScenario(final Scenario scenario) {
-        log += "<tr><td>User Name :</td><td>" + getUsername() + "</td></tr>";
-        String consoleLogs = captureConsoleLogs();
-        // report the status of the scenario to standard output
-        info("\n>>>>>> Feature : [" + featureName.split("_")[0] + "]"
-                + "\n>>>>>> Scenario : [" + scenario.getName() + "]"
-                + " "
-                + "\n>>>>>> Status :[" + scenario.getStatus() + "]\n");
-
-        if (scenario.isFailed()) {
-            // Take a screenshot and embed it in the Cucumber Report
-            final byte[] screenshot = ((TakesScreenshot) driver)
-                    .getScreenshotAs(OutputType.BYTES);
-            scenario.attach(screenshot, "image/png",
-                    scenario.getName());
-
-            // Log the current URL into the HTML table
-            log += "<tr><td>URL :</td><td>"
-                    + driver.getCurrentUrl()
-                    + "</td></tr>";
-
-            // log the test user's name into the table
-            log += "<tr><td>TestUser name :</td><td>"
-                    + getUsername()
-                    + "</td></tr>";
-
-            // indicate that a screenshot was captured in the
-            // standard output
-            info("The Scenario : " + scenario.getName()
-                    + " has failed. A screenshot was attempted "
-                    + "and if successful, was embedded in the Cucumber "
-                    + "Report.");
-        }
-
-        // the driver should absolutely be quit by now, if not, quit it
-        if (null != driver) {
-            driver.quit();
-        }
-
-        // The test has ended
-        LocalTime testStopTime = LocalTime.now();
-
-        // Log the test times to the HTML table for the html report
-        log += logMetaDataToReport(testStartTime, testStopTime, width, height);
+        List<LogEntry> consoleEntries = null;
+        FailureCapture failure = null;
+        try {
+            // Start preparing the next scenario's session while this one
+            // tears down
+            RemoteWebDriverFactory.prefetchDriver(productUrl);
+
+            log.append(DATA_ROW, "User Name :", getUsername());
+            // report the status of the scenario to standard output
+            info("\n>>>>>> Feature : [" + featureName.split("_")[0] + "]"
+                    + "\n>>>>>> Scenario : [" + scenario.getName() + "]"
+                    + " "
+                    + "\n>>>>>> Status :[" + scenario.getStatus() + "]\n");
+
+            if (scenario.isFailed()) {
+                // Fetch the screenshot, URL, page source, console logs and
+                // window size at once, before the session is released. The
+                // fetches run on their own threads, so they use the
+                // untraced session
+                WebDriver session = RemoteWebDriverFactory.getSession();
+                failure = FailureCapture.capture(null == session ? driver : session,
+                        Duration.ofSeconds(TestConstants.FAILURE_CAPTURE_TIMEOUT));
+                consoleEntries = failure.getConsoleLogs();
+
+                // Embed the screenshot in the Cucumber Report
+                if (null != failure.getScreenshot()) {
+                    scenario.attach(failure.getScreenshot(), "image/png",
+                            scenario.getName());
+                }
 
-        String path = System.getProperty("user.dir") + "/_logs/Test-Case-Logs/"
-                + featureName + ".html";
+                // Log the current URL into the HTML table
+                log.append(DATA_ROW, "URL :", failure.getUrl());
 
-        // Read the HTML Framework log file for this test into memory and
-        // parse it for the table of data it holds
-        File file = new File(path);
+                // log the test user's name into the table
+                log.append(DATA_ROW, "TestUser name :", getUsername());
 
-        Scanner scan;
-        boolean output = false;
-        StringBuilder outputString = new StringBuilder();
-        try {
-            if (file.exists()) {
-                scan = new Scanner(file);
-                while (scan.hasNext()) {
-                    String line = scan.nextLine();
-                    // find the line in the file where the html begins
-                    // (should be the first line)
-                    if (line.toLowerCase().contains("<html>")) {
-                        // start outputting the table to a string
-                        output = true;
-                    }
-
-                    if (output) {
-                        // Implicitly set the font to black on the
-                        // Cucumber report
-                        if (line.toLowerCase()
-                                .contains("tr.even { background: #ffffff; }")) {
-                            line = line
-                                    .toLowerCase()
-                                    .replace("tr.even { "
-                                                    + "background: "
-                                                    + "#ffffff; }",
-                                            "tr.even { background: "
-                                                    + "#ffffff; color: "
-                                                    + "#000000; }");
-                        }
-                        if (line.toLowerCase()
-                                .contains("tr.odd { background: #eaeaea; }")) {
-                            line = line
-                                    .toLowerCase()
-                                    .replace("tr.odd { "
-                                                    + "background: #eaeaea; }",
-                                            "tr"
-                                                    + ".odd { background: "
-                                                    + "#eaeaea; color: "
-                                                    + "#000000; }");
-                        }
-                        // add every line of the table until we reach the
-                        // end of the file
-                        outputString.append(line);
-                        if (line.toLowerCase().contains("</html>")) {
-                            // stop outputting the table to a string
-                            output = false;
-                        }
-                    }
+                // log the window size the scenario failed at into the table
+                if (null != failure.getWindowSize()) {
+                    log.append(DATA_ROW, "Window Size :", failure.getWindowSize());
                 }
 
+                // write the artifacts to the reports in the background
+                failure.writeTo(Paths.get(System.getProperty("user.dir"),
+                        "_reports", "failures",
+                        featureName + "_" + scenario.getId()));
+
+                // indicate that a screenshot was captured in the
+                // standard output
+                info("The Scenario : " + scenario.getName()
+                        + " has failed. A screenshot was attempted "
+                        + "and if successful, was embedded in the Cucumber "
+                        + "Report.");
+            } else {
+                consoleEntries = readConsoleLogs();
+            }
+        } finally {
+            // hand the driver back, a pooled session is reset for the next
+            // scenario and any other session is quit, even when the report
+            // could not be prepared, so the pool lease is never lost. A
+            // session still running a capture command is quit instead
+            if (null != failure && !failure.isComplete()) {
+                RemoteWebDriverFactory.discardDriver();
             } else {
-                warn("The path : [" + path + "] does not exist. The logs "
-                        + "will not be added to the report for this test.");
+                RemoteWebDriverFactory.releaseDriver();
             }
-        } catch (FileNotFoundException e) {
-            error("File Not Found Exception thrown while reading"
-                            + " log file [" + path + "] to memory.", e);
         }
 
+        String consoleLogs = renderConsoleLogs(consoleEntries);
+
+        // The test has ended
+        LocalTime testStopTime = LocalTime.now();
+
+        // Log the test times to the HTML table for the html report
+        logMetaDataToReport(log, testStartTime, testStopTime, width, height);
+
         // Attach the framework log to the scenario log for the html report
-        log += "</br><span>" + outputString + "</span>";
+        log.raw("</br><span>");
+        ScenarioLogBuffer.drain(MDC.get(ScenarioLogBuffer.KEY), log);
+        log.raw("</span>");
+        // nothing logged on this thread belongs to the scenario any more
+        MDC.remove(ScenarioLogBuffer.KEY);
         // output the scenario logs to the logger
-        scenario.log(log);
+        scenario.log(log.build());
         scenario.log(consoleLogs);
     }
 
@@ -317,82 +334,91 @@ public class SystemEnvironment {
      * tests browser.
      */
     public String captureConsoleLogs() {
+        return renderConsoleLogs(readConsoleLogs());
+    }
+
+    /**
+     * Read the Console Logs of the current tests browser.
+     * @return The console log entries.
+     */
+    private List<LogEntry> readConsoleLogs() {
         assert (null != driver);
         LogEntries logs;
         logs = driver.manage().logs().get(LogType.BROWSER);
-        StringBuilder compiledConsoleLogs = new StringBuilder();
-        info("Size of log entries : " + logs.getAll().size());
+        return logs.getAll();
+    }
+
+    /**
+     * Render Console Logs for the HTML report.
+     * @param entries The console log entries, null if they could not be
+     * read.
+     * @return A {@link String } containing the console logs as an HTML list.
+     */
+    private static String renderConsoleLogs(final List<LogEntry> entries) {
+        List<LogEntry> logs = null == entries ? List.of() : entries;
+        info("Size of log entries : {}", logs.size());
 
-        compiledConsoleLogs
-                .append("<h2>Browser Console Logs</h2></br><span><ul>");
+        ReportFragment compiledConsoleLogs = ReportFragment.open()
+                .raw("<h2>Browser Console Logs</h2></br><span><ul>");
 
-        if (logs.getAll().isEmpty()) {
-            compiledConsoleLogs.append("<p>There were no browser console "
+        if (logs.isEmpty()) {
+            compiledConsoleLogs.raw("<p>There were no browser console "
                     + "logs to add</p>");
         }
 
-        for (LogEntry logEntry : logs.getAll()) {
-            info(new Date(logEntry.getTimestamp()) + " " + logEntry.getLevel() + " "
-                    + logEntry.getMessage());
-            String openingListItemTag = "<li";
-
-            if (logEntry.toString().contains("[SEVERE]")) {
-                openingListItemTag += " style=\"color: " + TestConstants.RED
-                        + "\">";
-            } else if (logEntry.toString().contains("[WARNING]")) {
-                openingListItemTag += " style=\"color: " + TestConstants.ORANGE
-                        + "\">";
-            } else if (logEntry.toString().contains("[FINE]")) {
-                openingListItemTag += " style=\"color: " + TestConstants.GREEN
-                        + "\">";
-            } else if (logEntry.toString().contains("[INFO]")) {
-                openingListItemTag += " style=\"color: " + TestConstants.BLUE
-                        + "\">";
+        for (LogEntry logEntry : logs) {
+            Date timestamp = new Date(logEntry.getTimestamp());
+            info("{} {} {}", timestamp, logEntry.getLevel(), logEntry.getMessage());
+            String colour = colourOf(logEntry.getLevel());
+            if (null == colour) {
+                compiledConsoleLogs.append(PLAIN_CONSOLE_ENTRY, timestamp,
+                        logEntry.getLevel(), logEntry.getMessage());
+            } else {
+                compiledConsoleLogs.append(CONSOLE_ENTRY, colour, timestamp,
+                        logEntry.getLevel(), logEntry.getMessage());
             }
-
-            compiledConsoleLogs.append(openingListItemTag)
-                    .append("<p>")
-                    .append(new Date(logEntry.getTimestamp()))
-                    .append(" ")
-                    .append(logEntry.getLevel())
-                    .append(" ")
-                    .append(logEntry.getMessage())
-                    .append("</p>")
-                    .append("</li>");
         }
 
-        compiledConsoleLogs.append("</ul></span>");
+        return compiledConsoleLogs.raw("</ul></span>").build();
+    }
 
-        return compiledConsoleLogs.toString();
+    /**
+     * Retrieve the colour a browser console entry is shown in.
+     * @param level The level of the entry.
+     * @return The colour, or null for a level without one.
+     */
+    private static String colourOf(final Level level) {
+        if (Level.SEVERE.equals(level)) {
+            return TestConstants.RED;
+        } else if (Level.WARNING.equals(level)) {
+            return TestConstants.ORANGE;
+        } else if (Level.FINE.equals(level)) {
+            return TestConstants.GREEN;
+        } else if (Level.INFO.equals(level)) {
+            return TestConstants.BLUE;
+        }
+        return null;
     }
 
     /**
      * Logs the provided metadata to the HTML report.
+     * @param report The fragment of the report to write to.
      * @param testStart The start time of this scenario.
      * @param testStop The stop time of this scenario.
      * @param viewportWidth The viewportWidth of the browser/device viewport.
      * @param viewportHeight The viewportHeight of the browser/device viewport.
-     * @return A {@link String } containing the formatted metadata ready for
-     * embedding in the report.
-     */
-    private String logMetaDataToReport(final LocalTime testStart,
-                                       final LocalTime testStop,
-                                       final int viewportWidth,
-                                       final int viewportHeight) {
-        return "<tr><th><b>Test Times</b></th></tr>"
-                + "<tr><td>Start Time :</td><td>"
-                + testStart
-                + "</td></tr>"
-                + "<tr><td>Stop  Time :</td><td>"
-                + testStop
-                + "</td></tr>"
-                + "<tr><th><b>Browser Dimensions</b></th></tr>"
-                + "<tr><td>Width :</td><td>"
-                + viewportWidth
-                + "</td></tr>"
-                + "<tr><td>Height :</td><td>"
-                + viewportHeight
-                + "</td></tr>"
-                + "</tbody></table></span>";
+     */
+    private static void logMetaDataToReport(final ReportFragment report,
+                                            final LocalTime testStart,
+                                            final LocalTime testStop,
+                                            final int viewportWidth,
+                                            final int viewportHeight) {
+        report.append(HEADING_ROW, "Test Times")
+                .append(DATA_ROW, "Start Time :", testStart)
+                .append(DATA_ROW, "Stop  Time :", testStop)
+                .append(HEADING_ROW, "Browser Dimensions")
+                .append(DATA_ROW, "Width :", viewportWidth)
+                .append(DATA_ROW, "Height :", viewportHeight)
+                .raw("</tbody></table></span>");
     }
 }
@@ -0,0 +1,156 @@
+package com.sauceLab.parallel.suite_glue;
+
+import com.sauceLab.utilities.GridConcurrencyController;
+import com.sauceLab.utilities.RemoteWebDriverFactory;
+import io.cucumber.testng.CucumberPropertiesProvider;
+import io.cucumber.testng.PickleWrapper;
+import io.cucumber.testng.TestNGCucumberRunner;
+import org.slf4j.MDC;
+import org.testng.ITestContext;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.sauceLab.utilities.TestConstants.VIRTUAL_THREAD_MAX_SCENARIOS;
+import static com.sauceLab.utilities.TestLogger.info;
+import static org.testng.Assert.fail;
+
+/**
+ * An alternative to {@link io.cucumber.testng.AbstractTestNGCucumberTests}
+ * that runs every scenario on its own virtual thread instead of on the
+ * data provider's thread pool. A scenario spends nearly all of its time
+ * waiting on the Grid, so a virtual thread is parked rather than holding
+ * a platform thread, and the number of scenarios in flight is bounded
+ * only by VIRTUAL_THREAD_MAX_SCENARIOS and the Grid concurrency
+ * controller instead of by a thread count.
+ */
+public abstract class AbstractVirtualThreadCucumberTests {
+
+	/**
+	 * Runs the scenarios of the runner's {@link io.cucumber.testng.CucumberOptions}.
+	 */
+	private TestNGCucumberRunner testNGCucumberRunner;
+
+	/**
+	 * Create the Cucumber runner for this class, reading Cucumber
+	 * properties from the parameters of the current TestNG test.
+	 * @param context The TestNG context.
+	 */
+	@BeforeClass(alwaysRun = true)
+	public void setUpClass(final ITestContext context) {
+		XmlTest currentXmlTest = context.getCurrentXmlTest();
+		CucumberPropertiesProvider properties = currentXmlTest::getParameter;
+		testNGCucumberRunner = new TestNGCucumberRunner(this.getClass(),
+				properties);
+	}
+
+	/**
+	 * Run every scenario on a virtual thread and wait for all of them.
+	 * The Cucumber reports hold the result of each scenario; this test
+	 * fails if any of them failed.
+	 */
+	@Test(groups = "cucumber",
+			description = "Runs Cucumber Scenarios on virtual threads")
+	public void runScenarios() {
+		Object[][] scenarios = testNGCucumberRunner.provideScenarios();
+		RemoteWebDriverFactory.setScenarioCount(scenarios.length);
+
+		Semaphore inFlight = VIRTUAL_THREAD_MAX_SCENARIOS > 0
+				? new Semaphore(VIRTUAL_THREAD_MAX_SCENARIOS)
+				: null;
+		AtomicInteger skipped = new AtomicInteger();
+		List<Future<?>> results = new ArrayList<>(scenarios.length);
+		List<String> failures = new ArrayList<>();
+
+		info("Running [" + scenarios.length + "] scenarios on virtual threads");
+
+		try (ExecutorService executor = Executors.newThreadPerTaskExecutor(
+				Thread.ofVirtual().name("scenario-", 0).factory())) {
+			for (Object[] scenario : scenarios) {
+				PickleWrapper pickle = (PickleWrapper) scenario[0];
+				results.add(executor.submit(() -> {
+					runScenario(pickle, inFlight, skipped);
+					return null;
+				}));
+			}
+
+			for (int i = 0; i < results.size(); i++) {
+				try {
+					results.get(i).get();
+				} catch (ExecutionException e) {
+					failures.add(((PickleWrapper) scenarios[i][0])
+							.getPickle().getName() + " : " + e.getCause());
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					failures.add("Interrupted while waiting for the scenarios");
+					break;
+				}
+			}
+		}
+
+		info("Virtual thread run finished. Scenarios : [" + scenarios.length
+				+ "] Failed : [" + failures.size()
+				+ "] Skipped : [" + skipped.get() + "]");
+
+		if (!failures.isEmpty()) {
+			fail(failures.size() + " of " + scenarios.length
+					+ " scenarios failed :\n" + String.join("\n", failures));
+		}
+	}
+
+	/**
+	 * Run a single scenario on the current virtual thread. The
+	 * WebDriver and the logging MDC are held in thread locals, so they are
+	 * cleared before the scenario starts and after it ends: the thread is
+	 * not reused, but anything left behind would keep the session and the
+	 * log context alive until the thread object is collected.
+	 * @param pickle The scenario.
+	 * @param inFlight Bounds the number of running scenarios, or null.
+	 * @param skipped Counts the skipped scenarios.
+	 */
+	private void runScenario(final PickleWrapper pickle,
+							 final Semaphore inFlight,
+							 final AtomicInteger skipped)
+			throws InterruptedException {
+		if (null != inFlight) {
+			inFlight.acquire();
+		}
+		GridConcurrencyController.acquire();
+		MDC.clear();
+		try {
+			testNGCucumberRunner.runScenario(pickle.getPickle());
+		} catch (SkipException e) {
+			skipped.incrementAndGet();
+		} finally {
+			// a no-op unless the scenario's hooks failed to hand it back
+			RemoteWebDriverFactory.releaseDriver();
+			MDC.clear();
+			GridConcurrencyController.release();
+			if (null != inFlight) {
+				inFlight.release();
+			}
+		}
+	}
+
+	/**
+	 * Finish the Cucumber run so the reports are written.
+	 */
+	@AfterClass(alwaysRun = true)
+	public void tearDownClass() {
+		if (null == testNGCucumberRunner) {
+			return;
+		}
+		testNGCucumberRunner.finish();
+	}
+}
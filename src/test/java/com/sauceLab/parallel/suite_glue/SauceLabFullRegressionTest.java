@@ -1,27 +1,25 @@
 package com.sauceLab.parallel.suite_glue;
 
-import com.sauceLab.utilities.ProductURLs;
-import com.sauceLab.utilities.*;
+import com.sauceLab.utilities.GridConcurrencyController;
+import com.sauceLab.utilities.RemoteWebDriverFactory;
 import io.cucumber.testng.AbstractTestNGCucumberTests;
 import io.cucumber.testng.CucumberOptions;
+import io.cucumber.testng.FeatureWrapper;
+import io.cucumber.testng.PickleWrapper;
+import org.testng.ITestContext;
 import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeSuite;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Parameters;
+import org.testng.annotations.Test;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-
-import static com.sauceLab.utilities.TestConstants.*;
-import static com.sauceLab.utilities.TestLogger.info;
 
 @CucumberOptions(
 		plugin = {"html:_reports/full_regression/full_regression-html-report.html",
 				"json:_reports/full_regression/full_regression.json",
+				"com.sauceLab.utilities.WaitProfilerPlugin",
+				"com.sauceLab.utilities.StepLatencyPlugin:_reports/full_regression/step-latency.json",
 				"pretty"},
 		glue = {"com.sauceLab.parallel"},
 		features = {"src/test/resources/TestCases"},
@@ -30,6 +28,11 @@ import static com.sauceLab.utilities.TestLogger.info;
 
 public class SauceLabFullRegressionTest extends AbstractTestNGCucumberTests {
 
+	/**
+	 * The name of this suite, also the name of its report folder.
+	 */
+	private static final String SUITE_NAME = "full_regression";
+
     private String clientName = null;
 	private String browserName = null;
 
@@ -38,6 +41,7 @@ public class SauceLabFullRegressionTest extends AbstractTestNGCucumberTests {
      * must be set prior to execution, are set in this method.
      * @param browser The name of the browser.
      * @param client The name of the client.
+     * @param context The TestNG context of this suite.
      */
     @Parameters({
             "BROWSER",
@@ -45,27 +49,20 @@ public class SauceLabFullRegressionTest extends AbstractTestNGCucumberTests {
 	@BeforeSuite
 	private void setVariablesForTest(
             final String browser,
-			final String client) {
+			final String client,
+			final ITestContext context) {
 
 		this.clientName = client;
 		this.browserName = browser;
-		// set the browser for this set of tests
-		info("I am setting the browser for this suite of tests");
-
-        String suiteName = "full_regression";
-        RemoteWebDriverFactory.setCapabilities(
-				browser.toLowerCase(),
-                suiteName);
-
-        FrameworkConfig.init(System.getProperty("user.dir")
-                + "/src/test/resources/configuration/FW_Config.properties");
-
-		UserDetailsConfig.init(System.getProperty("user.dir")
-				+ "/client/" + client + "/user.properties");
-
-		// set the url for these tests
-		ProductURLs.setCurrentProductEnvironment(PRODUCT_URL);
 
+		// the data provider threads are the ceiling for the number of
+		// scenarios the Grid concurrency controller lets run at once
+		SuiteLifecycle.setUp(SUITE_NAME,
+				browser,
+				client,
+				context.getSuite()
+						.getXmlSuite()
+						.getDataProviderThreadCount());
 	}
 
     /**
@@ -79,7 +76,28 @@ public class SauceLabFullRegressionTest extends AbstractTestNGCucumberTests {
     @Override
     @DataProvider(parallel = true)
     public Object[][] scenarios() {
-		return super.scenarios();
+		Object[][] scenarios = super.scenarios();
+		RemoteWebDriverFactory.setScenarioCount(scenarios.length);
+		return scenarios;
+	}
+
+    /**
+     * Runs a scenario once the Grid has capacity for it.
+     * @param pickleWrapper The scenario.
+     * @param featureWrapper The feature the scenario belongs to.
+     */
+    @Override
+    @Test(groups = "cucumber",
+			description = "Runs Cucumber Scenarios",
+			dataProvider = "scenarios")
+    public void runScenario(final PickleWrapper pickleWrapper,
+							final FeatureWrapper featureWrapper) {
+		GridConcurrencyController.acquire();
+		try {
+			super.runScenario(pickleWrapper, featureWrapper);
+		} finally {
+			GridConcurrencyController.release();
+		}
 	}
 
     /**
@@ -87,55 +105,6 @@ public class SauceLabFullRegressionTest extends AbstractTestNGCucumberTests {
      */
     @AfterSuite
     private void sendReport() throws IOException {
-		DateTimeFormatter dtf = DateTimeFormatter.ofPattern("MM_dd_uuuu");
-		LocalDateTime localDateTime = LocalDateTime.now();
-
-		String folderPath = System.getProperty("user.dir")
-				+ File.separator  + "_reports";
-		String logsFolderPath = System.getProperty("user.dir")
-				+ File.separator + "_logs";
-
-		String destinationDirectory = System.getProperty("user.dir")
-				+ File.separator + "TestResult"
-				+ File.separator + ProductURLs.getProductName()
-				+ File.separator + dtf.format(localDateTime)
-				+ File.separator + RemoteWebDriverFactory.getBrowser();
-
-		if(SEND_EMAIL) {
-			//Create Zip Folder
-			String zipFilePath = folderPath + ".zip";
-			Path targetDir = Path.of(folderPath);
-			FileSystemConnector.zipDirectory(targetDir,Path.of(zipFilePath));
-
-			//Send Report
-			EmailConnector emailConnector = new EmailConnector();
-
-			String subject = "Execution Report for the client " + this.clientName;
-			String bodyContent = "Please Find Attached Execution Report with" +
-					"\n Browser : " + this.browserName +
-					"\n Time    : " + DateTimeConnector
-					.getTimeStampWithLocaleEnglish();
-
-			File tempFile = new File(zipFilePath);
-
-			emailConnector.sendEmailWithAttachment(EMAIL_TO,subject
-					,bodyContent,tempFile);
-			FileSystemConnector.deleteFile(zipFilePath);
-		}
-
-		// Save Report to TestResult
-		FileSystemConnector.copyFolder(folderPath,
-				destinationDirectory + File.separator
-						+ "_reports");
-		// Save Logs to TestResult
-		FileSystemConnector.copyFolder(logsFolderPath,
-				destinationDirectory + File.separator
-						+ "_logs");
-
-		//Delete old execution report
-		FileSystemConnector.deleteDir(folderPath);
-		FileSystemConnector.deleteDir(logsFolderPath);
-
-
+		SuiteLifecycle.tearDown(SUITE_NAME, this.browserName, this.clientName);
 	}
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.sauceLab.parallel.suite_glue;
+
+import io.cucumber.testng.CucumberOptions;
+import org.testng.annotations.AfterSuite;
+import org.testng.annotations.BeforeSuite;
+import org.testng.annotations.Parameters;
+
+import java.io.IOException;
+
+import static com.sauceLab.utilities.TestConstants.VIRTUAL_THREAD_MAX_SCENARIOS;
+
+@CucumberOptions(
+		plugin = {"html:_reports/full_regression/full_regression-html-report.html",
+				"json:_reports/full_regression/full_regression.json",
+				"com.sauceLab.utilities.WaitProfilerPlugin",
+				"com.sauceLab.utilities.StepLatencyPlugin:_reports/full_regression/step-latency.json",
+				"pretty"},
+		glue = {"com.sauceLab.parallel"},
+		features = {"src/test/resources/TestCases"},
+		tags = "@full_regression"
+)
+
+public class SauceLabVirtualThreadRegressionTest
+		extends AbstractVirtualThreadCucumberTests {
+
+	/**
+	 * The name of this suite, also the name of its report folder.
+	 */
+	private static final String SUITE_NAME = "full_regression";
+
+	private String clientName = null;
+	private String browserName = null;
+
+	/**
+	 * The variables that pertain to the specifications of this test, that
+	 * must be set prior to execution, are set in this method.
+	 * @param browser The name of the browser.
+	 * @param client The name of the client.
+	 */
+	@Parameters({
+			"BROWSER",
+			"CLIENT"})
+	@BeforeSuite
+	private void setVariablesForTest(
+			final String browser,
+			final String client) {
+
+		this.clientName = client;
+		this.browserName = browser;
+
+		SuiteLifecycle.setUp(SUITE_NAME,
+				browser,
+				client,
+				VIRTUAL_THREAD_MAX_SCENARIOS > 0
+						? VIRTUAL_THREAD_MAX_SCENARIOS
+						: Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Finalize and flush the report.
+	 */
+	@AfterSuite
+	private void sendReport() throws IOException {
+		SuiteLifecycle.tearDown(SUITE_NAME, this.browserName, this.clientName);
+	}
+}
@@ -0,0 +1,170 @@
+package com.sauceLab.parallel.suite_glue;
+
+import com.sauceLab.pages.CachingElementLocatorFactory;
+import com.sauceLab.pages.LocatorOptimiser;
+import com.sauceLab.utilities.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static com.sauceLab.utilities.TestConstants.*;
+import static com.sauceLab.utilities.TestLogger.info;
+import static com.sauceLab.utilities.TestLogger.warn;
+
+/**
+ * The set-up and tear-down shared by the suite runners, so that every
+ * runner configures the framework and packages its reports the same way.
+ */
+public final class SuiteLifecycle {
+
+	/**
+	 * There should be no instance of this class.
+	 */
+	private SuiteLifecycle() { }
+
+	/**
+	 * Load the framework and client configuration, set the browser and the
+	 * product URL, and start the Grid concurrency controller.
+	 * @param suiteName The name of the suite, also the report folder.
+	 * @param browser The name of the browser.
+	 * @param client The name of the client.
+	 * @param maxConcurrency The highest number of scenarios that may run
+	 *                       at once.
+	 */
+	public static void setUp(final String suiteName,
+							 final String browser,
+							 final String client,
+							 final int maxConcurrency) {
+		// set the browser for this set of tests
+		info("I am setting the browser for this suite of tests");
+
+		RemoteWebDriverFactory.setCapabilities(
+				browser.toLowerCase(),
+				suiteName);
+
+		FrameworkConfig.init(System.getProperty("user.dir")
+				+ "/src/test/resources/configuration/FW_Config.properties");
+
+		UserDetailsConfig.init(System.getProperty("user.dir")
+				+ "/client/" + client + "/user.properties");
+
+		// set the url for these tests
+		ProductURLs.setCurrentProductEnvironment(PRODUCT_URL);
+
+		// must happen before the first HTTP client is built
+		GridHttpTransport.configure();
+
+		if (COMMAND_TRACE_ENABLED) {
+			CommandTraceRecorder.start(Paths.get(System.getProperty("user.dir"),
+					"_reports", suiteName, "traces"));
+		}
+
+		// let the Grid's capacity decide how many of the runner's
+		// scenarios may run at once, jsoup sessions do not use the Grid
+		if (!JsoupWebDriver.BROWSER_NAME.equals(browser.toLowerCase())) {
+			GridConcurrencyController.start(maxConcurrency);
+		}
+	}
+
+	/**
+	 * Release the remaining sessions, then email (if configured), archive
+	 * and clear the reports and logs of this run.
+	 * @param suiteName The name of the suite, also the report folder.
+	 * @param browser The name of the browser.
+	 * @param client The name of the client.
+	 * @throws IOException If the reports could not be zipped.
+	 */
+	public static void tearDown(final String suiteName,
+								final String browser,
+								final String client) throws IOException {
+		// Quit the warm sessions still held by the session pools
+		RemoteWebDriverFactory.shutdown();
+		GridHttpTransport.shutdown();
+
+		// The artifacts of failed scenarios must be on disk before the
+		// reports are archived
+		FailureCapture.awaitWrites(Duration.ofSeconds(FAILURE_CAPTURE_TIMEOUT));
+
+		WebDriverCommandMetrics.writeReport(Paths.get(System.getProperty("user.dir"),
+				"_reports", suiteName, "command-latency.json"));
+
+		GridConcurrencyController.stop(Paths.get(System.getProperty("user.dir"),
+				"_reports", suiteName, "adaptive-concurrency.csv"));
+
+		SleepSavings.writeReport(Paths.get(System.getProperty("user.dir"),
+				"_reports", suiteName, "sleep-savings.json"));
+
+		WaitProfiler.writeReport(Paths.get(System.getProperty("user.dir"),
+				"_reports", suiteName, "time-lost.json"));
+
+		CachingElementLocatorFactory.writeReport(Paths.get(System.getProperty("user.dir"),
+				"_reports", suiteName, "element-cache.json"));
+
+		LocatorOptimiser.writeReport(Paths.get(System.getProperty("user.dir"),
+				"_reports", suiteName, "locator-latency.json"));
+
+		Path traces = CommandTraceRecorder.stop();
+		if (null != traces) {
+			try {
+				CommandTraceExporter.export(traces, Paths.get(System.getProperty("user.dir"),
+						"_reports", suiteName, "command-trace.json"));
+			} catch (IOException e) {
+				warn("Could not export the command trace : " + e.getMessage());
+			}
+		}
+
+		DateTimeFormatter dtf = DateTimeFormatter.ofPattern("MM_dd_uuuu");
+		LocalDateTime localDateTime = LocalDateTime.now();
+
+		String folderPath = System.getProperty("user.dir")
+				+ File.separator  + "_reports";
+		String logsFolderPath = System.getProperty("user.dir")
+				+ File.separator + "_logs";
+
+		String destinationDirectory = System.getProperty("user.dir")
+				+ File.separator + "TestResult"
+				+ File.separator + ProductURLs.getProductName()
+				+ File.separator + dtf.format(localDateTime)
+				+ File.separator + RemoteWebDriverFactory.getBrowser();
+
+		if(SEND_EMAIL) {
+			//Create Zip Folder
+			String zipFilePath = folderPath + ".zip";
+			Path targetDir = Path.of(folderPath);
+			FileSystemConnector.zipDirectory(targetDir,Path.of(zipFilePath));
+
+			//Send Report
+			EmailConnector emailConnector = new EmailConnector();
+
+			String subject = "Execution Report for the client " + client;
+			String bodyContent = "Please Find Attached Execution Report with" +
+					"\n Browser : " + browser +
+					"\n Time    : " + DateTimeConnector
+					.getTimeStampWithLocaleEnglish();
+
+			File tempFile = new File(zipFilePath);
+
+			emailConnector.sendEmailWithAttachment(EMAIL_TO,subject
+					,bodyContent,tempFile);
+			FileSystemConnector.deleteFile(zipFilePath);
+		}
+
+		// Save Report to TestResult
+		FileSystemConnector.copyFolder(folderPath,
+				destinationDirectory + File.separator
+						+ "_reports");
+		// Save Logs to TestResult
+		FileSystemConnector.copyFolder(logsFolderPath,
+				destinationDirectory + File.separator
+						+ "_logs");
+
+		//Delete old execution report
+		FileSystemConnector.deleteDir(folderPath);
+		FileSystemConnector.deleteDir(logsFolderPath);
+	}
+}
@@ -0,0 +1,185 @@
+package com.sauceLab.utilities;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.sauceLab.utilities.TestLogger.info;
+import static com.sauceLab.utilities.TestLogger.warn;
+
+/**
+ * Turns the files of a {@link CommandTraceRecorder } into one Chrome
+ * trace, which chrome://tracing or https://ui.perfetto.dev opens as a
+ * timeline: a row per worker, a bar per WebDriver call, with the
+ * scenario and arguments of the call in its details. Run at the end of a
+ * suite, or afterwards with
+ * {@code java -cp target/test-classes:<test classpath>
+ * com.sauceLab.utilities.CommandTraceExporter <trace directory> <json>}.
+ */
+public final class CommandTraceExporter {
+
+	/**
+	 * There should be no instance of this class.
+	 */
+	private CommandTraceExporter() { }
+
+	/**
+	 * Export the trace files of the 'directory'.
+	 * @param directory The directory of the .trace files.
+	 * @param json The Chrome trace to write.
+	 * @return The number of calls exported.
+	 * @throws IOException If a file cannot be read or written.
+	 */
+	public static long export(final Path directory, final Path json)
+			throws IOException {
+		List<Path> files = new ArrayList<>();
+		try (DirectoryStream<Path> traces
+					 = Files.newDirectoryStream(directory, "*.trace")) {
+			traces.forEach(files::add);
+		}
+		files.sort(null);
+
+		if (null != json.getParent()) {
+			Files.createDirectories(json.getParent());
+		}
+		long calls = 0;
+		Set<Long> workers = new HashSet<>();
+		try (Writer out = Files.newBufferedWriter(json, StandardCharsets.UTF_8);
+			 JsonWriter writer = new JsonWriter(out)) {
+			writer.beginObject()
+					.name("displayTimeUnit").value("ms")
+					.name("traceEvents").beginArray();
+			for (Path file : files) {
+				calls += exportFile(file, writer, workers);
+			}
+			writer.endArray().endObject();
+		}
+		info("{} WebDriver calls were exported to {}", calls, json);
+		return calls;
+	}
+
+	/**
+	 * Export the segments of one trace file.
+	 * @param file The file.
+	 * @param writer The Chrome trace.
+	 * @param workers The workers named so far.
+	 * @return The number of calls exported.
+	 * @throws IOException If the file cannot be read.
+	 */
+	private static long exportFile(final Path file,
+								   final JsonWriter writer,
+								   final Set<Long> workers) throws IOException {
+		long calls = 0;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+				Files.newInputStream(file), 1 << 16))) {
+			List<String> strings = new ArrayList<>();
+			long baseMicros = 0;
+			long workerId = 0;
+			while (true) {
+				int type;
+				try {
+					type = in.readUnsignedByte();
+				} catch (EOFException e) {
+					break;
+				}
+				if (CommandTraceRecorder.STRING == type) {
+					// the ids of a segment are given in order from 0
+					in.readInt();
+					strings.add(readString(in));
+				} else if (CommandTraceRecorder.COMMAND == type) {
+					long start = in.readLong();
+					long duration = in.readLong();
+					String scenario = strings.get(in.readInt());
+					String command = strings.get(in.readInt());
+					String arguments = strings.get(in.readInt());
+					boolean failed = 1 == in.readByte();
+					writer.beginObject()
+							.name("name").value(command)
+							.name("cat").value(command.substring(0, command.indexOf('.')))
+							.name("ph").value("X")
+							.name("ts").value(baseMicros + start / 1_000.0)
+							.name("dur").value(duration / 1_000.0)
+							.name("pid").value(1)
+							.name("tid").value(workerId)
+							.name("args").beginObject()
+							.name("scenario").value(scenario)
+							.name("arguments").value(arguments)
+							.name("failed").value(failed)
+							.endObject()
+							.endObject();
+					calls++;
+				} else if (CommandTraceRecorder.HEADER == type) {
+					int magic = in.readInt();
+					short version = in.readShort();
+					if (CommandTraceRecorder.MAGIC != magic
+							|| CommandTraceRecorder.VERSION != version) {
+						throw new IOException(file + " is not a version "
+								+ CommandTraceRecorder.VERSION + " command trace");
+					}
+					baseMicros = in.readLong();
+					workerId = in.readLong();
+					String workerName = readString(in);
+					strings.clear();
+					if (workers.add(workerId)) {
+						writer.beginObject()
+								.name("name").value("thread_name")
+								.name("ph").value("M")
+								.name("pid").value(1)
+								.name("tid").value(workerId)
+								.name("args").beginObject()
+								.name("name").value(workerName.isEmpty()
+										? "worker-" + workerId
+										: workerName)
+								.endObject()
+								.endObject();
+					}
+				} else {
+					warn("The command trace {} is corrupt", file);
+					break;
+				}
+			}
+		} catch (EOFException e) {
+			warn("The command trace {} is cut short", file);
+		}
+		return calls;
+	}
+
+	/**
+	 * Read a string of the trace.
+	 * @param in The trace.
+	 * @return The string.
+	 * @throws IOException If the trace cannot be read.
+	 */
+	private static String readString(final DataInputStream in)
+			throws IOException {
+		byte[] bytes = new byte[in.readUnsignedShort()];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Export a trace directory.
+	 * @param args The trace directory and the Chrome trace to write.
+	 * @throws IOException If a file cannot be read or written.
+	 */
+	public static void main(final String[] args) throws IOException {
+		if (args.length != 2) {
+			System.err.println("Usage : CommandTraceExporter <trace directory> <json>");
+			return;
+		}
+		export(Paths.get(args[0]), Paths.get(args[1]));
+	}
+}
@@ -0,0 +1,530 @@
+package com.sauceLab.utilities;
+
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+import org.slf4j.MDC;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.sauceLab.utilities.TestLogger.info;
+import static com.sauceLab.utilities.TestLogger.warn;
+
+/**
+ * Records every call made on the WebDriver handed to the scenarios, with
+ * when it started, how long it took, the scenario and the arguments, into
+ * a binary file per worker. The driver returned by
+ * {@link RemoteWebDriverFactory#getDriver() } is wrapped in an
+ * {@link EventFiringDecorator } with this listener while the trace is
+ * started; the session itself is never wrapped, so it is released, reset
+ * and pooled as before. A worker is a slot of the scenarios running at
+ * the same time: a scenario takes the lowest free worker with its first
+ * call and frees it when it releases the driver, so the runner on
+ * virtual threads, which starts a thread per scenario, still writes as
+ * many files as it runs scenarios at once. Each scenario fills its own
+ * buffer, written to the file of its worker through a FileChannel when
+ * full and when the scenario releases the driver. Calls made outside a
+ * scenario are not traced. {@link CommandTraceExporter } turns the files
+ * into a Chrome trace.
+ *
+ * <p>A file is a sequence of segments, one per scenario of the worker,
+ * made of records that each start with their type byte. A segment starts
+ * with a {@link #HEADER } (the int {@link #MAGIC }, the short
+ * {@link #VERSION }, the long wall clock time in microseconds that the
+ * command times count from, the long id and the name of the worker). A
+ * {@link #STRING } (int id, string) defines a string for the rest of the
+ * segment, and a {@link #COMMAND } (long start and long duration in
+ * nanoseconds, int ids of the scenario, the command and the arguments,
+ * byte 1 if it failed) is one call. Strings are a short length and that
+ * many bytes of UTF-8.</p>
+ */
+public final class CommandTraceRecorder implements WebDriverListener {
+
+	/**
+	 * The first int of every segment header, "CTRC".
+	 */
+	static final int MAGIC = 0x43545243;
+
+	/**
+	 * The version of the format.
+	 */
+	static final short VERSION = 1;
+
+	/**
+	 * The type of the header record of a segment.
+	 */
+	static final byte HEADER = 'H';
+
+	/**
+	 * The type of a string record.
+	 */
+	static final byte STRING = 'S';
+
+	/**
+	 * The type of a command record.
+	 */
+	static final byte COMMAND = 'C';
+
+	/**
+	 * The size of the buffer of each scenario.
+	 */
+	private static final int BUFFER_BYTES = 1 << 15;
+
+	/**
+	 * The most chars of the arguments kept per command.
+	 */
+	private static final int ARGUMENT_CHARS = 256;
+
+	/**
+	 * The System.nanoTime() the command times count from.
+	 */
+	private static final long BASE_NANOS = System.nanoTime();
+
+	/**
+	 * The wall clock time of {@link #BASE_NANOS }, in microseconds.
+	 */
+	private static final long BASE_EPOCH_MICROS
+			= System.currentTimeMillis() * 1_000;
+
+	/**
+	 * The listener all the traced drivers share.
+	 */
+	private static final CommandTraceRecorder LISTENER
+			= new CommandTraceRecorder();
+
+	/**
+	 * The segment of the scenario running on each thread.
+	 */
+	private static final ThreadLocal<Segment> SEGMENT = new ThreadLocal<>();
+
+	/**
+	 * The workers taken by the running scenarios.
+	 */
+	private static final BitSet WORKERS = new BitSet();
+
+	/**
+	 * The segments not written out yet.
+	 */
+	private static final Set<Segment> OPEN_SEGMENTS
+			= ConcurrentHashMap.newKeySet();
+
+	/**
+	 * The directory of the trace files, null when not tracing.
+	 */
+	private static volatile Path directory;
+
+	/**
+	 * There should be no other instance of this class.
+	 */
+	private CommandTraceRecorder() { }
+
+	/**
+	 * Start tracing the drivers handed out from now on.
+	 * @param traceDirectory Where to write the trace files.
+	 */
+	public static void start(final Path traceDirectory) {
+		try {
+			Files.createDirectories(traceDirectory);
+			directory = traceDirectory;
+			info("Tracing the WebDriver commands to {}", traceDirectory);
+		} catch (IOException e) {
+			warn("Could not create the command trace directory : "
+					+ e.getMessage());
+		}
+	}
+
+	/**
+	 * Wrap the 'driver' so its calls are traced, if the trace is started.
+	 * @param driver The driver.
+	 * @return The traced driver, or the 'driver' itself.
+	 */
+	public static WebDriver trace(final WebDriver driver) {
+		if (null == directory || null == driver) {
+			return driver;
+		}
+		return new EventFiringDecorator<>(LISTENER).decorate(driver);
+	}
+
+	/**
+	 * Write out the commands of the scenario of this thread.
+	 */
+	public static void endScenario() {
+		Segment segment = SEGMENT.get();
+		if (null != segment) {
+			SEGMENT.remove();
+			OPEN_SEGMENTS.remove(segment);
+			segment.flush();
+			synchronized (WORKERS) {
+				WORKERS.clear((int) segment.worker);
+			}
+		}
+	}
+
+	/**
+	 * Write out the commands still buffered and stop tracing.
+	 * @return The directory of the trace files, or null if the trace was
+	 * not started.
+	 */
+	public static Path stop() {
+		Path traceDirectory = directory;
+		directory = null;
+		for (Segment segment : OPEN_SEGMENTS) {
+			segment.flush();
+		}
+		OPEN_SEGMENTS.clear();
+		synchronized (WORKERS) {
+			WORKERS.clear();
+		}
+		return traceDirectory;
+	}
+
+	/**
+	 * Note when a call starts.
+	 * @param target The driver, element, navigation, ... called.
+	 * @param method The method.
+	 * @param args The arguments.
+	 */
+	@Override
+	public void beforeAnyCall(final Object target,
+							  final Method method,
+							  final Object[] args) {
+		Segment segment = segment();
+		if (null != segment && isCommand(method)) {
+			segment.push(System.nanoTime());
+		}
+	}
+
+	/**
+	 * Record a call that returned.
+	 * @param target The driver, element, navigation, ... called.
+	 * @param method The method.
+	 * @param args The arguments.
+	 * @param result What it returned.
+	 */
+	@Override
+	public void afterAnyCall(final Object target,
+							 final Method method,
+							 final Object[] args,
+							 final Object result) {
+		record(target, method, args, false);
+	}
+
+	/**
+	 * Record a call that threw.
+	 * @param target The driver, element, navigation, ... called.
+	 * @param method The method.
+	 * @param args The arguments.
+	 * @param e What it threw.
+	 */
+	@Override
+	public void onError(final Object target,
+						final Method method,
+						final Object[] args,
+						final InvocationTargetException e) {
+		record(target, method, args, true);
+	}
+
+	/**
+	 * Record a call that ended now.
+	 * @param target The driver, element, navigation, ... called.
+	 * @param method The method.
+	 * @param args The arguments.
+	 * @param failed Whether it threw.
+	 */
+	private static void record(final Object target,
+							   final Method method,
+							   final Object[] args,
+							   final boolean failed) {
+		Segment segment = SEGMENT.get();
+		if (null == segment || !isCommand(method) || !segment.started()) {
+			return;
+		}
+		long end = System.nanoTime();
+		long start = segment.pop();
+		String scenario = MDC.get(ScenarioLogBuffer.KEY);
+		segment.command(start - BASE_NANOS, end - start,
+				null == scenario ? "" : scenario,
+				typeOf(target) + "." + method.getName(),
+				describe(method, args),
+				failed);
+	}
+
+	/**
+	 * Whether a method is a call worth tracing, not one of Object's.
+	 * @param method The method.
+	 * @return True if it is traced.
+	 */
+	private static boolean isCommand(final Method method) {
+		return Object.class != method.getDeclaringClass();
+	}
+
+	/**
+	 * Retrieve the segment of the scenario of this thread, starting it on
+	 * the lowest free worker if needed.
+	 * @return The segment, or null when not tracing or not in a scenario.
+	 */
+	private static Segment segment() {
+		Segment segment = SEGMENT.get();
+		Path traceDirectory = directory;
+		if (null == segment && null != traceDirectory
+				&& null != MDC.get(ScenarioLogBuffer.KEY)) {
+			int worker;
+			synchronized (WORKERS) {
+				worker = WORKERS.nextClearBit(0);
+				WORKERS.set(worker);
+			}
+			segment = new Segment(traceDirectory.resolve(
+					"worker-" + worker + ".trace"),
+					worker, "worker-" + worker);
+			SEGMENT.set(segment);
+			OPEN_SEGMENTS.add(segment);
+		}
+		return segment;
+	}
+
+	/**
+	 * The kind of object called.
+	 * @param target The object.
+	 * @return WebDriver, WebElement, Navigation, ...
+	 */
+	private static String typeOf(final Object target) {
+		if (target instanceof WebElement) {
+			return "WebElement";
+		} else if (target instanceof WebDriver) {
+			return "WebDriver";
+		} else if (target instanceof WebDriver.Navigation) {
+			return "Navigation";
+		} else if (target instanceof WebDriver.Options) {
+			return "Options";
+		} else if (target instanceof WebDriver.Window) {
+			return "Window";
+		} else if (target instanceof WebDriver.Timeouts) {
+			return "Timeouts";
+		} else if (target instanceof WebDriver.TargetLocator) {
+			return "TargetLocator";
+		} else if (target instanceof Alert) {
+			return "Alert";
+		}
+		return target.getClass().getSimpleName();
+	}
+
+	/**
+	 * The arguments of a call, cut to {@link #ARGUMENT_CHARS }. The keys
+	 * typed by sendKeys (passwords among them) are not kept, only how many
+	 * characters were typed.
+	 * @param method The method called.
+	 * @param args The arguments, or null.
+	 * @return The description.
+	 */
+	private static String describe(final Method method, final Object[] args) {
+		if (null == args || 0 == args.length) {
+			return "";
+		}
+		if ("sendKeys".equals(method.getName())) {
+			return "[" + typedChars(args) + " chars]";
+		}
+		String arguments = Arrays.deepToString(args);
+		return arguments.length() > ARGUMENT_CHARS
+				? arguments.substring(0, ARGUMENT_CHARS) + "..."
+				: arguments;
+	}
+
+	/**
+	 * Count the characters in the arguments of a sendKeys call.
+	 * @param args The arguments, keys or arrays of keys.
+	 * @return The number of characters typed.
+	 */
+	private static int typedChars(final Object[] args) {
+		int chars = 0;
+		for (Object arg : args) {
+			if (arg instanceof CharSequence) {
+				chars += ((CharSequence) arg).length();
+			} else if (arg instanceof Object[]) {
+				chars += typedChars((Object[]) arg);
+			}
+		}
+		return chars;
+	}
+
+	/**
+	 * The commands of one scenario, appended to the file of its worker.
+	 */
+	private static final class Segment {
+
+		/**
+		 * The file of the worker.
+		 */
+		private final Path file;
+
+		/**
+		 * The worker of the scenario.
+		 */
+		private final long worker;
+
+		/**
+		 * The records not written yet.
+		 */
+		private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+
+		/**
+		 * The id of each string defined in this segment.
+		 */
+		private final Map<String, Integer> strings = new HashMap<>();
+
+		/**
+		 * The start times of the calls in progress, nested calls last.
+		 */
+		private long[] starts = new long[8];
+
+		/**
+		 * The number of calls in progress.
+		 */
+		private int depth;
+
+		/**
+		 * Start the segment with its header.
+		 * @param traceFile The file of the worker.
+		 * @param workerId The id of the worker.
+		 * @param workerName The name of the worker.
+		 */
+		private Segment(final Path traceFile,
+						final long workerId,
+						final String workerName) {
+			this.file = traceFile;
+			this.worker = workerId;
+			buffer.put(HEADER)
+					.putInt(MAGIC)
+					.putShort(VERSION)
+					.putLong(BASE_EPOCH_MICROS)
+					.putLong(workerId);
+			putString(workerName);
+		}
+
+		/**
+		 * Note the start of a call.
+		 * @param start Its System.nanoTime().
+		 */
+		private void push(final long start) {
+			if (depth == starts.length) {
+				starts = Arrays.copyOf(starts, depth * 2);
+			}
+			starts[depth++] = start;
+		}
+
+		/**
+		 * Whether a call is in progress.
+		 * @return True if one is.
+		 */
+		private boolean started() {
+			return depth > 0;
+		}
+
+		/**
+		 * Take the start of the innermost call in progress.
+		 * @return Its System.nanoTime().
+		 */
+		private long pop() {
+			return starts[--depth];
+		}
+
+		/**
+		 * Append a command record.
+		 * @param start The start, in nanoseconds since the base.
+		 * @param duration The duration in nanoseconds.
+		 * @param scenario The scenario.
+		 * @param command The command.
+		 * @param arguments The arguments.
+		 * @param failed Whether it threw.
+		 */
+		private synchronized void command(final long start,
+										  final long duration,
+										  final String scenario,
+										  final String command,
+										  final String arguments,
+										  final boolean failed) {
+			int scenarioId = intern(scenario);
+			int commandId = intern(command);
+			int argumentsId = intern(arguments);
+			reserve(Byte.BYTES + 2 * Long.BYTES + 3 * Integer.BYTES + Byte.BYTES);
+			buffer.put(COMMAND)
+					.putLong(start)
+					.putLong(duration)
+					.putInt(scenarioId)
+					.putInt(commandId)
+					.putInt(argumentsId)
+					.put((byte) (failed ? 1 : 0));
+		}
+
+		/**
+		 * Retrieve the id of a string, defining it if it is new.
+		 * @param value The string.
+		 * @return Its id.
+		 */
+		private int intern(final String value) {
+			Integer id = strings.get(value);
+			if (null == id) {
+				id = strings.size();
+				strings.put(value, id);
+				byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+				reserve(Byte.BYTES + Integer.BYTES + Short.BYTES + bytes.length);
+				buffer.put(STRING).putInt(id);
+				buffer.putShort((short) bytes.length).put(bytes);
+			}
+			return id;
+		}
+
+		/**
+		 * Append a string.
+		 * @param value The string.
+		 */
+		private void putString(final String value) {
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			buffer.putShort((short) bytes.length).put(bytes);
+		}
+
+		/**
+		 * Make room in the buffer for a record.
+		 * @param bytes The size of the record.
+		 */
+		private void reserve(final int bytes) {
+			if (buffer.remaining() < bytes) {
+				flush();
+			}
+		}
+
+		/**
+		 * Append the buffered records to the file of the worker.
+		 */
+		private synchronized void flush() {
+			buffer.flip();
+			try (FileChannel channel = FileChannel.open(file,
+					StandardOpenOption.CREATE,
+					StandardOpenOption.WRITE,
+					StandardOpenOption.APPEND)) {
+				while (buffer.hasRemaining()) {
+					channel.write(buffer);
+				}
+			} catch (IOException e) {
+				warn("Could not write the command trace " + file
+						+ " : " + e.getMessage());
+			}
+			buffer.clear();
+		}
+	}
+}
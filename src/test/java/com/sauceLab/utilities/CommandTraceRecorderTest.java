@@ -0,0 +1,215 @@
+package com.sauceLab.utilities;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Keys;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.slf4j.MDC;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Unit tests for writing a trace with {@link CommandTraceRecorder } and
+ * reading it back with {@link CommandTraceExporter }.
+ */
+public class CommandTraceRecorderTest {
+
+	/**
+	 * The directory of the trace files.
+	 */
+	private Path directory;
+
+	/**
+	 * Start a trace in a new directory.
+	 * @throws IOException If the directory cannot be created.
+	 */
+	@BeforeMethod
+	public void setUp() throws IOException {
+		directory = Files.createTempDirectory("command-trace");
+		CommandTraceRecorder.start(directory);
+	}
+
+	/**
+	 * Stop the trace, forget the scenario and delete the trace files.
+	 * @throws IOException If a file cannot be deleted.
+	 */
+	@AfterMethod
+	public void tearDown() throws IOException {
+		MDC.remove(ScenarioLogBuffer.KEY);
+		CommandTraceRecorder.stop();
+		try (Stream<Path> files = Files.walk(directory)) {
+			for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+				Files.delete(file);
+			}
+		}
+	}
+
+	/**
+	 * Every call of a scenario is exported with its scenario, arguments and
+	 * outcome, on the row of its worker.
+	 * @throws IOException If the trace cannot be read or written.
+	 */
+	@Test
+	public void exportsTheCallsOfEachScenario() throws IOException {
+		WebDriver driver = CommandTraceRecorder.trace(stubDriver());
+
+		MDC.put(ScenarioLogBuffer.KEY, "TEST-0001_chrome");
+		driver.getCurrentUrl();
+		try {
+			driver.findElement(By.id("missing"));
+			fail("The stub should not find the element");
+		} catch (NoSuchElementException e) {
+			// recorded as a failed call
+		}
+		CommandTraceRecorder.endScenario();
+
+		MDC.put(ScenarioLogBuffer.KEY, "TEST-0002_chrome");
+		driver.getTitle();
+		driver.findElement(By.id("password")).sendKeys("secret_sauce", Keys.ENTER);
+		CommandTraceRecorder.endScenario();
+		CommandTraceRecorder.stop();
+
+		// the scenarios ran one after the other, so on the same worker
+		try (Stream<Path> files = Files.list(directory)) {
+			assertEquals(files
+					.map(file -> file.getFileName().toString())
+					.toList(), List.of("worker-0.trace"));
+		}
+
+		Path json = directory.resolve("command-trace.json");
+		assertEquals(CommandTraceExporter.export(directory, json), 5);
+
+		List<JsonObject> calls = new ArrayList<>();
+		List<JsonObject> names = new ArrayList<>();
+		JsonArray events = JsonParser.parseString(Files.readString(json))
+				.getAsJsonObject()
+				.getAsJsonArray("traceEvents");
+		for (JsonElement event : events) {
+			JsonObject object = event.getAsJsonObject();
+			("X".equals(object.get("ph").getAsString()) ? calls : names).add(object);
+		}
+
+		assertEquals(names.size(), 1);
+		assertEquals(names.get(0).getAsJsonObject("args")
+				.get("name").getAsString(), "worker-0");
+
+		assertEquals(calls.size(), 5);
+		assertCall(calls.get(0), 0, "WebDriver.getCurrentUrl",
+				"TEST-0001_chrome", "", false);
+		assertCall(calls.get(1), 0, "WebDriver.findElement",
+				"TEST-0001_chrome", "[By.id: missing]", true);
+		assertCall(calls.get(2), 0, "WebDriver.getTitle",
+				"TEST-0002_chrome", "", false);
+		assertCall(calls.get(3), 0, "WebDriver.findElement",
+				"TEST-0002_chrome", "[By.id: password]", false);
+		// the password is not in the trace, only its length
+		assertCall(calls.get(4), 0, "WebElement.sendKeys",
+				"TEST-0002_chrome", "[13 chars]", false);
+		assertTrue(calls.get(1).get("ts").getAsDouble()
+				>= calls.get(0).get("ts").getAsDouble());
+	}
+
+	/**
+	 * Calls made outside a scenario are not traced.
+	 * @throws IOException If the trace cannot be read or written.
+	 */
+	@Test
+	public void ignoresCallsOutsideAScenario() throws IOException {
+		WebDriver driver = CommandTraceRecorder.trace(stubDriver());
+
+		driver.getCurrentUrl();
+		CommandTraceRecorder.endScenario();
+		CommandTraceRecorder.stop();
+
+		try (Stream<Path> files = Files.list(directory)) {
+			assertFalse(files.findAny().isPresent());
+		}
+		assertEquals(CommandTraceExporter.export(directory,
+				directory.resolve("command-trace.json")), 0);
+	}
+
+	/**
+	 * Check an exported call.
+	 * @param call The event of the call.
+	 * @param row The row of the call.
+	 * @param name The command.
+	 * @param scenario The scenario.
+	 * @param arguments The arguments.
+	 * @param failed Whether it threw.
+	 */
+	private static void assertCall(final JsonObject call,
+								   final long row,
+								   final String name,
+								   final String scenario,
+								   final String arguments,
+								   final boolean failed) {
+		JsonObject args = call.getAsJsonObject("args");
+		assertEquals(call.get("name").getAsString(), name);
+		assertEquals(call.get("tid").getAsLong(), row);
+		assertTrue(call.get("dur").getAsDouble() >= 0);
+		assertEquals(args.get("scenario").getAsString(), scenario);
+		assertEquals(args.get("arguments").getAsString(), arguments);
+		assertEquals(args.get("failed").getAsBoolean(), failed);
+	}
+
+	/**
+	 * A driver that answers without a browser and finds only the password
+	 * field.
+	 * @return The driver.
+	 */
+	private static WebDriver stubDriver() {
+		return (WebDriver) Proxy.newProxyInstance(
+				WebDriver.class.getClassLoader(),
+				new Class<?>[] {WebDriver.class},
+				(proxy, method, args) -> switch (method.getName()) {
+					case "getCurrentUrl" -> "https://www.saucedemo.com/";
+					case "getTitle" -> "Swag Labs";
+					case "findElement" -> {
+						if (By.id("password").equals(args[0])) {
+							yield stubElement();
+						}
+						throw new NoSuchElementException("No element at " + args[0]);
+					}
+					case "hashCode" -> System.identityHashCode(proxy);
+					case "equals" -> proxy == args[0];
+					case "toString" -> "StubDriver";
+					default -> null;
+				});
+	}
+
+	/**
+	 * An element that accepts any keys.
+	 * @return The element.
+	 */
+	private static WebElement stubElement() {
+		return (WebElement) Proxy.newProxyInstance(
+				WebElement.class.getClassLoader(),
+				new Class<?>[] {WebElement.class},
+				(proxy, method, args) -> switch (method.getName()) {
+					case "hashCode" -> System.identityHashCode(proxy);
+					case "equals" -> proxy == args[0];
+					case "toString" -> "StubElement";
+					default -> null;
+				});
+	}
+}
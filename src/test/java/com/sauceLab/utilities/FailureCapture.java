@@ -0,0 +1,295 @@
+package com.sauceLab.utilities;
+
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.sauceLab.utilities.TestLogger.info;
+import static com.sauceLab.utilities.TestLogger.warn;
+
+/**
+ * What the browser of a failed scenario showed when it failed: the
+ * screenshot, URL, page source, console logs and window size. They are
+ * fetched at the same time, so the capture takes as long as the slowest
+ * Grid round trip (usually the screenshot) instead of all of them added
+ * up. Each has until the timeout; one that is not back by then is left
+ * out, so a hung browser cannot keep the scenario waiting, and the
+ * session is then quit instead of being reused (see {@link #isComplete }).
+ * The artifacts are written to disk in the background, and
+ * {@link #awaitWrites } waits for them before the reports are archived.
+ */
+public final class FailureCapture {
+
+	/**
+	 * Runs the fetches, which spend their time waiting on the Grid, and
+	 * the writes.
+	 */
+	private static final ExecutorService CAPTURE_EXECUTOR
+			= Executors.newThreadPerTaskExecutor(Thread.ofVirtual()
+			.name("failure-capture-", 0)
+			.factory());
+
+	/**
+	 * The writes not known to be finished yet.
+	 */
+	private static final ConcurrentLinkedQueue<CompletableFuture<Void>>
+			PENDING_WRITES = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * The screenshot as a PNG, or null.
+	 */
+	private final byte[] screenshot;
+
+	/**
+	 * The URL, or null.
+	 */
+	private final String url;
+
+	/**
+	 * The page source, or null.
+	 */
+	private final String pageSource;
+
+	/**
+	 * The browser console entries, or null.
+	 */
+	private final List<LogEntry> consoleLogs;
+
+	/**
+	 * The window size, or null.
+	 */
+	private final Dimension windowSize;
+
+	/**
+	 * Whether every fetch had ended when the capture returned.
+	 */
+	private final boolean complete;
+
+	/**
+	 * @param screenshotPng The screenshot.
+	 * @param currentUrl The URL.
+	 * @param source The page source.
+	 * @param logEntries The browser console entries.
+	 * @param size The window size.
+	 * @param fetchesEnded Whether every fetch had ended.
+	 */
+	private FailureCapture(final byte[] screenshotPng,
+						   final String currentUrl,
+						   final String source,
+						   final List<LogEntry> logEntries,
+						   final Dimension size,
+						   final boolean fetchesEnded) {
+		this.screenshot = screenshotPng;
+		this.url = currentUrl;
+		this.pageSource = source;
+		this.consoleLogs = logEntries;
+		this.windowSize = size;
+		this.complete = fetchesEnded;
+	}
+
+	/**
+	 * Fetch the artifacts of the 'driver' at the same time, each given
+	 * until the 'timeout' from now.
+	 * @param driver The WebDriver of the failed scenario.
+	 * @param timeout How long the capture may take.
+	 * @return The artifacts that came back in time.
+	 */
+	public static FailureCapture capture(final WebDriver driver,
+										 final Duration timeout) {
+		long deadline = System.nanoTime() + timeout.toNanos();
+
+		CompletableFuture<byte[]> screenshot = driver instanceof TakesScreenshot
+				? fetch(() -> ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES))
+				: CompletableFuture.completedFuture(null);
+		CompletableFuture<String> url = fetch(driver::getCurrentUrl);
+		CompletableFuture<String> pageSource = fetch(driver::getPageSource);
+		CompletableFuture<List<LogEntry>> consoleLogs = fetch(() ->
+				driver.manage().logs().get(LogType.BROWSER).getAll());
+		CompletableFuture<Dimension> windowSize = fetch(() ->
+				driver.manage().window().getSize());
+
+		byte[] screenshotPng = await("screenshot", screenshot, deadline);
+		String currentUrl = await("URL", url, deadline);
+		String source = await("page source", pageSource, deadline);
+		List<LogEntry> logEntries = await("console logs", consoleLogs, deadline);
+		Dimension size = await("window size", windowSize, deadline);
+		return new FailureCapture(screenshotPng, currentUrl, source,
+				logEntries, size,
+				screenshot.isDone() && url.isDone() && pageSource.isDone()
+						&& consoleLogs.isDone() && windowSize.isDone());
+	}
+
+	/**
+	 * Start fetching an artifact.
+	 * @param fetch Fetches it.
+	 * @param <V> The type of the artifact.
+	 * @return The artifact to come.
+	 */
+	private static <V> CompletableFuture<V> fetch(final Callable<V> fetch) {
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				return fetch.call();
+			} catch (Exception e) {
+				throw new IllegalStateException(e.getMessage(), e);
+			}
+		}, CAPTURE_EXECUTOR);
+	}
+
+	/**
+	 * Wait for an artifact until the 'deadline'.
+	 * @param name The name of the artifact, for the log.
+	 * @param artifact The artifact to come.
+	 * @param deadline The System.nanoTime() to wait until.
+	 * @param <V> The type of the artifact.
+	 * @return The artifact, or null if it failed or was not back in time.
+	 */
+	private static <V> V await(final String name,
+							   final CompletableFuture<V> artifact,
+							   final long deadline) {
+		try {
+			return artifact.get(Math.max(0, deadline - System.nanoTime()),
+					TimeUnit.NANOSECONDS);
+		} catch (TimeoutException e) {
+			// the command is still running on the session and cannot be
+			// interrupted, see isComplete()
+			warn("The {} of the failed scenario was not captured in time", name);
+		} catch (ExecutionException e) {
+			warn("Could not capture the " + name + " of the failed scenario : "
+					+ e.getCause().getMessage());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return null;
+	}
+
+	/**
+	 * Write the artifacts to the 'directory' in the background: the
+	 * screenshot.png, page-source.html and console.log, with the URL and
+	 * window size at the top of the log.
+	 * @param directory The directory of the failed scenario.
+	 */
+	public void writeTo(final Path directory) {
+		PENDING_WRITES.removeIf(CompletableFuture::isDone);
+		PENDING_WRITES.add(CompletableFuture.runAsync(() -> {
+			try {
+				Files.createDirectories(directory);
+				if (null != screenshot) {
+					Files.write(directory.resolve("screenshot.png"), screenshot);
+				}
+				if (null != pageSource) {
+					Files.writeString(directory.resolve("page-source.html"), pageSource);
+				}
+				StringBuilder console = new StringBuilder()
+						.append("URL : ").append(url).append(System.lineSeparator())
+						.append("Window Size : ").append(windowSize)
+						.append(System.lineSeparator());
+				if (null != consoleLogs) {
+					for (LogEntry logEntry : consoleLogs) {
+						console.append(new Date(logEntry.getTimestamp()))
+								.append(' ').append(logEntry.getLevel())
+								.append(' ').append(logEntry.getMessage())
+								.append(System.lineSeparator());
+					}
+				}
+				Files.writeString(directory.resolve("console.log"), console);
+			} catch (IOException e) {
+				warn("Could not write the artifacts of the failed scenario to "
+						+ directory + " : " + e.getMessage());
+			}
+		}, CAPTURE_EXECUTOR));
+	}
+
+	/**
+	 * Wait for the artifacts still being written.
+	 * @param timeout How long to wait for them all.
+	 */
+	public static void awaitWrites(final Duration timeout) {
+		CompletableFuture<?>[] writes = PENDING_WRITES
+				.toArray(new CompletableFuture<?>[0]);
+		if (0 == writes.length) {
+			return;
+		}
+		try {
+			CompletableFuture.allOf(writes)
+					.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+			info("The artifacts of the failed scenarios were written");
+		} catch (TimeoutException e) {
+			warn("Not all the artifacts of the failed scenarios were written in "
+					+ timeout.toSeconds() + " seconds");
+		} catch (ExecutionException e) {
+			warn("Not all the artifacts of the failed scenarios were written : "
+					+ e.getCause().getMessage());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		PENDING_WRITES.clear();
+	}
+
+	/**
+	 * Whether every fetch had ended when the capture returned. If not, a
+	 * command is still running on the session, which must then be quit
+	 * rather than reset and handed to the next scenario.
+	 * @return True if no command of the capture is still running.
+	 */
+	public boolean isComplete() {
+		return complete;
+	}
+
+	/**
+	 * Retrieve the screenshot.
+	 * @return The PNG, or null if it was not captured.
+	 */
+	public byte[] getScreenshot() {
+		return screenshot;
+	}
+
+	/**
+	 * Retrieve the URL.
+	 * @return The URL, or null if it was not captured.
+	 */
+	public String getUrl() {
+		return url;
+	}
+
+	/**
+	 * Retrieve the page source.
+	 * @return The HTML, or null if it was not captured.
+	 */
+	public String getPageSource() {
+		return pageSource;
+	}
+
+	/**
+	 * Retrieve the browser console entries.
+	 * @return The entries, or null if they were not captured.
+	 */
+	public List<LogEntry> getConsoleLogs() {
+		return consoleLogs;
+	}
+
+	/**
+	 * Retrieve the window size.
+	 * @return The size, or null if it was not captured.
+	 */
+	public Dimension getWindowSize() {
+		return windowSize;
+	}
+}
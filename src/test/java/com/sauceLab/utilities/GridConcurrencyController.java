@@ -0,0 +1,408 @@
+package com.sauceLab.utilities;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.sauceLab.utilities.TestConstants.ADAPTIVE_CONCURRENCY_ENABLED;
+import static com.sauceLab.utilities.TestConstants.ADAPTIVE_CONCURRENCY_POLL_INTERVAL;
+import static com.sauceLab.utilities.TestConstants.ADAPTIVE_CONCURRENCY_TARGET_LATENCY;
+import static com.sauceLab.utilities.TestConstants.DOCKER_GRID_URL;
+import static com.sauceLab.utilities.TestLogger.info;
+import static com.sauceLab.utilities.TestLogger.warn;
+
+/**
+ * Admits scenarios according to the capacity of the Selenium Grid.
+ * The Grid's /status endpoint is polled for free slots, the session queue
+ * is read from its GraphQL endpoint and the time it takes to create a
+ * session is observed by the {@link RemoteWebDriverFactory}. The number of
+ * scenarios allowed to run at once follows an AIMD rule: it grows by one
+ * while the Grid has free slots (or the session pool has idle sessions,
+ * whose slots the Grid counts as busy) and sessions are created quickly,
+ * and is halved when sessions start to queue, fail or slow down.
+ */
+public final class GridConcurrencyController {
+
+	/**
+	 * There should be no instance of this class.
+	 */
+	private GridConcurrencyController() { }
+
+	/**
+	 * The weight of the latest session creation time in the moving average.
+	 */
+	private static final double LATENCY_SMOOTHING = 0.3;
+
+	/**
+	 * Guards the limit, the number of running scenarios and the history.
+	 */
+	private static final ReentrantLock LOCK = new ReentrantLock();
+
+	/**
+	 * Signalled when a scenario finishes or the limit grows.
+	 */
+	private static final Condition ADMITTED = LOCK.newCondition();
+
+	/**
+	 * The concurrency the controller chose over time.
+	 */
+	private static final List<String> HISTORY = new ArrayList<>();
+
+	/**
+	 * Talks to the Grid.
+	 */
+	private static HttpClient httpClient;
+
+	/**
+	 * Polls the Grid in the background.
+	 */
+	private static ScheduledExecutorService poller;
+
+	/**
+	 * Whether admission is currently being controlled.
+	 */
+	private static volatile boolean running = false;
+
+	/**
+	 * The upper bound for the limit (the data provider thread count).
+	 */
+	private static int maxConcurrency = 1;
+
+	/**
+	 * The number of scenarios that may run at once.
+	 */
+	private static double limit = 1;
+
+	/**
+	 * The number of scenarios currently running.
+	 */
+	private static int inFlight = 0;
+
+	/**
+	 * Moving average of the session creation time in milliseconds.
+	 */
+	private static double sessionLatencyMillis = 0;
+
+	/**
+	 * The total creation time in milliseconds of the sessions created
+	 * since the last poll.
+	 */
+	private static double windowLatencyMillis = 0;
+
+	/**
+	 * The number of sessions created since the last poll.
+	 */
+	private static int windowSessions = 0;
+
+	/**
+	 * Whether a session failed to be created since the last poll.
+	 */
+	private static boolean sessionFailed = false;
+
+	/**
+	 * When the controller was started.
+	 */
+	private static long startNanos;
+
+	/**
+	 * Start controlling admission, if enabled in the framework
+	 * configuration.
+	 * @param maximum The highest concurrency the controller may choose,
+	 *                normally the data provider thread count.
+	 */
+	public static void start(final int maximum) {
+		if (!ADAPTIVE_CONCURRENCY_ENABLED) {
+			return;
+		}
+
+		LOCK.lock();
+		try {
+			maxConcurrency = Math.max(1, maximum);
+			limit = 1;
+			inFlight = 0;
+			sessionLatencyMillis = 0;
+			windowLatencyMillis = 0;
+			windowSessions = 0;
+			sessionFailed = false;
+			startNanos = System.nanoTime();
+			HISTORY.clear();
+			HISTORY.add("elapsed_seconds,limit,in_flight,free_slots,"
+					+ "idle_sessions,queue_size,session_latency_ms");
+			running = true;
+		} finally {
+			LOCK.unlock();
+		}
+
+		httpClient = HttpClient.newBuilder()
+				.connectTimeout(Duration.ofSeconds(5))
+				.build();
+		poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "grid-concurrency-poller");
+			thread.setDaemon(true);
+			return thread;
+		});
+		poller.scheduleWithFixedDelay(GridConcurrencyController::poll,
+				0, ADAPTIVE_CONCURRENCY_POLL_INTERVAL, TimeUnit.SECONDS);
+
+		info("Adaptive concurrency started, at most [" + maxConcurrency
+				+ "] scenarios will run at once");
+	}
+
+	/**
+	 * Block until the controller admits another scenario.
+	 */
+	public static void acquire() {
+		if (!running) {
+			return;
+		}
+
+		LOCK.lock();
+		try {
+			while (running && inFlight >= (int) limit) {
+				ADMITTED.await();
+			}
+			inFlight++;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			inFlight++;
+		} finally {
+			LOCK.unlock();
+		}
+	}
+
+	/**
+	 * Tell the controller that an admitted scenario has finished.
+	 */
+	public static void release() {
+		LOCK.lock();
+		try {
+			if (inFlight > 0) {
+				inFlight--;
+			}
+			ADMITTED.signal();
+		} finally {
+			LOCK.unlock();
+		}
+	}
+
+	/**
+	 * Record how long the Grid took to create (or fail to create) a
+	 * session.
+	 * @param nanos The time spent creating the session.
+	 * @param created Whether the session was created.
+	 */
+	public static void recordSessionCreation(final long nanos,
+											 final boolean created) {
+		if (!running) {
+			return;
+		}
+
+		LOCK.lock();
+		try {
+			double millis = nanos / 1_000_000.0;
+			sessionLatencyMillis = 0 == sessionLatencyMillis
+					? millis
+					: LATENCY_SMOOTHING * millis
+					+ (1 - LATENCY_SMOOTHING) * sessionLatencyMillis;
+			windowLatencyMillis += millis;
+			windowSessions++;
+			sessionFailed |= !created;
+		} finally {
+			LOCK.unlock();
+		}
+	}
+
+	/**
+	 * Stop controlling admission and write the concurrency chosen over time
+	 * to the 'report' as CSV.
+	 * @param report The file to write the history to.
+	 */
+	public static void stop(final Path report) {
+		if (!running) {
+			return;
+		}
+
+		poller.shutdownNow();
+		List<String> history;
+		LOCK.lock();
+		try {
+			running = false;
+			ADMITTED.signalAll();
+			history = new ArrayList<>(HISTORY);
+		} finally {
+			LOCK.unlock();
+		}
+
+		try {
+			Files.createDirectories(report.getParent());
+			Files.write(report, history);
+			info("Adaptive concurrency history written to [" + report + "]");
+		} catch (IOException e) {
+			warn("Could not write the adaptive concurrency history : "
+					+ e.getMessage());
+		}
+	}
+
+	/**
+	 * Read the Grid's capacity and adjust the limit.
+	 */
+	private static void poll() {
+		int freeSlots;
+		int queueSize;
+		try {
+			freeSlots = readFreeSlots();
+			queueSize = readQueueSize();
+		} catch (RuntimeException e) {
+			warn("Could not read the Grid status : " + e.getMessage());
+			return;
+		}
+		// a pooled session sits on a slot the Grid reports as busy, yet the
+		// next scenario can lease it without asking the Grid for anything
+		int idleSessions = RemoteWebDriverFactory.idleSessions();
+		int headroom = freeSlots + idleSessions;
+
+		LOCK.lock();
+		try {
+			double previous = limit;
+			// judge the latency only by the sessions created since the last
+			// poll: once pooled sessions are reused no creation is recorded,
+			// and an old slow one must not keep the limit down
+			double windowLatency = 0 == windowSessions
+					? 0
+					: windowLatencyMillis / windowSessions;
+			boolean congested = queueSize > 0
+					|| sessionFailed
+					|| windowLatency > ADAPTIVE_CONCURRENCY_TARGET_LATENCY;
+
+			if (1 == HISTORY.size() && !congested) {
+				// First reading, start from what the Grid can take now
+				limit = Math.max(1, Math.min(maxConcurrency, headroom));
+			} else if (congested) {
+				// Multiplicative decrease
+				limit = Math.max(1, limit / 2);
+			} else if (headroom > 0 && inFlight >= (int) limit) {
+				// Additive increase, only while the limit is what holds
+				// scenarios back
+				limit = Math.min(maxConcurrency, limit + 1);
+			}
+			sessionFailed = false;
+			windowLatencyMillis = 0;
+			windowSessions = 0;
+
+			if ((int) limit > (int) previous) {
+				ADMITTED.signalAll();
+			}
+
+			HISTORY.add(String.format("%.1f,%d,%d,%d,%d,%d,%.0f",
+					(System.nanoTime() - startNanos) / 1_000_000_000.0,
+					(int) limit, inFlight, freeSlots, idleSessions, queueSize,
+					sessionLatencyMillis));
+			if ((int) limit != (int) previous) {
+				info("Adaptive concurrency changed from [" + (int) previous
+						+ "] to [" + (int) limit + "] (free slots : ["
+						+ freeSlots + "] idle sessions : [" + idleSessions
+						+ "] queue : [" + queueSize
+						+ "] session latency : ["
+						+ Math.round(windowLatency) + "ms])");
+			}
+		} finally {
+			LOCK.unlock();
+		}
+	}
+
+	/**
+	 * Count the free slots on the nodes that are up.
+	 * @return The number of slots without a session.
+	 */
+	private static int readFreeSlots() {
+		JsonObject status = JsonParser.parseString(
+				send(HttpRequest.newBuilder(gridUri("/status")).GET()))
+				.getAsJsonObject()
+				.getAsJsonObject("value");
+
+		int free = 0;
+		if (null == status || !status.has("nodes")) {
+			return free;
+		}
+		for (JsonElement node : status.getAsJsonArray("nodes")) {
+			JsonObject nodeObject = node.getAsJsonObject();
+			if (!"UP".equalsIgnoreCase(
+					nodeObject.get("availability").getAsString())) {
+				continue;
+			}
+			for (JsonElement slot : nodeObject.getAsJsonArray("slots")) {
+				JsonElement session = slot.getAsJsonObject().get("session");
+				if (null == session || session.isJsonNull()) {
+					free++;
+				}
+			}
+		}
+		return free;
+	}
+
+	/**
+	 * Read the number of session requests waiting in the Grid's queue.
+	 * @return The queue size, or 0 if the Grid does not report it.
+	 */
+	private static int readQueueSize() {
+		try {
+			JsonObject data = JsonParser.parseString(send(HttpRequest
+					.newBuilder(gridUri("/graphql"))
+					.header("Content-Type", "application/json")
+					.POST(HttpRequest.BodyPublishers.ofString(
+							"{\"query\":\"{ grid { sessionQueueSize } }\"}"))))
+					.getAsJsonObject()
+					.getAsJsonObject("data");
+			return data.getAsJsonObject("grid")
+					.get("sessionQueueSize")
+					.getAsInt();
+		} catch (RuntimeException e) {
+			return 0;
+		}
+	}
+
+	/**
+	 * Send a request to the Grid.
+	 * @param request The request.
+	 * @return The body of the response.
+	 */
+	private static String send(final HttpRequest.Builder request) {
+		try {
+			return httpClient.send(request
+							.timeout(Duration.ofSeconds(5))
+							.build(),
+					HttpResponse.BodyHandlers.ofString()).body();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Resolve a path against the Grid URL.
+	 * @param path The path.
+	 * @return The {@link URI } of the Grid endpoint.
+	 */
+	private static URI gridUri(final String path) {
+		return URI.create(DOCKER_GRID_URL.replaceAll("/+$", "") + path);
+	}
+}
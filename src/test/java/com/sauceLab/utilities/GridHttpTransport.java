@@ -0,0 +1,173 @@
+package com.sauceLab.utilities;
+
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.Response;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.openqa.selenium.remote.http.WebSocket;
+import org.openqa.selenium.remote.http.jdk.JdkHttpClient;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.sauceLab.utilities.TestConstants.COMMAND_METRICS_ENABLED;
+import static com.sauceLab.utilities.TestConstants.HTTP_CONNECTION_POOL_SIZE;
+import static com.sauceLab.utilities.TestConstants.HTTP_CONNECTION_TIMEOUT;
+import static com.sauceLab.utilities.TestConstants.HTTP_KEEPALIVE_TIMEOUT;
+import static com.sauceLab.utilities.TestConstants.HTTP_READ_TIMEOUT;
+import static com.sauceLab.utilities.TestConstants.HTTP_VERSION;
+import static com.sauceLab.utilities.TestLogger.error;
+
+/**
+ * The HTTP layer between the Remote WebDriver sessions and the Grid.
+ * Instead of every session building its own client, all sessions for the
+ * same Grid share one JDK HTTP client, so its keep-alive connection pool
+ * is reused from session to session. Timeouts, pool size, keep-alive and
+ * the HTTP version come from the framework configuration, and every
+ * command can be timed into {@link WebDriverCommandMetrics}.
+ */
+public final class GridHttpTransport {
+
+	/**
+	 * There should be no instance of this class.
+	 */
+	private GridHttpTransport() { }
+
+	/**
+	 * The shared clients, keyed by the Grid URL.
+	 */
+	private static final Map<String, HttpClient> CLIENTS
+			= new ConcurrentHashMap<>();
+
+	/**
+	 * Hands out the shared clients to the command executors.
+	 */
+	private static final HttpClient.Factory SHARED_CLIENT_FACTORY
+			= config -> CLIENTS.computeIfAbsent(
+					String.valueOf(config.baseUri()),
+					uri -> new SharedHttpClient(
+							new JdkHttpClient.Factory().createClient(config)));
+
+	/**
+	 * Apply the connection pool settings. The JDK HTTP client reads them
+	 * once, when the first client in the JVM is built, so this has to run
+	 * before anything else talks HTTP.
+	 */
+	public static void configure() {
+		if (HTTP_CONNECTION_POOL_SIZE > 0) {
+			System.setProperty("jdk.httpclient.connectionPoolSize",
+					String.valueOf(HTTP_CONNECTION_POOL_SIZE));
+		}
+		System.setProperty("jdk.httpclient.keepalive.timeout",
+				String.valueOf(HTTP_KEEPALIVE_TIMEOUT));
+	}
+
+	/**
+	 * Build the command executor for a new session on the Grid.
+	 * @param gridUrl The URL of the Grid.
+	 * @return A {@link CommandExecutor } that sends its commands through the
+	 * shared client, timing each of them when command metrics are enabled.
+	 */
+	public static CommandExecutor commandExecutor(final URL gridUrl) {
+		ClientConfig config = null;
+		try {
+			config = ClientConfig.defaultConfig()
+					.baseUri(gridUrl.toURI())
+					.connectionTimeout(Duration.ofSeconds(HTTP_CONNECTION_TIMEOUT))
+					.readTimeout(Duration.ofSeconds(HTTP_READ_TIMEOUT))
+					.version(HTTP_VERSION);
+		} catch (URISyntaxException e) {
+			error("The Grid URL : [" + gridUrl + "] is not a valid URI", e);
+		}
+
+		CommandExecutor executor = new HttpCommandExecutor(
+				Collections.emptyMap(), config, SHARED_CLIENT_FACTORY);
+		return COMMAND_METRICS_ENABLED
+				? new TimedCommandExecutor(executor)
+				: executor;
+	}
+
+	/**
+	 * Close the shared clients.
+	 */
+	public static void shutdown() {
+		CLIENTS.values().forEach(client ->
+				((SharedHttpClient) client).delegate.close());
+		CLIENTS.clear();
+	}
+
+	/**
+	 * A client shared between sessions. A session closes its client when it
+	 * quits, which must not close the connections of the other sessions.
+	 */
+	private static final class SharedHttpClient implements HttpClient {
+
+		/**
+		 * The client that does the work.
+		 */
+		private final HttpClient delegate;
+
+		/**
+		 * Wrap a client.
+		 * @param client The client.
+		 */
+		private SharedHttpClient(final HttpClient client) {
+			this.delegate = client;
+		}
+
+		@Override
+		public WebSocket openSocket(final HttpRequest request,
+									final WebSocket.Listener listener) {
+			return delegate.openSocket(request, listener);
+		}
+
+		@Override
+		public HttpResponse execute(final HttpRequest request) {
+			return delegate.execute(request);
+		}
+
+		@Override
+		public void close() {
+			// Closed by GridHttpTransport.shutdown()
+		}
+	}
+
+	/**
+	 * Records the round trip of every command it executes.
+	 */
+	private static final class TimedCommandExecutor implements CommandExecutor {
+
+		/**
+		 * The executor that sends the commands.
+		 */
+		private final CommandExecutor delegate;
+
+		/**
+		 * Wrap an executor.
+		 * @param executor The executor.
+		 */
+		private TimedCommandExecutor(final CommandExecutor executor) {
+			this.delegate = executor;
+		}
+
+		@Override
+		public Response execute(final Command command) throws IOException {
+			long start = System.nanoTime();
+			try {
+				return delegate.execute(command);
+			} finally {
+				WebDriverCommandMetrics.record(command.getName(),
+						System.nanoTime() - start);
+			}
+		}
+	}
+}
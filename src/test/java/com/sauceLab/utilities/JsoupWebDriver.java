@@ -0,0 +1,722 @@
+package com.sauceLab.utilities;
+
+import org.jsoup.Connection;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.FormElement;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchFrameException;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.logging.LogEntries;
+import org.openqa.selenium.logging.Logs;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.CookiePolicy;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static com.sauceLab.utilities.TestConstants.HTTP_CONNECTION_TIMEOUT;
+import static com.sauceLab.utilities.TestConstants.HTTP_READ_TIMEOUT;
+
+/**
+ * A {@link WebDriver } without a browser: pages are fetched with the JDK
+ * HTTP client and parsed with jsoup, forms are filled in on the parsed
+ * document and submitted as GET or POST requests, and cookies are kept per
+ * session. Nothing on the page runs, so it suits scenarios on pages that
+ * work without JavaScript, and costs a few kilobytes per session instead
+ * of a browser on the Grid. Selected with the browser name 'jsoup'.
+ */
+public final class JsoupWebDriver implements WebDriver,
+		JavascriptExecutor, TakesScreenshot {
+
+	/**
+	 * The browser name that selects this driver.
+	 */
+	public static final String BROWSER_NAME = "jsoup";
+
+	/**
+	 * The handle of the only window.
+	 */
+	private static final String WINDOW_HANDLE = "jsoup-window";
+
+	/**
+	 * The only script a session answers, the page load query of
+	 * {@link com.sauceLab.pages.BasePage }.
+	 */
+	private static final String READY_STATE_SCRIPT = "return document.readyState";
+
+	/**
+	 * The size reported for the window.
+	 */
+	private static final Dimension WINDOW_SIZE = new Dimension(1920, 1080);
+
+	/**
+	 * The most redirects followed for one request.
+	 */
+	private static final int MAX_REDIRECTS = 10;
+
+	/**
+	 * The client shared by every session. Redirects are followed here so
+	 * the cookies set along the way reach the session's cookie jar.
+	 */
+	private static final HttpClient HTTP_CLIENT = HttpClient.newBuilder()
+			.followRedirects(HttpClient.Redirect.NEVER)
+			.connectTimeout(Duration.ofSeconds(HTTP_CONNECTION_TIMEOUT))
+			.build();
+
+	/**
+	 * The cookies of this session.
+	 */
+	private final CookieManager cookies
+			= new CookieManager(null, CookiePolicy.ACCEPT_ALL);
+
+	/**
+	 * The pages behind the current one.
+	 */
+	private final Deque<URI> backHistory = new ArrayDeque<>();
+
+	/**
+	 * The pages ahead of the current one.
+	 */
+	private final Deque<URI> forwardHistory = new ArrayDeque<>();
+
+	/**
+	 * The current page.
+	 */
+	private Document document = Jsoup.parse("", "about:blank");
+
+	/**
+	 * The address of the current page.
+	 */
+	private URI currentUri = URI.create("about:blank");
+
+	/**
+	 * Counts the pages loaded, so elements of an earlier page go stale.
+	 */
+	private int generation;
+
+	/**
+	 * Whether the session has quit.
+	 */
+	private boolean closed;
+
+	@Override
+	public void get(final String url) {
+		load(resolve(url), "GET", null, true);
+	}
+
+	@Override
+	public String getCurrentUrl() {
+		checkOpen();
+		return currentUri.toString();
+	}
+
+	@Override
+	public String getTitle() {
+		checkOpen();
+		return document.title();
+	}
+
+	@Override
+	public List<WebElement> findElements(final By by) {
+		checkOpen();
+		return wrap(select(document, by));
+	}
+
+	@Override
+	public WebElement findElement(final By by) {
+		List<WebElement> elements = findElements(by);
+		if (elements.isEmpty()) {
+			throw new NoSuchElementException("Unable to locate element : "
+					+ by);
+		}
+		return elements.get(0);
+	}
+
+	@Override
+	public String getPageSource() {
+		checkOpen();
+		return document.outerHtml();
+	}
+
+	@Override
+	public void close() {
+		quit();
+	}
+
+	@Override
+	public void quit() {
+		closed = true;
+		cookies.getCookieStore().removeAll();
+		backHistory.clear();
+		forwardHistory.clear();
+	}
+
+	@Override
+	public Set<String> getWindowHandles() {
+		checkOpen();
+		return Collections.singleton(WINDOW_HANDLE);
+	}
+
+	@Override
+	public String getWindowHandle() {
+		checkOpen();
+		return WINDOW_HANDLE;
+	}
+
+	@Override
+	public TargetLocator switchTo() {
+		return new JsoupTargetLocator();
+	}
+
+	@Override
+	public Navigation navigate() {
+		return new JsoupNavigation();
+	}
+
+	@Override
+	public Options manage() {
+		return new JsoupOptions();
+	}
+
+	/**
+	 * Scripts cannot run without a browser. The document is always fully
+	 * loaded, so the page load query "return document.readyState" answers
+	 * "complete"; every other script is refused, so that callers fall back
+	 * to the WebDriver API instead of carrying on with a script that never
+	 * ran.
+	 * @param script The script.
+	 * @param args The arguments of the script.
+	 * @return "complete" for the page load query.
+	 * @throws UnsupportedCommandException For every other script.
+	 */
+	@Override
+	public Object executeScript(final String script, final Object... args) {
+		checkOpen();
+		if (null != script && READY_STATE_SCRIPT.equals(script.trim())) {
+			return "complete";
+		}
+		throw new UnsupportedCommandException(
+				"jsoup sessions cannot run scripts : " + script);
+	}
+
+	@Override
+	public Object executeAsyncScript(final String script,
+									 final Object... args) {
+		return executeScript(script, args);
+	}
+
+	/**
+	 * There is nothing rendered to capture, so the screenshot is empty.
+	 * @param target The type of the screenshot.
+	 * @return An empty screenshot of the requested type.
+	 */
+	@Override
+	public <X> X getScreenshotAs(final OutputType<X> target) {
+		return target.convertFromPngBytes(new byte[0]);
+	}
+
+	/**
+	 * Retrieve the number of pages loaded by this session.
+	 * @return The generation of the current page.
+	 */
+	int getGeneration() {
+		return generation;
+	}
+
+	/**
+	 * Submit a form of the current page, as a browser would.
+	 * @param form The form.
+	 * @param submitter The button that submitted the form, or null.
+	 */
+	void submit(final FormElement form, final Element submitter) {
+		checkOpen();
+		List<String> pairs = new ArrayList<>();
+		for (Connection.KeyVal field : form.formData()) {
+			pairs.add(encode(field.key()) + "=" + encode(field.value()));
+		}
+		if (null != submitter && submitter.hasAttr("name")) {
+			pairs.add(encode(submitter.attr("name")) + "="
+					+ encode(submitter.attr("value")));
+		}
+		String data = String.join("&", pairs);
+
+		String action = form.absUrl("action");
+		URI target = action.isEmpty() ? currentUri : resolve(action);
+
+		if ("post".equalsIgnoreCase(form.attr("method"))) {
+			load(target, "POST", data, true);
+		} else {
+			String query = data.isEmpty() ? "" : "?" + data;
+			String base = target.toString().split("[?#]")[0];
+			load(URI.create(base + query), "GET", null, true);
+		}
+	}
+
+	/**
+	 * Follow a link of the current page.
+	 * @param href The address of the link, relative to the page.
+	 */
+	void follow(final String href) {
+		if (href.isEmpty() || href.startsWith("#")
+				|| href.toLowerCase().startsWith("javascript:")) {
+			return;
+		}
+		get(href);
+	}
+
+	/**
+	 * Find the elements under 'root' matching the locator.
+	 * @param root The element to search under.
+	 * @param by The locator.
+	 * @return The matching jsoup {@link Element }s, in document order.
+	 */
+	static List<Element> select(final Element root, final By by) {
+		if (!(by instanceof By.Remotable)) {
+			throw new InvalidSelectorException("Unsupported locator : " + by);
+		}
+		By.Remotable.Parameters parameters
+				= ((By.Remotable) by).getRemoteParameters();
+		String using = parameters.using();
+		String value = String.valueOf(parameters.value());
+
+		try {
+			return switch (using) {
+				case "css selector" -> root.select(value);
+				case "xpath" -> root.selectXpath(value);
+				case "id" -> root.getElementsByAttributeValue("id", value);
+				case "name" -> root.getElementsByAttributeValue("name", value);
+				case "class name" -> root.getElementsByClass(value);
+				case "tag name" -> root.getElementsByTag(value);
+				case "link text" -> root.select("a").stream()
+						.filter(a -> a.text().trim().equals(value))
+						.collect(Collectors.toList());
+				case "partial link text" -> root.select("a").stream()
+						.filter(a -> a.text().contains(value))
+						.collect(Collectors.toList());
+				default -> throw new InvalidSelectorException(
+						"Unsupported locator strategy : " + using);
+			};
+		} catch (IllegalArgumentException e) {
+			throw new InvalidSelectorException("Invalid selector : " + by, e);
+		}
+	}
+
+	/**
+	 * Wrap jsoup elements of the current page.
+	 * @param elements The elements.
+	 * @return A {@link List } of {@link WebElement }.
+	 */
+	List<WebElement> wrap(final List<Element> elements) {
+		List<WebElement> wrapped = new ArrayList<>(elements.size());
+		for (Element element : elements) {
+			wrapped.add(new JsoupWebElement(this, element, generation));
+		}
+		return wrapped;
+	}
+
+	/**
+	 * Fail if the session has quit.
+	 */
+	void checkOpen() {
+		if (closed) {
+			throw new NoSuchWindowException("The jsoup session has quit");
+		}
+	}
+
+	/**
+	 * Resolve an address against the current page.
+	 * @param url The address.
+	 * @return The absolute {@link URI }.
+	 */
+	private URI resolve(final String url) {
+		return "about:blank".equals(currentUri.toString())
+				? URI.create(url)
+				: currentUri.resolve(url);
+	}
+
+	/**
+	 * Load a page, following redirects, and make it the current page.
+	 * @param uri The address.
+	 * @param method GET or POST.
+	 * @param formData The urlencoded body of a POST, or null.
+	 * @param record Whether the current page goes into the history.
+	 */
+	private void load(final URI uri,
+					  final String method,
+					  final String formData,
+					  final boolean record) {
+		checkOpen();
+		URI target = uri;
+		String verb = method;
+		String body = formData;
+
+		try {
+			for (int redirects = 0; redirects <= MAX_REDIRECTS; redirects++) {
+				HttpRequest.Builder request = HttpRequest.newBuilder(target)
+						.timeout(Duration.ofSeconds(HTTP_READ_TIMEOUT))
+						.header("Accept", "text/html,application/xhtml+xml,*/*");
+				for (Map.Entry<String, List<String>> header
+						: cookies.get(target, Map.of()).entrySet()) {
+					for (String value : header.getValue()) {
+						request.header(header.getKey(), value);
+					}
+				}
+				if ("POST".equals(verb)) {
+					request.header("Content-Type",
+									"application/x-www-form-urlencoded")
+							.POST(HttpRequest.BodyPublishers.ofString(body));
+				} else {
+					request.GET();
+				}
+
+				HttpResponse<byte[]> response = HTTP_CLIENT.send(
+						request.build(),
+						HttpResponse.BodyHandlers.ofByteArray());
+				cookies.put(target, response.headers().map());
+
+				int status = response.statusCode();
+				String location = response.headers()
+						.firstValue("Location").orElse(null);
+				if (status >= 300 && status < 400 && null != location) {
+					target = target.resolve(location);
+					if (303 == status || ((301 == status || 302 == status)
+							&& "POST".equals(verb))) {
+						verb = "GET";
+						body = null;
+					}
+					continue;
+				}
+
+				if (record && !"about:blank".equals(currentUri.toString())) {
+					backHistory.push(currentUri);
+					forwardHistory.clear();
+				}
+				document = Jsoup.parse(
+						new ByteArrayInputStream(response.body()),
+						null, target.toString());
+				currentUri = target;
+				generation++;
+				return;
+			}
+			throw new WebDriverException("Too many redirects from : " + uri);
+		} catch (IOException e) {
+			throw new WebDriverException("Could not load : " + uri, e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new WebDriverException("Interrupted while loading : " + uri, e);
+		}
+	}
+
+	/**
+	 * URL-encode a form value.
+	 * @param value The value.
+	 * @return The encoded value.
+	 */
+	private static String encode(final String value) {
+		return URLEncoder.encode(null == value ? "" : value,
+				StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Moves through the history of the session.
+	 */
+	private final class JsoupNavigation implements Navigation {
+
+		@Override
+		public void back() {
+			if (!backHistory.isEmpty()) {
+				forwardHistory.push(currentUri);
+				load(backHistory.pop(), "GET", null, false);
+			}
+		}
+
+		@Override
+		public void forward() {
+			if (!forwardHistory.isEmpty()) {
+				backHistory.push(currentUri);
+				load(forwardHistory.pop(), "GET", null, false);
+			}
+		}
+
+		@Override
+		public void to(final String url) {
+			get(url);
+		}
+
+		@Override
+		public void to(final URL url) {
+			get(url.toString());
+		}
+
+		@Override
+		public void refresh() {
+			load(currentUri, "GET", null, false);
+		}
+	}
+
+	/**
+	 * There is a single window, no frames and no alerts.
+	 */
+	private final class JsoupTargetLocator implements TargetLocator {
+
+		@Override
+		public WebDriver frame(final int index) {
+			throw new NoSuchFrameException("Frames are not loaded by jsoup");
+		}
+
+		@Override
+		public WebDriver frame(final String nameOrId) {
+			throw new NoSuchFrameException("Frames are not loaded by jsoup");
+		}
+
+		@Override
+		public WebDriver frame(final WebElement frameElement) {
+			throw new NoSuchFrameException("Frames are not loaded by jsoup");
+		}
+
+		@Override
+		public WebDriver parentFrame() {
+			return JsoupWebDriver.this;
+		}
+
+		@Override
+		public WebDriver window(final String nameOrHandle) {
+			if (!WINDOW_HANDLE.equals(nameOrHandle)) {
+				throw new NoSuchWindowException("No window : " + nameOrHandle);
+			}
+			return JsoupWebDriver.this;
+		}
+
+		@Override
+		public WebDriver newWindow(final WindowType typeHint) {
+			throw new UnsupportedCommandException(
+					"jsoup sessions have a single window");
+		}
+
+		@Override
+		public WebDriver defaultContent() {
+			return JsoupWebDriver.this;
+		}
+
+		@Override
+		public WebElement activeElement() {
+			return wrap(List.of(document.body())).get(0);
+		}
+
+		@Override
+		public org.openqa.selenium.Alert alert() {
+			throw new NoAlertPresentException("jsoup pages have no alerts");
+		}
+	}
+
+	/**
+	 * The cookies, timeouts, window and logs of the session.
+	 */
+	private final class JsoupOptions implements Options {
+
+		@Override
+		public void addCookie(final Cookie cookie) {
+			HttpCookie httpCookie = new HttpCookie(cookie.getName(),
+					cookie.getValue());
+			// Netscape cookies, as sent by browsers, not RFC 2965 ones
+			httpCookie.setVersion(0);
+			httpCookie.setPath(null == cookie.getPath() ? "/" : cookie.getPath());
+			// A cookie for another host (or the 'host.local' domain the JDK
+			// gives single-label hosts) is kept for the current page's host
+			if (null != cookie.getDomain() && HttpCookie.domainMatches(
+					cookie.getDomain(), currentUri.getHost())) {
+				httpCookie.setDomain(cookie.getDomain());
+			}
+			httpCookie.setSecure(cookie.isSecure());
+			httpCookie.setHttpOnly(cookie.isHttpOnly());
+			if (null != cookie.getExpiry()) {
+				httpCookie.setMaxAge(Math.max(0,
+						(cookie.getExpiry().getTime()
+								- System.currentTimeMillis()) / 1000));
+			}
+			cookies.getCookieStore().add(currentUri, httpCookie);
+		}
+
+		@Override
+		public void deleteCookieNamed(final String name) {
+			for (HttpCookie cookie : cookies.getCookieStore().getCookies()) {
+				if (cookie.getName().equals(name)) {
+					removeCookie(cookie);
+				}
+			}
+		}
+
+		@Override
+		public void deleteCookie(final Cookie cookie) {
+			deleteCookieNamed(cookie.getName());
+		}
+
+		@Override
+		public void deleteAllCookies() {
+			cookies.getCookieStore().removeAll();
+		}
+
+		@Override
+		public Set<Cookie> getCookies() {
+			Set<Cookie> result = new HashSet<>();
+			for (HttpCookie cookie : cookies.getCookieStore().get(currentUri)) {
+				result.add(new Cookie(cookie.getName(),
+						cookie.getValue(),
+						cookie.getDomain(),
+						cookie.getPath(),
+						cookie.getMaxAge() < 0
+								? null
+								: new Date(System.currentTimeMillis()
+										+ cookie.getMaxAge() * 1000),
+						cookie.getSecure(),
+						cookie.isHttpOnly()));
+			}
+			return result;
+		}
+
+		@Override
+		public Cookie getCookieNamed(final String name) {
+			return getCookies().stream()
+					.filter(cookie -> cookie.getName().equals(name))
+					.findFirst()
+					.orElse(null);
+		}
+
+		@Override
+		public Timeouts timeouts() {
+			return new JsoupTimeouts();
+		}
+
+		@Override
+		public Window window() {
+			return new JsoupWindow();
+		}
+
+		@Override
+		public Logs logs() {
+			return new Logs() {
+				@Override
+				public LogEntries get(final String logType) {
+					return new LogEntries(Collections.emptyList());
+				}
+
+				@Override
+				public Set<String> getAvailableLogTypes() {
+					return Collections.emptySet();
+				}
+			};
+		}
+
+		/**
+		 * Remove a cookie from the jar, whichever address it was set for.
+		 * @param cookie The cookie.
+		 */
+		private void removeCookie(final HttpCookie cookie) {
+			for (URI uri : cookies.getCookieStore().getURIs()) {
+				cookies.getCookieStore().remove(uri, cookie);
+			}
+			cookies.getCookieStore().remove(null, cookie);
+		}
+	}
+
+	/**
+	 * Requests are synchronous, so the timeouts have nothing to wait for.
+	 */
+	private final class JsoupTimeouts implements Timeouts {
+
+		@Override
+		@Deprecated
+		public Timeouts implicitlyWait(final long time, final TimeUnit unit) {
+			return this;
+		}
+
+		@Override
+		@Deprecated
+		public Timeouts setScriptTimeout(final long time, final TimeUnit unit) {
+			return this;
+		}
+
+		@Override
+		@Deprecated
+		public Timeouts pageLoadTimeout(final long time, final TimeUnit unit) {
+			return this;
+		}
+	}
+
+	/**
+	 * A window of a fixed size that never moves.
+	 */
+	private static final class JsoupWindow implements Window {
+
+		@Override
+		public Dimension getSize() {
+			return WINDOW_SIZE;
+		}
+
+		@Override
+		public void setSize(final Dimension targetSize) {
+			// Nothing is rendered
+		}
+
+		@Override
+		public Point getPosition() {
+			return new Point(0, 0);
+		}
+
+		@Override
+		public void setPosition(final Point targetPosition) {
+			// Nothing is rendered
+		}
+
+		@Override
+		public void maximize() {
+			// Nothing is rendered
+		}
+
+		@Override
+		public void minimize() {
+			// Nothing is rendered
+		}
+
+		@Override
+		public void fullscreen() {
+			// Nothing is rendered
+		}
+	}
+}
@@ -0,0 +1,351 @@
+package com.sauceLab.utilities;
+
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.FormElement;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.Keys;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * An element of a page loaded by a {@link JsoupWebDriver }. Typing and
+ * clicking change the parsed document the way a browser would change the
+ * live one (values, checked and selected states), so a later form
+ * submission sends what the test entered. The element goes stale once its
+ * driver loads another page.
+ */
+public final class JsoupWebElement implements WebElement {
+
+	/**
+	 * The driver of the page this element belongs to.
+	 */
+	private final JsoupWebDriver driver;
+
+	/**
+	 * The parsed element.
+	 */
+	private final Element element;
+
+	/**
+	 * The generation of the page this element was found on.
+	 */
+	private final int generation;
+
+	/**
+	 * Wrap a parsed element.
+	 * @param owner The driver of the page.
+	 * @param parsed The parsed element.
+	 * @param pageGeneration The generation of the page.
+	 */
+	JsoupWebElement(final JsoupWebDriver owner,
+					final Element parsed,
+					final int pageGeneration) {
+		this.driver = owner;
+		this.element = parsed;
+		this.generation = pageGeneration;
+	}
+
+	@Override
+	public void click() {
+		checkFresh();
+		String tag = element.normalName();
+		String type = element.attr("type").toLowerCase(Locale.ROOT);
+
+		if ("input".equals(tag) && "checkbox".equals(type)) {
+			toggle("checked", !element.hasAttr("checked"));
+		} else if ("input".equals(tag) && "radio".equals(type)) {
+			FormElement form = form();
+			if (null != form) {
+				form.select("input[type=radio][name=" + element.attr("name") + "]")
+						.removeAttr("checked");
+			}
+			toggle("checked", true);
+		} else if ("option".equals(tag)) {
+			Element select = element.closest("select");
+			boolean multiple = null != select && select.hasAttr("multiple");
+			if (multiple) {
+				toggle("selected", !element.hasAttr("selected"));
+			} else {
+				if (null != select) {
+					select.select("option").removeAttr("selected");
+				}
+				toggle("selected", true);
+			}
+		} else if (isSubmitButton()) {
+			FormElement form = form();
+			if (null != form) {
+				driver.submit(form, element);
+			}
+		} else {
+			Element link = element.closest("a[href]");
+			if (null != link) {
+				driver.follow(link.attr("href"));
+			}
+		}
+	}
+
+	@Override
+	public void submit() {
+		checkFresh();
+		FormElement form = form();
+		if (null == form) {
+			throw new UnsupportedCommandException(
+					"The element is not in a form : " + describe());
+		}
+		driver.submit(form, null);
+	}
+
+	@Override
+	public void sendKeys(final CharSequence... keysToSend) {
+		checkFresh();
+		StringBuilder typed = new StringBuilder();
+		boolean enter = false;
+		for (CharSequence keys : keysToSend) {
+			for (int i = 0; i < keys.length(); i++) {
+				char key = keys.charAt(i);
+				if (Keys.ENTER.charAt(0) == key || Keys.RETURN.charAt(0) == key) {
+					enter = true;
+				} else if (key < '\uE000' || key > '\uF8FF') {
+					typed.append(key);
+				}
+			}
+		}
+		setValue(getValue() + typed);
+		if (enter) {
+			FormElement form = form();
+			if (null != form) {
+				driver.submit(form, null);
+			}
+		}
+	}
+
+	@Override
+	public void clear() {
+		checkFresh();
+		setValue("");
+	}
+
+	@Override
+	public String getTagName() {
+		checkFresh();
+		return element.normalName();
+	}
+
+	@Override
+	public String getAttribute(final String name) {
+		checkFresh();
+		String attribute = name.toLowerCase(Locale.ROOT);
+		switch (attribute) {
+			case "value":
+				return getValue();
+			case "innertext":
+			case "textcontent":
+				return element.text();
+			case "innerhtml":
+				return element.html();
+			case "outerhtml":
+				return element.outerHtml();
+			case "checked":
+			case "selected":
+			case "disabled":
+			case "readonly":
+			case "required":
+			case "multiple":
+				return element.hasAttr(attribute) ? "true" : null;
+			default:
+				return element.hasAttr(attribute)
+						? element.attr(attribute)
+						: null;
+		}
+	}
+
+	@Override
+	public boolean isSelected() {
+		checkFresh();
+		return element.hasAttr("checked") || element.hasAttr("selected");
+	}
+
+	@Override
+	public boolean isEnabled() {
+		checkFresh();
+		return !element.hasAttr("disabled")
+				&& null == element.closest("fieldset[disabled]");
+	}
+
+	@Override
+	public String getText() {
+		checkFresh();
+		return isDisplayed() ? element.text() : "";
+	}
+
+	@Override
+	public List<WebElement> findElements(final By by) {
+		checkFresh();
+		return driver.wrap(JsoupWebDriver.select(element, by));
+	}
+
+	@Override
+	public WebElement findElement(final By by) {
+		List<WebElement> elements = findElements(by);
+		if (elements.isEmpty()) {
+			throw new NoSuchElementException("Unable to locate element : "
+					+ by + " under " + describe());
+		}
+		return elements.get(0);
+	}
+
+	/**
+	 * Without styles the element is taken to be displayed unless it, or
+	 * one of its parents, is hidden by an attribute or an inline style.
+	 * @return True if the element would be displayed.
+	 */
+	@Override
+	public boolean isDisplayed() {
+		checkFresh();
+		if ("hidden".equalsIgnoreCase(element.attr("type"))) {
+			return false;
+		}
+		for (Element current = element; null != current;
+			 current = current.parent()) {
+			String style = current.attr("style")
+					.replace(" ", "")
+					.toLowerCase(Locale.ROOT);
+			if (current.hasAttr("hidden")
+					|| style.contains("display:none")
+					|| style.contains("visibility:hidden")) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public Point getLocation() {
+		checkFresh();
+		return new Point(0, 0);
+	}
+
+	@Override
+	public Dimension getSize() {
+		checkFresh();
+		return new Dimension(0, 0);
+	}
+
+	@Override
+	public Rectangle getRect() {
+		return new Rectangle(getLocation(), getSize());
+	}
+
+	@Override
+	public String getCssValue(final String propertyName) {
+		checkFresh();
+		return "";
+	}
+
+	@Override
+	public <X> X getScreenshotAs(final OutputType<X> target) {
+		return target.convertFromPngBytes(new byte[0]);
+	}
+
+	@Override
+	public String toString() {
+		return "[JsoupWebElement " + describe() + "]";
+	}
+
+	/**
+	 * Fail if the driver has moved on to another page.
+	 */
+	private void checkFresh() {
+		driver.checkOpen();
+		if (generation != driver.getGeneration()) {
+			throw new StaleElementReferenceException(
+					"The page of " + describe() + " is no longer loaded");
+		}
+	}
+
+	/**
+	 * Find the form this element belongs to.
+	 * @return The {@link FormElement }, or null.
+	 */
+	private FormElement form() {
+		String owner = element.attr("form");
+		if (!owner.isEmpty()) {
+			Element byId = element.ownerDocument() == null
+					? null
+					: element.ownerDocument().getElementById(owner);
+			if (byId instanceof FormElement) {
+				return (FormElement) byId;
+			}
+		}
+		Element closest = element.closest("form");
+		return closest instanceof FormElement ? (FormElement) closest : null;
+	}
+
+	/**
+	 * Whether clicking this element submits its form.
+	 * @return True for submit inputs and buttons.
+	 */
+	private boolean isSubmitButton() {
+		String type = element.attr("type").toLowerCase(Locale.ROOT);
+		if ("button".equals(element.normalName())) {
+			return type.isEmpty() || "submit".equals(type);
+		}
+		return "input".equals(element.normalName())
+				&& ("submit".equals(type) || "image".equals(type));
+	}
+
+	/**
+	 * Retrieve the current value of a form control.
+	 * @return The value.
+	 */
+	private String getValue() {
+		return "textarea".equals(element.normalName())
+				? element.wholeText()
+				: element.attr("value");
+	}
+
+	/**
+	 * Set the value of a form control.
+	 * @param value The value.
+	 */
+	private void setValue(final String value) {
+		if ("textarea".equals(element.normalName())) {
+			element.text(value);
+		} else {
+			element.attr("value", value);
+		}
+	}
+
+	/**
+	 * Set or remove a boolean attribute.
+	 * @param attribute The attribute.
+	 * @param on Whether it is set.
+	 */
+	private void toggle(final String attribute, final boolean on) {
+		if (on) {
+			element.attr(attribute, true);
+		} else {
+			element.removeAttr(attribute);
+		}
+	}
+
+	/**
+	 * Describe the element for messages.
+	 * @return The tag, id and name of the element.
+	 */
+	private String describe() {
+		return "<" + element.normalName()
+				+ (element.id().isEmpty() ? "" : " id=" + element.id())
+				+ (element.hasAttr("name") ? " name=" + element.attr("name") : "")
+				+ ">";
+	}
+}
@@ -0,0 +1,170 @@
+package com.sauceLab.utilities;
+
+import com.google.gson.JsonObject;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of durations in nanoseconds. Values are counted
+ * in log-linear buckets (16 buckets per power of two, so a percentile is
+ * within about 6% of the recorded value) which keeps recording to a couple
+ * of atomic increments and the memory fixed, however many values are
+ * recorded.
+ */
+public final class LatencyHistogram {
+
+	/**
+	 * The number of bits of a value kept below its leading bit.
+	 */
+	private static final int SUB_BUCKET_BITS = 4;
+
+	/**
+	 * The number of buckets per power of two.
+	 */
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	/**
+	 * Enough buckets for any positive long.
+	 */
+	private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS + 1)
+			* SUB_BUCKETS;
+
+	/**
+	 * The count of values in each bucket.
+	 */
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+	/**
+	 * The number of recorded values.
+	 */
+	private final LongAdder count = new LongAdder();
+
+	/**
+	 * The sum of the recorded values.
+	 */
+	private final LongAdder sum = new LongAdder();
+
+	/**
+	 * The largest recorded value.
+	 */
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+	/**
+	 * Record a duration.
+	 * @param nanos The duration in nanoseconds, negative values count as 0.
+	 */
+	public void record(final long nanos) {
+		long value = Math.max(0, nanos);
+		counts.incrementAndGet(bucketOf(value));
+		count.increment();
+		sum.add(value);
+		max.accumulate(value);
+	}
+
+	/**
+	 * Retrieve the number of recorded values.
+	 * @return The count.
+	 */
+	public long getCount() {
+		return count.sum();
+	}
+
+	/**
+	 * Retrieve the sum of the recorded values.
+	 * @return The total in nanoseconds.
+	 */
+	public long getTotalNanos() {
+		return sum.sum();
+	}
+
+	/**
+	 * Retrieve the largest recorded value.
+	 * @return The maximum in nanoseconds.
+	 */
+	public long getMaxNanos() {
+		return max.get();
+	}
+
+	/**
+	 * Estimate the value below which the 'percentile' of the recorded
+	 * values fall.
+	 * @param percentile The percentile, from 0 to 100.
+	 * @return The value in nanoseconds, or 0 if nothing was recorded.
+	 */
+	public long getPercentileNanos(final double percentile) {
+		long total = getCount();
+		if (0 == total) {
+			return 0;
+		}
+		long rank = Math.max(1,
+				(long) Math.ceil(total * Math.min(100, percentile) / 100.0));
+		long seen = 0;
+		for (int bucket = 0; bucket < BUCKETS; bucket++) {
+			seen += counts.get(bucket);
+			if (seen >= rank) {
+				return Math.min(middleOf(bucket), getMaxNanos());
+			}
+		}
+		return getMaxNanos();
+	}
+
+	/**
+	 * Summarise the histogram in milliseconds.
+	 * @return A {@link JsonObject } with the count, total, mean, p50, p90,
+	 * p99 and max.
+	 */
+	public JsonObject toJson() {
+		JsonObject json = new JsonObject();
+		long total = getCount();
+		json.addProperty("count", total);
+		json.addProperty("total_ms", millis(getTotalNanos()));
+		json.addProperty("mean_ms", 0 == total
+				? 0
+				: millis(getTotalNanos() / total));
+		json.addProperty("p50_ms", millis(getPercentileNanos(50)));
+		json.addProperty("p90_ms", millis(getPercentileNanos(90)));
+		json.addProperty("p99_ms", millis(getPercentileNanos(99)));
+		json.addProperty("max_ms", millis(getMaxNanos()));
+		return json;
+	}
+
+	/**
+	 * Convert nanoseconds to milliseconds rounded to a microsecond.
+	 * @param nanos The nanoseconds.
+	 * @return The milliseconds.
+	 */
+	public static double millis(final long nanos) {
+		return Math.round(nanos / 1_000.0) / 1_000.0;
+	}
+
+	/**
+	 * Find the bucket of a value.
+	 * @param value A value of at least 0.
+	 * @return The index of the bucket.
+	 */
+	private static int bucketOf(final long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value))
+				- SUB_BUCKET_BITS;
+		int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+		return (shift + 1) * SUB_BUCKETS + subBucket;
+	}
+
+	/**
+	 * Find the value in the middle of a bucket.
+	 * @param bucket The index of the bucket.
+	 * @return The value.
+	 */
+	private static long middleOf(final int bucket) {
+		if (bucket < SUB_BUCKETS) {
+			return bucket;
+		}
+		int shift = bucket / SUB_BUCKETS - 1;
+		long lower = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+		return lower + ((1L << shift) >>> 1);
+	}
+}
@@ -2,6 +2,8 @@ package com.sauceLab.utilities;
 
 import org.openqa.selenium.MutableCapabilities;
 import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxOptions;
@@ -12,13 +14,33 @@ import org.openqa.selenium.remote.RemoteWebDriver;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 
 import static com.sauceLab.utilities.TestConstants.DOCKER_GRID_URL;
+import static com.sauceLab.utilities.TestConstants.SESSION_POOL_ENABLED;
+import static com.sauceLab.utilities.TestConstants.SESSION_POOL_IDLE_TTL;
+import static com.sauceLab.utilities.TestConstants.SESSION_POOL_MAX_REUSE;
+import static com.sauceLab.utilities.TestConstants.SESSION_POOL_MAX_SIZE;
+import static com.sauceLab.utilities.TestConstants.SESSION_POOL_MIN_SIZE;
+import static com.sauceLab.utilities.TestConstants.SESSION_PREFETCH_ENABLED;
+import static com.sauceLab.utilities.TestConstants.WAIT_EXPLICIT;
 import static com.sauceLab.utilities.TestLogger.error;
 import static com.sauceLab.utilities.TestLogger.info;
+import static com.sauceLab.utilities.TestLogger.warn;
 
 public final class RemoteWebDriverFactory {
 
@@ -81,45 +103,300 @@ public final class RemoteWebDriverFactory {
 	}
 
 	/**
-	 * The singleton Remote Web Driver Object that will be used for this
+	 * The singleton Web Driver Object that will be used for this
 	 * test.
 	 */
-	private static final ThreadLocal<RemoteWebDriver> REMOTE_WEB_DRIVER
+	private static final ThreadLocal<WebDriver> REMOTE_WEB_DRIVER
 			= new ThreadLocal<>();
 
+	/**
+	 * The warm session pools, one per browser.
+	 */
+	private static final Map<String, WebDriverSessionPool> SESSION_POOLS
+			= new ConcurrentHashMap<>();
+
+	/**
+	 * Sessions being prepared in the background for the next scenario to
+	 * start, in the order they were requested.
+	 */
+	private static final ConcurrentLinkedQueue<CompletableFuture<WebDriver>>
+			PREFETCHED_SESSIONS = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * Runs the session prefetches, which spend their time waiting on the
+	 * Grid.
+	 */
+	private static final ExecutorService PREFETCH_EXECUTOR
+			= Executors.newThreadPerTaskExecutor(Thread.ofVirtual()
+			.name("session-prefetch-", 0)
+			.factory());
+
+	/**
+	 * The number of scenarios that have not asked for a driver yet, or -1
+	 * if that is unknown. Prefetching stops once every remaining scenario
+	 * already has a session on the way.
+	 */
+	private static final AtomicInteger SCENARIOS_REMAINING
+			= new AtomicInteger(-1);
+
+	/**
+	 * Whether the WebDriver of this thread was prefetched and is already
+	 * sitting on the product URL.
+	 */
+	private static final ThreadLocal<Boolean> ON_LANDING_PAGE
+			= ThreadLocal.withInitial(() -> false);
+
 	/***
 	 * Returns a Thread safe WebDriver instance of the flavour passed
 	 * through the 'browser' parameter in the Suite file.
 	 * @return - The instantiated {@link ThreadLocal }
-	 * {@link RemoteWebDriver } object ready to take instructions
-	 * from a test.
+	 * {@link WebDriver } object ready to take instructions
+	 * from a test. This is a {@link RemoteWebDriver } on the Grid, or a
+	 * {@link JsoupWebDriver } for the browser 'jsoup'.
 	 */
-	public static RemoteWebDriver getDriver() {
+	public static WebDriver getDriver() {
 		return setDriver(mBrowser);
 	}
 
+	/**
+	 * Retrieve the session behind the WebDriver handed to this thread by
+	 * {@link #getDriver()}, without the command trace, for calls made on
+	 * other threads on the scenario's behalf.
+	 * @return The session, or null if none was handed out.
+	 */
+	public static WebDriver getSession() {
+		return REMOTE_WEB_DRIVER.get();
+	}
+
+	/**
+	 * Whether the WebDriver handed to this thread by {@link #getDriver()}
+	 * was prefetched and has already navigated to the product URL.
+	 * @return True if the navigation to the product URL can be skipped.
+	 */
+	public static boolean isOnLandingPage() {
+		return ON_LANDING_PAGE.get();
+	}
+
+	/**
+	 * Set the number of scenarios in this run so that no more sessions are
+	 * prefetched than there are scenarios left to use them.
+	 * @param scenarioCount The number of scenarios.
+	 */
+	public static void setScenarioCount(final int scenarioCount) {
+		SCENARIOS_REMAINING.set(scenarioCount);
+	}
+
+	/**
+	 * Start preparing a session for the next scenario in the background:
+	 * the session is created (or leased from the pool) and navigated to
+	 * the 'landingUrl' while the current scenario tears down. Sessions are
+	 * only prefetched from the pool, so they count against its maximum
+	 * size instead of adding to the sessions the scenarios already hold.
+	 * @param landingUrl The URL the next scenario starts on.
+	 */
+	public static void prefetchDriver(final String landingUrl) {
+		if (!SESSION_PREFETCH_ENABLED || !SESSION_POOL_ENABLED) {
+			return;
+		}
+		int remaining = SCENARIOS_REMAINING.get();
+		if (remaining >= 0 && PREFETCHED_SESSIONS.size() >= remaining) {
+			return;
+		}
+
+		String browser = mBrowser;
+		PREFETCHED_SESSIONS.add(CompletableFuture.supplyAsync(() -> {
+			WebDriver driver = acquireSession(browser);
+			if (null != driver && null != landingUrl
+					&& !landingUrl.isEmpty()) {
+				driver.navigate().to(landingUrl);
+			}
+			return driver;
+		}, PREFETCH_EXECUTOR));
+	}
+
+	/**
+	 * Hand the WebDriver of this thread back. A pooled session is reset
+	 * and returned to its pool, any other session is quit.
+	 */
+	public static void releaseDriver() {
+		WebDriver driver = REMOTE_WEB_DRIVER.get();
+		REMOTE_WEB_DRIVER.remove();
+		ON_LANDING_PAGE.remove();
+		CommandTraceRecorder.endScenario();
+
+		if (null != driver) {
+			returnSession(driver);
+		}
+	}
+
+	/**
+	 * Quit the WebDriver of this thread instead of handing it back, for a
+	 * session that may still be running a command. A pooled session frees
+	 * its slot for a new one.
+	 */
+	public static void discardDriver() {
+		WebDriver driver = REMOTE_WEB_DRIVER.get();
+		REMOTE_WEB_DRIVER.remove();
+		ON_LANDING_PAGE.remove();
+		CommandTraceRecorder.endScenario();
+
+		if (null == driver) {
+			return;
+		}
+		WebDriverSessionPool pool = SESSION_POOL_ENABLED
+				? SESSION_POOLS.get(mBrowser)
+				: null;
+		if (null != pool && driver instanceof RemoteWebDriver) {
+			pool.discard((RemoteWebDriver) driver);
+		} else {
+			try {
+				driver.quit();
+			} catch (WebDriverException e) {
+				warn("Failed to quit a discarded session : " + e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Count the sessions waiting in the session pools to be leased.
+	 * @return The number of idle pooled sessions, 0 without a pool.
+	 */
+	public static int idleSessions() {
+		return SESSION_POOLS.values().stream()
+				.mapToInt(WebDriverSessionPool::idleSessions)
+				.sum();
+	}
+
+	/**
+	 * Quit every session still held by the session pools, including the
+	 * prefetched sessions no scenario picked up.
+	 */
+	public static void shutdown() {
+		CompletableFuture<WebDriver> prefetched;
+		while (null != (prefetched = PREFETCHED_SESSIONS.poll())) {
+			WebDriver driver = awaitPrefetched(prefetched);
+			if (null != driver) {
+				returnSession(driver);
+			}
+		}
+
+		SESSION_POOLS.values().forEach(WebDriverSessionPool::shutdown);
+		SESSION_POOLS.clear();
+	}
+
 	/**
 	 * Instantiates the RemoteWebDriver to the capabilities passed
 	 * through the parameters.
 	 * @param browser - The Browser Brand
 	 *                   example(chrome, firefox, edge).
 
-	 * @return A set-up {@link RemoteWebDriver } that is connecting
+	 * @return A set-up {@link WebDriver } that is connecting
 	 * to the intended GRID.
 	 */
-	private static RemoteWebDriver setDriver(
+	private static WebDriver setDriver(
 			final String browser) {
 
-		instantiateWebDriverWithDocker(browser);
+		SCENARIOS_REMAINING.updateAndGet(left -> left > 0 ? left - 1 : left);
 
-		if (null != REMOTE_WEB_DRIVER.get()) {
-			REMOTE_WEB_DRIVER.get()
-					.manage()
-					.window()
-					.maximize();
+		WebDriver driver = null;
+		CompletableFuture<WebDriver> prefetched
+				= PREFETCHED_SESSIONS.poll();
+		if (null != prefetched) {
+			driver = awaitPrefetched(prefetched);
 		}
+		ON_LANDING_PAGE.set(null != driver);
 
-		return REMOTE_WEB_DRIVER.get();
+		if (null == driver) {
+			driver = acquireSession(browser);
+		}
+		REMOTE_WEB_DRIVER.set(driver);
+
+		// the session itself stays in REMOTE_WEB_DRIVER so that it is
+		// released untraced
+		return CommandTraceRecorder.trace(REMOTE_WEB_DRIVER.get());
+	}
+
+	/**
+	 * Lease a session from the pool of the 'browser', or create one when
+	 * pooling is switched off. A jsoup session is cheap enough to always
+	 * create.
+	 * @param browser - The Browser Brand
+	 *                   example(chrome, firefox, edge, jsoup).
+	 * @return A {@link WebDriver } connected to the Grid, or a
+	 * {@link JsoupWebDriver }.
+	 */
+	private static WebDriver acquireSession(final String browser) {
+		if (JsoupWebDriver.BROWSER_NAME.equals(browser)) {
+			return new JsoupWebDriver();
+		}
+		if (SESSION_POOL_ENABLED) {
+			return SESSION_POOLS
+					.computeIfAbsent(browser, RemoteWebDriverFactory::newPool)
+					.lease();
+		}
+		return instantiateWebDriverWithDocker(browser);
+	}
+
+	/**
+	 * Give a session back to the pool it was leased from, or quit it when
+	 * pooling is switched off.
+	 * @param driver The session.
+	 */
+	private static void returnSession(final WebDriver driver) {
+		WebDriverSessionPool pool = SESSION_POOL_ENABLED
+				? SESSION_POOLS.get(mBrowser)
+				: null;
+		if (null != pool && driver instanceof RemoteWebDriver) {
+			pool.release((RemoteWebDriver) driver);
+		} else {
+			driver.quit();
+		}
+	}
+
+	/**
+	 * Wait for a prefetched session to be ready.
+	 * @param prefetched The prefetch.
+	 * @return The prefetched {@link WebDriver }, or null if the
+	 * prefetch failed and a session should be created the usual way.
+	 */
+	private static WebDriver awaitPrefetched(
+			final CompletableFuture<WebDriver> prefetched) {
+		try {
+			return prefetched.get(WAIT_EXPLICIT, TimeUnit.SECONDS);
+		} catch (ExecutionException | CompletionException e) {
+			warn("A prefetched session could not be prepared : "
+					+ e.getCause());
+		} catch (TimeoutException e) {
+			warn("A prefetched session was not ready within ["
+					+ WAIT_EXPLICIT + "] seconds");
+			// Whoever prepares it late still has to give it back
+			prefetched.thenAccept(driver -> {
+				if (null != driver) {
+					returnSession(driver);
+				}
+			});
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return null;
+	}
+
+	/**
+	 * Create and warm the session pool for the 'browser'.
+	 * @param browser - The Browser Brand
+	 *                   example(chrome, firefox, edge).
+	 * @return A {@link WebDriverSessionPool } for the browser.
+	 */
+	private static WebDriverSessionPool newPool(final String browser) {
+		WebDriverSessionPool pool = new WebDriverSessionPool(browser,
+				() -> instantiateWebDriverWithDocker(browser),
+				SESSION_POOL_MIN_SIZE,
+				SESSION_POOL_MAX_SIZE,
+				SESSION_POOL_MAX_REUSE,
+				Duration.ofSeconds(SESSION_POOL_IDLE_TTL),
+				Duration.ofSeconds(WAIT_EXPLICIT));
+		pool.warmUp();
+		return pool;
 	}
 
 	/**
@@ -127,8 +404,10 @@ public final class RemoteWebDriverFactory {
 	 * through the parameters.
 	 * @param browser - The Browser Brand
 	 *                   example(chrome, firefox, edge).
+	 * @return A maximised {@link RemoteWebDriver } connected to the Grid,
+	 * or null if the session could not be created.
 	 */
-	private static void instantiateWebDriverWithDocker(String browser) {
+	private static RemoteWebDriver instantiateWebDriverWithDocker(String browser) {
 		String infoStatement = "Working in a []] container, setting up driver for [" + browser;
 
 		info(infoStatement);
@@ -155,27 +434,37 @@ public final class RemoteWebDriverFactory {
 
         options = options.merge(options);
 
+		RemoteWebDriver driver = null;
+		long creationStart = System.nanoTime();
         try {
 			if (null != options) {
-				REMOTE_WEB_DRIVER.set(
-						new RemoteWebDriver(new URL(DOCKER_GRID_URL), options));
+				driver = new RemoteWebDriver(GridHttpTransport
+						.commandExecutor(new URL(DOCKER_GRID_URL)), options);
 			}
+			GridConcurrencyController.recordSessionCreation(
+					System.nanoTime() - creationStart, null != driver);
 
 			// If the Web Driver has been set
-			if (null != REMOTE_WEB_DRIVER.get()){
+			if (null != driver){
 				// Set this below to ensure that files can be found when using a dockerized grid
-				REMOTE_WEB_DRIVER.get().setFileDetector(new LocalFileDetector());
+				driver.setFileDetector(new LocalFileDetector());
 			}
 
 		} catch (MalformedURLException e) {
 			error("\nMalformed URL Exception while connecting to the Selenium GRID Hub\n" + e.getMessage());
 		} catch (SessionNotCreatedException e) {
+			GridConcurrencyController.recordSessionCreation(
+					System.nanoTime() - creationStart, false);
 			error("Selenium Grid was unable to create a session using the following capabilities: \n"
 					+ "BrowserName = " + browser, e);
 		}
-        if (null != REMOTE_WEB_DRIVER.get()) {
+        if (null != driver) {
 			info("Remote WebDriver has connected to the Grid");
+			driver.manage()
+					.window()
+					.maximize();
 		}
 
+		return driver;
 	}
 }
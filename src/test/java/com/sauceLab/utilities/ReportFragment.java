@@ -0,0 +1,201 @@
+package com.sauceLab.utilities;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Builds a piece of HTML for the Cucumber report in one growing buffer,
+ * instead of copying the whole text on every String +=. Values are
+ * escaped unless appended with {@link #raw }, and repeated markup is
+ * written from {@link Template }s compiled once. The buffers are pooled
+ * across threads, so a fragment must be built or closed once, and not
+ * used after that.
+ */
+public final class ReportFragment implements AutoCloseable {
+
+	/**
+	 * The most buffers kept for reuse.
+	 */
+	private static final int POOL_SIZE = 16;
+
+	/**
+	 * The largest buffer kept for reuse, in chars; larger ones are left to
+	 * the garbage collector.
+	 */
+	private static final int MAX_POOLED_CHARS = 1 << 20;
+
+	/**
+	 * The buffers of the fragments built so far.
+	 */
+	private static final Queue<StringBuilder> POOL
+			= new ArrayBlockingQueue<>(POOL_SIZE);
+
+	/**
+	 * The buffer of this fragment, null once built.
+	 */
+	private StringBuilder buffer;
+
+	/**
+	 * @param html The buffer to write to.
+	 */
+	private ReportFragment(final StringBuilder html) {
+		this.buffer = html;
+	}
+
+	/**
+	 * Start a fragment, on a pooled buffer if there is one.
+	 * @return The empty fragment.
+	 */
+	public static ReportFragment open() {
+		StringBuilder html = POOL.poll();
+		return new ReportFragment(null == html ? new StringBuilder(1024) : html);
+	}
+
+	/**
+	 * Append markup as it is.
+	 * @param html The markup.
+	 * @return This fragment.
+	 */
+	public ReportFragment raw(final CharSequence html) {
+		buffer.append(html);
+		return this;
+	}
+
+	/**
+	 * Append a value escaped for HTML.
+	 * @param value The value, written as its String.
+	 * @return This fragment.
+	 */
+	public ReportFragment text(final Object value) {
+		escape(String.valueOf(value), buffer);
+		return this;
+	}
+
+	/**
+	 * Append a template, each {} replaced by the next value escaped.
+	 * @param template The template.
+	 * @param values One value per {} of the template.
+	 * @return This fragment.
+	 * @throws IllegalArgumentException If the number of values is wrong.
+	 */
+	public ReportFragment append(final Template template, final Object... values) {
+		template.render(buffer, values);
+		return this;
+	}
+
+	/**
+	 * Retrieve the length of the fragment.
+	 * @return The number of chars written.
+	 */
+	public int length() {
+		return buffer.length();
+	}
+
+	/**
+	 * Finish the fragment and return its buffer to the pool.
+	 * @return The HTML.
+	 */
+	public String build() {
+		String html = buffer.toString();
+		close();
+		return html;
+	}
+
+	/**
+	 * Finish the fragment by writing it to the 'out' without making a String
+	 * of it, and return its buffer to the pool.
+	 * @param out Where to write the HTML.
+	 * @throws IOException If the write fails.
+	 */
+	public void writeTo(final Appendable out) throws IOException {
+		try {
+			out.append(buffer);
+		} finally {
+			close();
+		}
+	}
+
+	/**
+	 * Give the buffer back to the pool without building the fragment.
+	 */
+	@Override
+	public void close() {
+		if (null != buffer && buffer.capacity() <= MAX_POOLED_CHARS) {
+			buffer.setLength(0);
+			POOL.offer(buffer);
+		}
+		buffer = null;
+	}
+
+	/**
+	 * Append the 'text' escaped for HTML.
+	 * @param text The text.
+	 * @param html Where to append it.
+	 */
+	static void escape(final String text, final StringBuilder html) {
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			switch (c) {
+				case '<' -> html.append("&lt;");
+				case '>' -> html.append("&gt;");
+				case '&' -> html.append("&amp;");
+				case '"' -> html.append("&quot;");
+				default -> html.append(c);
+			}
+		}
+	}
+
+	/**
+	 * Markup with {} where values go, split once into its fixed parts.
+	 */
+	public static final class Template {
+
+		/**
+		 * The markup around and between the values.
+		 */
+		private final String[] parts;
+
+		/**
+		 * @param parts The markup around and between the values.
+		 */
+		private Template(final String[] parts) {
+			this.parts = parts;
+		}
+
+		/**
+		 * Compile the 'pattern'.
+		 * @param pattern The markup, with a {} where each value goes.
+		 * @return The template.
+		 */
+		public static Template compile(final String pattern) {
+			List<String> parts = new ArrayList<>();
+			int start = 0;
+			for (int at = pattern.indexOf("{}"); at >= 0; at = pattern.indexOf("{}", start)) {
+				parts.add(pattern.substring(start, at));
+				start = at + 2;
+			}
+			parts.add(pattern.substring(start));
+			return new Template(parts.toArray(new String[0]));
+		}
+
+		/**
+		 * Write the template with the 'values' to the 'html'.
+		 * @param html Where to write.
+		 * @param values One value per {}.
+		 */
+		private void render(final StringBuilder html, final Object[] values) {
+			if (values.length != parts.length - 1) {
+				throw new IllegalArgumentException("The template expects "
+						+ (parts.length - 1) + " values, not " + values.length);
+			}
+			html.append(parts[0]);
+			for (int i = 0; i < values.length; i++) {
+				escape(String.valueOf(values[i]), html);
+				html.append(parts[i + 1]);
+			}
+		}
+	}
+}
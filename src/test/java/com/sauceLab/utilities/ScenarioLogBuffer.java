@@ -0,0 +1,170 @@
+package com.sauceLab.utilities;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the log events of each scenario in memory, keyed by the
+ * test-case-id MDC, so the scenario's log can be attached to the Cucumber
+ * report when it ends without reading its HTML log file back. Each
+ * scenario keeps at most 'capacity' events: once full, the oldest are
+ * overwritten and counted as dropped. Registered in logback-test.xml.
+ */
+public final class ScenarioLogBuffer extends AppenderBase<ILoggingEvent> {
+
+	/**
+	 * The MDC key of the scenario an event belongs to.
+	 */
+	public static final String KEY = "test-case-id";
+
+	/**
+	 * A row of the table, on a white background.
+	 */
+	private static final ReportFragment.Template EVEN_ROW
+			= ReportFragment.Template.compile(
+			"<tr style=\"background: #ffffff; color: #000000;\">"
+					+ "<td>{}</td><td>{}</td><td style=\"white-space: pre-wrap;\">{}</td></tr>");
+
+	/**
+	 * A row of the table, on a grey background.
+	 */
+	private static final ReportFragment.Template ODD_ROW
+			= ReportFragment.Template.compile(
+			"<tr style=\"background: #eaeaea; color: #000000;\">"
+					+ "<td>{}</td><td>{}</td><td style=\"white-space: pre-wrap;\">{}</td></tr>");
+
+	/**
+	 * The row counting the events dropped from a full buffer.
+	 */
+	private static final ReportFragment.Template DROPPED_ROW
+			= ReportFragment.Template.compile(
+			"<tr><td colspan=\"3\">{} earlier events were dropped</td></tr>");
+
+	/**
+	 * The buffered events of each running scenario.
+	 */
+	private static final Map<String, Ring> BUFFERS = new ConcurrentHashMap<>();
+
+	/**
+	 * The capacity of the buffer of each scenario, set by the configuration.
+	 */
+	private static volatile int capacity = 2000;
+
+	/**
+	 * Set the most events kept per scenario.
+	 * @param events The capacity, from the 'capacity' element of the
+	 * appender in logback-test.xml.
+	 */
+	public void setCapacity(final int events) {
+		capacity = Math.max(1, events);
+	}
+
+	/**
+	 * Keep the event in the buffer of its scenario.
+	 * @param event The logging event.
+	 */
+	@Override
+	protected void append(final ILoggingEvent event) {
+		String id = event.getMDCPropertyMap().get(KEY);
+		if (null == id) {
+			return;
+		}
+		BUFFERS.computeIfAbsent(id, key -> new Ring(capacity))
+				.add(event.getTimeStamp(), event.getLevel(), event.getFormattedMessage());
+	}
+
+	/**
+	 * Remove the events of a scenario and render them into the 'html' as a
+	 * table, in the columns of the HTML log file, black on alternating rows.
+	 * @param id The test-case-id of the scenario.
+	 * @param html The fragment to render the table, or a note if nothing
+	 * was logged, into.
+	 */
+	public static void drain(final String id, final ReportFragment html) {
+		Ring ring = null == id ? null : BUFFERS.remove(id);
+		if (null == ring) {
+			html.raw("<p>There were no framework logs to add</p>");
+			return;
+		}
+		ring.render(html);
+	}
+
+	/**
+	 * The events of one scenario, oldest overwritten first.
+	 */
+	private static final class Ring {
+
+		/**
+		 * The times of the events.
+		 */
+		private final long[] times;
+
+		/**
+		 * The levels of the events.
+		 */
+		private final Level[] levels;
+
+		/**
+		 * The messages of the events.
+		 */
+		private final String[] messages;
+
+		/**
+		 * The number of events added.
+		 */
+		private long added;
+
+		/**
+		 * @param size The most events kept.
+		 */
+		private Ring(final int size) {
+			this.times = new long[size];
+			this.levels = new Level[size];
+			this.messages = new String[size];
+		}
+
+		/**
+		 * Add an event, overwriting the oldest if full.
+		 * @param time The time of the event.
+		 * @param level The level.
+		 * @param message The formatted message.
+		 */
+		private synchronized void add(final long time,
+									  final Level level,
+									  final String message) {
+			int slot = (int) (added++ % times.length);
+			times[slot] = time;
+			levels[slot] = level;
+			messages[slot] = message;
+		}
+
+		/**
+		 * Render the events, oldest first.
+		 * @param html The fragment to render the table into.
+		 */
+		private synchronized void render(final ReportFragment html) {
+			int kept = (int) Math.min(added, times.length);
+			long first = added - kept;
+			SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss,SSS");
+			html.raw("<table cellspacing=\"0\" cellpadding=\"4\" border=\"1\">")
+					.raw("<tr><th>Date</th><th>Level</th><th>Message</th></tr>");
+			if (first > 0) {
+				html.append(DROPPED_ROW, first);
+			}
+			for (long i = first; i < added; i++) {
+				int slot = (int) (i % times.length);
+				html.append(i % 2 == 0 ? EVEN_ROW : ODD_ROW,
+						format.format(new Date(times[slot])),
+						levels[slot],
+						null == messages[slot] ? "" : messages[slot]);
+			}
+			html.raw("</table>");
+		}
+	}
+}
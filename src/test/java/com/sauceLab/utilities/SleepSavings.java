@@ -0,0 +1,121 @@
+package com.sauceLab.utilities;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.sauceLab.utilities.TestLogger.info;
+import static com.sauceLab.utilities.TestLogger.warn;
+
+/**
+ * How much sleeping the zero-sleep mode removed. Every standard wait that
+ * waited on a readiness condition instead of sleeping records how long it
+ * actually took against the sleep it replaced, per calling page method.
+ */
+public final class SleepSavings {
+
+	/**
+	 * There should be no instance of this class.
+	 */
+	private SleepSavings() { }
+
+	/**
+	 * The waits of each call site, keyed by the calling method.
+	 */
+	private static final Map<String, CallSite> CALL_SITES
+			= new ConcurrentHashMap<>();
+
+	/**
+	 * Record a readiness wait that replaced a sleep.
+	 * @param callSite The page method that waited.
+	 * @param sleepNanos The sleep it replaced, in nanoseconds.
+	 * @param waitedNanos How long it waited, in nanoseconds.
+	 */
+	public static void record(final String callSite,
+							  final long sleepNanos,
+							  final long waitedNanos) {
+		CallSite site = CALL_SITES.computeIfAbsent(callSite,
+				name -> new CallSite());
+		site.waited.record(waitedNanos);
+		site.saved.add(Math.max(0, sleepNanos - waitedNanos));
+	}
+
+	/**
+	 * Write the sleep time removed in this run to the 'report' as JSON,
+	 * largest saving first, and log the total.
+	 * @param report The file to write the summary to.
+	 */
+	public static void writeReport(final Path report) {
+		if (CALL_SITES.isEmpty()) {
+			return;
+		}
+
+		JsonObject summary = new JsonObject();
+		JsonObject sites = new JsonObject();
+		long totalSaved = 0;
+		long totalWaits = 0;
+		StringBuilder table = new StringBuilder(
+				"\nSleep removed by zero-sleep mode"
+				+ "\ncall site                     waits  waited p50  waited p99    saved (s)");
+		for (Map.Entry<String, CallSite> entry : CALL_SITES.entrySet()
+				.stream()
+				.sorted(Comparator.comparingLong(
+						(Map.Entry<String, CallSite> e)
+								-> e.getValue().saved.sum()).reversed())
+				.toList()) {
+			CallSite site = entry.getValue();
+			JsonObject json = site.waited.toJson();
+			json.addProperty("saved_ms", LatencyHistogram.millis(site.saved.sum()));
+			sites.add(entry.getKey(), json);
+			totalSaved += site.saved.sum();
+			totalWaits += site.waited.getCount();
+			table.append(String.format(
+					"%n%-27s %7d %11.1f %11.1f %12.1f",
+					entry.getKey(),
+					site.waited.getCount(),
+					LatencyHistogram.millis(site.waited.getPercentileNanos(50)),
+					LatencyHistogram.millis(site.waited.getPercentileNanos(99)),
+					site.saved.sum() / 1e9));
+		}
+		summary.addProperty("waits", totalWaits);
+		summary.addProperty("saved_ms", LatencyHistogram.millis(totalSaved));
+		summary.add("call_sites", sites);
+		table.append(String.format("%nTotal sleep removed : %.1f s over %d waits",
+				totalSaved / 1e9, totalWaits));
+		info(table.toString());
+
+		try {
+			Files.createDirectories(report.getParent());
+			Files.writeString(report, new GsonBuilder()
+					.setPrettyPrinting()
+					.create()
+					.toJson(summary));
+		} catch (IOException e) {
+			warn("Could not write the sleep savings report : "
+					+ e.getMessage());
+		}
+	}
+
+	/**
+	 * The waits of one call site.
+	 */
+	private static final class CallSite {
+
+		/**
+		 * How long the waits took.
+		 */
+		private final LatencyHistogram waited = new LatencyHistogram();
+
+		/**
+		 * The sleep removed, in nanoseconds.
+		 */
+		private final LongAdder saved = new LongAdder();
+	}
+}
@@ -0,0 +1,146 @@
+package com.sauceLab.utilities;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestStep;
+import io.cucumber.plugin.event.TestStepFinished;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.sauceLab.utilities.TestLogger.info;
+import static com.sauceLab.utilities.TestLogger.warn;
+
+/**
+ * Records how long every step and hook took, in a {@link LatencyHistogram }
+ * per step definition: steps are keyed by the pattern of the definition
+ * they matched, so all the scenarios using it add up together, and hooks
+ * by their type and method. When the run finishes the count, p50, p90, p99
+ * and max of each are written as JSON, slowest in total first, to the file
+ * given after the plugin's name in the plugins of the suite runners.
+ */
+public final class StepLatencyPlugin implements ConcurrentEventListener {
+
+	/**
+	 * The durations of each step definition and hook.
+	 */
+	private final Map<String, Timings> steps = new ConcurrentHashMap<>();
+
+	/**
+	 * The file the JSON is written to.
+	 */
+	private final Path report;
+
+	/**
+	 * Cucumber creates the plugin with the file named after its class name.
+	 * @param reportFile The file to write the JSON to.
+	 */
+	public StepLatencyPlugin(final File reportFile) {
+		this.report = reportFile.toPath();
+	}
+
+	/**
+	 * Register for the step and run events.
+	 * @param publisher The publisher of the events.
+	 */
+	@Override
+	public void setEventPublisher(final EventPublisher publisher) {
+		publisher.registerHandlerFor(TestStepFinished.class, this::stepFinished);
+		publisher.registerHandlerFor(TestRunFinished.class, event -> writeReport());
+	}
+
+	/**
+	 * Record the duration of a step or hook.
+	 * @param event The step that finished.
+	 */
+	private void stepFinished(final TestStepFinished event) {
+		TestStep step = event.getTestStep();
+		steps.computeIfAbsent(keyOf(step), key -> new Timings(step.getCodeLocation()))
+				.histogram
+				.record(event.getResult().getDuration().toNanos());
+	}
+
+	/**
+	 * The pattern of a step's definition, or the type and method of a hook.
+	 * @param step The step.
+	 * @return The key its duration is recorded under.
+	 */
+	static String keyOf(final TestStep step) {
+		if (step instanceof PickleStepTestStep) {
+			String pattern = ((PickleStepTestStep) step).getPattern();
+			// an undefined step has no definition, keep it by its text
+			return null == pattern
+					? WaitProfilerPlugin.describe(step)
+					: pattern;
+		}
+		return WaitProfilerPlugin.describe(step);
+	}
+
+	/**
+	 * Write the percentiles of every step definition and hook.
+	 */
+	private void writeReport() {
+		if (steps.isEmpty()) {
+			return;
+		}
+
+		JsonObject summary = new JsonObject();
+		steps.entrySet().stream()
+				.sorted(Comparator.comparingLong(
+						(Map.Entry<String, Timings> e)
+								-> e.getValue().histogram.getTotalNanos()).reversed())
+				.forEach(e -> {
+					JsonObject json = e.getValue().histogram.toJson();
+					json.addProperty("location", e.getValue().location);
+					summary.add(e.getKey(), json);
+				});
+
+		try {
+			if (null != report.getParent()) {
+				Files.createDirectories(report.getParent());
+			}
+			Files.writeString(report, new GsonBuilder()
+					.setPrettyPrinting()
+					.disableHtmlEscaping()
+					.create()
+					.toJson(summary));
+			info("The step latencies were written to {}", report);
+		} catch (IOException e) {
+			warn("Could not write the step latency report : "
+					+ e.getMessage());
+		}
+	}
+
+	/**
+	 * The durations of one step definition or hook, and where it is.
+	 */
+	private static final class Timings {
+
+		/**
+		 * The durations.
+		 */
+		private final LatencyHistogram histogram = new LatencyHistogram();
+
+		/**
+		 * The glue method, as Cucumber names it.
+		 */
+		private final String location;
+
+		/**
+		 * @param codeLocation The glue method.
+		 */
+		private Timings(final String codeLocation) {
+			this.location = codeLocation;
+		}
+	}
+}
@@ -0,0 +1,283 @@
+package com.sauceLab.utilities;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+
+import static com.sauceLab.utilities.TestConstants.STORAGE_STATE_CACHE_ENABLED;
+import static com.sauceLab.utilities.TestConstants.WAIT_EXPLICIT;
+import static com.sauceLab.utilities.TestConstants.ZERO_SLEEP_POLL_INTERVAL;
+import static com.sauceLab.utilities.TestLogger.error;
+import static com.sauceLab.utilities.TestLogger.info;
+import static com.sauceLab.utilities.TestLogger.warn;
+
+/**
+ * Logs each user in through the UI once per run and keeps what the login
+ * left in the browser (cookies and localStorage). Every later scenario
+ * for the same user has that storage state injected into its session
+ * instead of going through the login page again. Scenarios that ask for
+ * the same user at the same time wait for the one login in progress. A
+ * state the product no longer accepts is dropped and the user is logged
+ * in through the UI again.
+ */
+public final class StorageStateCache {
+
+	/**
+	 * There should be no instance of this class.
+	 */
+	private StorageStateCache() { }
+
+	/**
+	 * The storage state of each user, keyed by the username. A state is
+	 * complete once its login has finished.
+	 */
+	private static final Map<String, CompletableFuture<StorageState>> STATES
+			= new ConcurrentHashMap<>();
+
+	/**
+	 * Reads the whole of localStorage.
+	 */
+	private static final String READ_LOCAL_STORAGE
+			= "var state = {};"
+			+ "for (var i = 0; i < window.localStorage.length; i++) {"
+			+ "  var key = window.localStorage.key(i);"
+			+ "  state[key] = window.localStorage.getItem(key);"
+			+ "}"
+			+ "return state;";
+
+	/**
+	 * Writes the entries of arguments[0] to localStorage.
+	 */
+	private static final String WRITE_LOCAL_STORAGE
+			= "var state = arguments[0];"
+			+ "for (var key in state) {"
+			+ "  window.localStorage.setItem(key, state[key]);"
+			+ "}";
+
+	/**
+	 * Log the 'driver' in as the 'user'. The first scenario for a user runs
+	 * the 'uiLogin' and captures the resulting storage state; later
+	 * scenarios have the state injected and are sent to the 'landingUrl'.
+	 * @param driver The WebDriver of the scenario.
+	 * @param user The username.
+	 * @param uiLogin Logs in through the login page.
+	 * @param landingUrl The page a logged in user lands on.
+	 * @param isLoggedIn Whether the page shows something only a logged in
+	 *                   user sees.
+	 * @param isLoggedOut Whether the page shows the login form.
+	 */
+	public static void logIn(final WebDriver driver,
+							 final String user,
+							 final Runnable uiLogin,
+							 final String landingUrl,
+							 final Predicate<WebDriver> isLoggedIn,
+							 final Predicate<WebDriver> isLoggedOut) {
+		if (!STORAGE_STATE_CACHE_ENABLED) {
+			uiLogin.run();
+			return;
+		}
+
+		CompletableFuture<StorageState> login = new CompletableFuture<>();
+		CompletableFuture<StorageState> cached
+				= STATES.putIfAbsent(user, login);
+
+		if (null != cached) {
+			StorageState state = await(user, cached);
+			if (null != state) {
+				inject(driver, state);
+				driver.navigate().to(landingUrl);
+				if (awaitLogin(driver, isLoggedIn, isLoggedOut)) {
+					info("Logged in as [" + user + "] from the cached storage state");
+					return;
+				}
+				warn("The cached storage state of [" + user
+						+ "] was rejected, logging in again");
+				STATES.remove(user, cached);
+				driver.manage().deleteAllCookies();
+			}
+			// Log in through the UI, caching the result if no other
+			// scenario has started a new login in the meantime
+			login = new CompletableFuture<>();
+			if (null != STATES.putIfAbsent(user, login)) {
+				uiLogin.run();
+				return;
+			}
+		}
+
+		try {
+			uiLogin.run();
+			if (!awaitLogin(driver, isLoggedIn, isLoggedOut)) {
+				throw new IllegalStateException("The login of [" + user
+						+ "] did not reach the landing page");
+			}
+			login.complete(capture(driver));
+			info("Cached the storage state of [" + user + "]");
+		} catch (RuntimeException | AssertionError e) {
+			STATES.remove(user, login);
+			login.completeExceptionally(e);
+			throw e;
+		}
+	}
+
+	/**
+	 * Wait until the page shows whether the session is logged in: a login
+	 * redirects, and a rejected storage state may only be sent back to the
+	 * login form by the page's own scripts.
+	 * @param driver The WebDriver.
+	 * @param isLoggedIn Whether the page shows something only a logged in
+	 *                   user sees.
+	 * @param isLoggedOut Whether the page shows the login form.
+	 * @return True if the session is logged in, false if it is logged out
+	 * or neither showed within WAIT_EXPLICIT seconds.
+	 */
+	private static boolean awaitLogin(final WebDriver driver,
+									  final Predicate<WebDriver> isLoggedIn,
+									  final Predicate<WebDriver> isLoggedOut) {
+		try {
+			return new WebDriverWait(driver, Duration.ofSeconds(WAIT_EXPLICIT))
+					.pollingEvery(Duration.ofMillis(ZERO_SLEEP_POLL_INTERVAL))
+					// a wait goes on while its condition is false, so the
+					// answer is wrapped to let 'logged out' end it too
+					.until(webDriver -> isLoggedIn.test(webDriver)
+							? Optional.of(true)
+							: isLoggedOut.test(webDriver) ? Optional.of(false) : null)
+					.get();
+		} catch (org.openqa.selenium.TimeoutException e) {
+			warn("The page showed neither a logged in user nor the login "
+					+ "form within [" + WAIT_EXPLICIT + "] seconds");
+			return false;
+		}
+	}
+
+	/**
+	 * Read the cookies and localStorage of the current page.
+	 * @param driver The WebDriver.
+	 * @return The {@link StorageState } of the page's origin.
+	 */
+	static StorageState capture(final WebDriver driver) {
+		Map<String, String> localStorage = new HashMap<>();
+		if (driver instanceof JavascriptExecutor) {
+			try {
+				Object state = ((JavascriptExecutor) driver)
+						.executeScript(READ_LOCAL_STORAGE);
+				if (state instanceof Map) {
+					((Map<?, ?>) state).forEach((key, value) ->
+							localStorage.put(String.valueOf(key),
+									String.valueOf(value)));
+				}
+			} catch (UnsupportedCommandException e) {
+				// No browser (jsoup), so no localStorage either
+			}
+		}
+		return new StorageState(originOf(driver.getCurrentUrl()),
+				new HashSet<>(driver.manage().getCookies()),
+				localStorage);
+	}
+
+	/**
+	 * Put a storage state into a session. Cookies and localStorage can only
+	 * be set on a page of their origin, so the session is sent there first
+	 * if it is elsewhere.
+	 * @param driver The WebDriver.
+	 * @param state The storage state.
+	 */
+	static void inject(final WebDriver driver, final StorageState state) {
+		if (!originOf(driver.getCurrentUrl()).equals(state.origin)) {
+			driver.navigate().to(state.origin);
+		}
+
+		driver.manage().deleteAllCookies();
+		for (Cookie cookie : state.cookies) {
+			driver.manage().addCookie(cookie);
+		}
+		if (!state.localStorage.isEmpty()
+				&& driver instanceof JavascriptExecutor) {
+			((JavascriptExecutor) driver).executeScript(WRITE_LOCAL_STORAGE,
+					state.localStorage);
+		}
+	}
+
+	/**
+	 * Wait for another scenario's login to finish.
+	 * @param user The username.
+	 * @param login The login in progress.
+	 * @return The {@link StorageState }, or null if that login failed.
+	 */
+	private static StorageState await(final String user,
+									  final CompletableFuture<StorageState> login) {
+		try {
+			return login.get(WAIT_EXPLICIT, TimeUnit.SECONDS);
+		} catch (ExecutionException e) {
+			warn("The cached login of [" + user + "] failed : " + e.getCause());
+		} catch (TimeoutException e) {
+			warn("The login of [" + user + "] did not finish within ["
+					+ WAIT_EXPLICIT + "] seconds");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			error("Interrupted while waiting for the login of [" + user + "]", e);
+		}
+		return null;
+	}
+
+	/**
+	 * Find the origin (scheme, host and port) of a URL.
+	 * @param url The URL.
+	 * @return The origin followed by '/'.
+	 */
+	private static String originOf(final String url) {
+		URI uri = URI.create(url);
+		return uri.getScheme() + "://" + uri.getRawAuthority() + "/";
+	}
+
+	/**
+	 * What a login left in the browser for one origin.
+	 */
+	static final class StorageState {
+
+		/**
+		 * The origin the state belongs to.
+		 */
+		private final String origin;
+
+		/**
+		 * The cookies.
+		 */
+		private final Set<Cookie> cookies;
+
+		/**
+		 * The localStorage entries.
+		 */
+		private final Map<String, String> localStorage;
+
+		/**
+		 * Create a storage state.
+		 * @param stateOrigin The origin.
+		 * @param stateCookies The cookies.
+		 * @param stateLocalStorage The localStorage entries.
+		 */
+		StorageState(final String stateOrigin,
+					 final Set<Cookie> stateCookies,
+					 final Map<String, String> stateLocalStorage) {
+			this.origin = stateOrigin;
+			this.cookies = Collections.unmodifiableSet(stateCookies);
+			this.localStorage = Collections.unmodifiableMap(stateLocalStorage);
+		}
+	}
+}
@@ -114,4 +114,254 @@ public final class TestConstants {
 	public static final boolean SEND_EMAIL
 			= Boolean.parseBoolean(FrameworkConfig.get("SEND_EMAIL"));
 
+	/**
+	 * Whether scenarios lease warm sessions from a pool instead of
+	 * creating and quitting a session each.
+	 */
+	public static final boolean SESSION_POOL_ENABLED
+			= Boolean.parseBoolean(FrameworkConfig.get("SESSION_POOL_ENABLED"));
+
+	/**
+	 * The number of sessions the pool keeps warm per browser.
+	 */
+	public static final int SESSION_POOL_MIN_SIZE
+			= Integer.parseInt(
+			FrameworkConfig.get("SESSION_POOL_MIN_SIZE"));
+
+	/**
+	 * The maximum number of live sessions per browser.
+	 */
+	public static final int SESSION_POOL_MAX_SIZE
+			= Integer.parseInt(
+			FrameworkConfig.get("SESSION_POOL_MAX_SIZE"));
+
+	/**
+	 * The number of scenarios a pooled session serves before it is quit.
+	 */
+	public static final int SESSION_POOL_MAX_REUSE
+			= Integer.parseInt(
+			FrameworkConfig.get("SESSION_POOL_MAX_REUSE"));
+
+	/**
+	 * The number of seconds a pooled session may stay idle.
+	 */
+	public static final int SESSION_POOL_IDLE_TTL
+			= Integer.parseInt(
+			FrameworkConfig.get("SESSION_POOL_IDLE_TTL"));
+
+	/**
+	 * Whether the session for the next scenario is prepared in the
+	 * background while the current scenario tears down.
+	 */
+	public static final boolean SESSION_PREFETCH_ENABLED
+			= Boolean.parseBoolean(
+			FrameworkConfig.get("SESSION_PREFETCH_ENABLED"));
+
+	/**
+	 * Whether the number of concurrent scenarios follows the free
+	 * capacity of the Grid.
+	 */
+	public static final boolean ADAPTIVE_CONCURRENCY_ENABLED
+			= Boolean.parseBoolean(
+			FrameworkConfig.get("ADAPTIVE_CONCURRENCY_ENABLED"));
+
+	/**
+	 * The number of seconds between two reads of the Grid status.
+	 */
+	public static final int ADAPTIVE_CONCURRENCY_POLL_INTERVAL
+			= Integer.parseInt(
+			FrameworkConfig.get("ADAPTIVE_CONCURRENCY_POLL_INTERVAL"));
+
+	/**
+	 * The session creation time, in milliseconds, above which the Grid is
+	 * considered congested.
+	 */
+	public static final int ADAPTIVE_CONCURRENCY_TARGET_LATENCY
+			= Integer.parseInt(
+			FrameworkConfig.get("ADAPTIVE_CONCURRENCY_TARGET_LATENCY"));
+
+	/**
+	 * The maximum number of scenarios the virtual thread runner keeps in
+	 * flight, 0 for no limit other than the Grid concurrency controller.
+	 */
+	public static final int VIRTUAL_THREAD_MAX_SCENARIOS
+			= Integer.parseInt(
+			FrameworkConfig.get("VIRTUAL_THREAD_MAX_SCENARIOS"));
+
+	/**
+	 * The number of seconds to wait for a connection to the Grid.
+	 */
+	public static final int HTTP_CONNECTION_TIMEOUT
+			= Integer.parseInt(
+			FrameworkConfig.get("HTTP_CONNECTION_TIMEOUT"));
+
+	/**
+	 * The number of seconds to wait for the Grid to answer a command.
+	 */
+	public static final int HTTP_READ_TIMEOUT
+			= Integer.parseInt(
+			FrameworkConfig.get("HTTP_READ_TIMEOUT"));
+
+	/**
+	 * The HTTP version used to talk to the Grid (HTTP_1_1 or HTTP_2).
+	 */
+	public static final String HTTP_VERSION
+			= FrameworkConfig.get("HTTP_VERSION");
+
+	/**
+	 * The maximum number of idle connections kept open to the Grid,
+	 * 0 for the JDK default (no limit).
+	 */
+	public static final int HTTP_CONNECTION_POOL_SIZE
+			= Integer.parseInt(
+			FrameworkConfig.get("HTTP_CONNECTION_POOL_SIZE"));
+
+	/**
+	 * The number of seconds an idle connection to the Grid is kept open.
+	 */
+	public static final int HTTP_KEEPALIVE_TIMEOUT
+			= Integer.parseInt(
+			FrameworkConfig.get("HTTP_KEEPALIVE_TIMEOUT"));
+
+	/**
+	 * Whether the round trip of every WebDriver command is recorded.
+	 */
+	public static final boolean COMMAND_METRICS_ENABLED
+			= Boolean.parseBoolean(
+			FrameworkConfig.get("COMMAND_METRICS_ENABLED"));
+
+	/**
+	 * Whether users are logged in through the UI once and have their
+	 * storage state injected into later sessions.
+	 */
+	public static final boolean STORAGE_STATE_CACHE_ENABLED
+			= Boolean.parseBoolean(
+			FrameworkConfig.get("STORAGE_STATE_CACHE_ENABLED"));
+
+	/**
+	 * Whether the checks before a click, an input or an isSelected run as
+	 * one injected script instead of a WebDriver command each.
+	 */
+	public static final boolean COMPOSITE_ACTIONS_ENABLED
+			= Boolean.parseBoolean(
+			FrameworkConfig.get("COMPOSITE_ACTIONS_ENABLED"));
+
+	/**
+	 * Whether the standard waits of the pages wait on readiness conditions
+	 * instead of sleeping for WAIT_STANDARD seconds.
+	 */
+	public static final boolean ZERO_SLEEP_ENABLED
+			= Boolean.parseBoolean(
+			FrameworkConfig.get("ZERO_SLEEP_ENABLED"));
+
+	/**
+	 * The number of milliseconds between two checks of a readiness
+	 * condition in zero-sleep mode.
+	 */
+	public static final int ZERO_SLEEP_POLL_INTERVAL
+			= Integer.parseInt(
+			FrameworkConfig.get("ZERO_SLEEP_POLL_INTERVAL"));
+
+	/**
+	 * Whether the waits on visibility, text, values, attributes, element
+	 * counts, the URL and the title run inside the browser as a single
+	 * asynchronous script instead of being polled from the JVM.
+	 */
+	public static final boolean IN_BROWSER_WAITS_ENABLED
+			= Boolean.parseBoolean(
+			FrameworkConfig.get("IN_BROWSER_WAITS_ENABLED"));
+
+	/**
+	 * Whether navigations wait for the network to be idle instead of only
+	 * for document.readyState.
+	 */
+	public static final boolean NETWORK_IDLE_ENABLED
+			= Boolean.parseBoolean(
+			FrameworkConfig.get("NETWORK_IDLE_ENABLED"));
+
+	/**
+	 * The number of milliseconds without a request in flight after which
+	 * the network is idle.
+	 */
+	public static final int NETWORK_IDLE_TIME
+			= Integer.parseInt(
+			FrameworkConfig.get("NETWORK_IDLE_TIME"));
+
+	/**
+	 * The number of seconds to wait for the network to be idle before
+	 * falling back to document.readyState.
+	 */
+	public static final int NETWORK_IDLE_TIMEOUT
+			= Integer.parseInt(
+			FrameworkConfig.get("NETWORK_IDLE_TIMEOUT"));
+
+	/**
+	 * Whether every wait and sleep of the pages is timed per wait type,
+	 * call site, step and scenario for the time lost report.
+	 */
+	public static final boolean WAIT_PROFILER_ENABLED
+			= Boolean.parseBoolean(
+			FrameworkConfig.get("WAIT_PROFILER_ENABLED"));
+
+	/**
+	 * The number of seconds all the budgeted waits of one step may take
+	 * together.
+	 */
+	public static final int STEP_WAIT_BUDGET
+			= Integer.parseInt(
+			FrameworkConfig.get("STEP_WAIT_BUDGET"));
+
+	/**
+	 * Whether the @FindBy fields of the pages keep the element they found
+	 * until the page navigates, instead of looking it up on every call.
+	 */
+	public static final boolean ELEMENT_CACHE_ENABLED
+			= Boolean.parseBoolean(
+			FrameworkConfig.get("ELEMENT_CACHE_ENABLED"));
+
+	/**
+	 * Whether simple XPath locators are looked up as the equivalent CSS
+	 * selector.
+	 */
+	public static final boolean LOCATOR_OPTIMISER_ENABLED
+			= Boolean.parseBoolean(
+			FrameworkConfig.get("LOCATOR_OPTIMISER_ENABLED"));
+
+	/**
+	 * Whether the time of each element lookup is recorded per locator.
+	 */
+	public static final boolean LOCATOR_PROFILING_ENABLED
+			= Boolean.parseBoolean(
+			FrameworkConfig.get("LOCATOR_PROFILING_ENABLED"));
+
+	/**
+	 * The most table rows read by one script.
+	 */
+	public static final int TABLE_CHUNK_ROWS
+			= Integer.parseInt(
+			FrameworkConfig.get("TABLE_CHUNK_ROWS"));
+
+	/**
+	 * The number of milliseconds to wait for a virtualised table to render
+	 * new rows after it is scrolled.
+	 */
+	public static final int TABLE_SCROLL_SETTLE
+			= Integer.parseInt(
+			FrameworkConfig.get("TABLE_SCROLL_SETTLE"));
+
+	/**
+	 * The number of seconds the artifacts of a failed scenario may take to
+	 * capture before its session is released.
+	 */
+	public static final int FAILURE_CAPTURE_TIMEOUT
+			= Integer.parseInt(
+			FrameworkConfig.get("FAILURE_CAPTURE_TIMEOUT"));
+
+	/**
+	 * Whether every call on the scenarios' WebDriver is recorded to the
+	 * command trace.
+	 */
+	public static final boolean COMMAND_TRACE_ENABLED
+			= Boolean.parseBoolean(
+			FrameworkConfig.get("COMMAND_TRACE_ENABLED"));
 }
@@ -2,8 +2,17 @@ package com.sauceLab.utilities;
 
 import org.slf4j.LoggerFactory;
 
+import java.util.function.Supplier;
+
 import static org.junit.Assert.fail;
 
+/**
+ * The logger of the framework. Messages that include elements, locators
+ * or anything costly to turn into text should use the {} or Supplier
+ * overloads, which build nothing when the level is disabled. Elements are
+ * described by their locator, which their toString gives without reading
+ * the page.
+ */
 public final class TestLogger {
 
     /**
@@ -42,6 +51,47 @@ public final class TestLogger {
         LOGGER.info(message);
     }
 
+    /**
+     * Log an information message, formatted only if INFO is enabled.
+     * Each {} in the 'format' is replaced by the next argument.
+     * @param format The message, with a {} for the argument.
+     * @param argument The argument.
+     */
+    public static void info(final String format, final Object argument) {
+        LOGGER.info(format, argument);
+    }
+
+    /**
+     * Log an information message, formatted only if INFO is enabled.
+     * @param format The message, with a {} for each argument.
+     * @param first The first argument.
+     * @param second The second argument.
+     */
+    public static void info(final String format,
+                            final Object first,
+                            final Object second) {
+        LOGGER.info(format, first, second);
+    }
+
+    /**
+     * Log an information message, formatted only if INFO is enabled.
+     * @param format The message, with a {} for each argument.
+     * @param arguments The arguments.
+     */
+    public static void info(final String format, final Object...arguments) {
+        LOGGER.info(format, arguments);
+    }
+
+    /**
+     * Log an information message, built only if INFO is enabled.
+     * @param message Builds the message to log.
+     */
+    public static void info(final Supplier<String> message) {
+        if (LOGGER.isInfoEnabled()) {
+            LOGGER.info(message.get());
+        }
+    }
+
     /**
      * Log a warning message.
      * @param message The message to log.
@@ -50,6 +100,25 @@ public final class TestLogger {
         LOGGER.warn(message);
     }
 
+    /**
+     * Log a warning message, formatted only if WARN is enabled.
+     * @param format The message, with a {} for the argument.
+     * @param argument The argument.
+     */
+    public static void warn(final String format, final Object argument) {
+        LOGGER.warn(format, argument);
+    }
+
+    /**
+     * Log a warning message, built only if WARN is enabled.
+     * @param message Builds the message to log.
+     */
+    public static void warn(final Supplier<String> message) {
+        if (LOGGER.isWarnEnabled()) {
+            LOGGER.warn(message.get());
+        }
+    }
+
     /**
      * Log a debug message.
      * @param message The message to log.
@@ -58,6 +127,46 @@ public final class TestLogger {
         LOGGER.debug(message);
     }
 
+    /**
+     * Log a debug message, formatted only if DEBUG is enabled.
+     * @param format The message, with a {} for the argument.
+     * @param argument The argument.
+     */
+    public static void debug(final String format, final Object argument) {
+        LOGGER.debug(format, argument);
+    }
+
+    /**
+     * Log a debug message, formatted only if DEBUG is enabled.
+     * @param format The message, with a {} for each argument.
+     * @param first The first argument.
+     * @param second The second argument.
+     */
+    public static void debug(final String format,
+                             final Object first,
+                             final Object second) {
+        LOGGER.debug(format, first, second);
+    }
+
+    /**
+     * Log a debug message, formatted only if DEBUG is enabled.
+     * @param format The message, with a {} for each argument.
+     * @param arguments The arguments.
+     */
+    public static void debug(final String format, final Object...arguments) {
+        LOGGER.debug(format, arguments);
+    }
+
+    /**
+     * Log a debug message, built only if DEBUG is enabled.
+     * @param message Builds the message to log.
+     */
+    public static void debug(final Supplier<String> message) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(message.get());
+        }
+    }
+
     /**
      * Log an error message providing any exceptions that occurred.
      * @param message The message to log.
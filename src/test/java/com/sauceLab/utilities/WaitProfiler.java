@@ -0,0 +1,454 @@
+package com.sauceLab.utilities;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.openqa.selenium.support.ui.Wait;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import static com.sauceLab.utilities.TestConstants.WAIT_PROFILER_ENABLED;
+import static com.sauceLab.utilities.TestLogger.info;
+import static com.sauceLab.utilities.TestLogger.warn;
+
+/**
+ * Where the time of a run goes on waiting. Every wait and sleep of the
+ * pages is timed per {@link WaitType} and per calling page method, and,
+ * through the {@link WaitProfilerPlugin}, added up per step and per
+ * scenario as time spent sleeping, waiting on a condition, or working.
+ * A wait inside another wait counts for its own type and call site, but
+ * only the outer one counts for the step and the scenario.
+ */
+public final class WaitProfiler {
+
+	/**
+	 * There should be no instance of this class.
+	 */
+	private WaitProfiler() { }
+
+	/**
+	 * The number of call sites and steps listed in the logged table.
+	 */
+	private static final int TOP = 10;
+
+	/**
+	 * The kinds of waits.
+	 */
+	public enum WaitType {
+
+		/** A fixed sleep of waitFor. */
+		WAIT_FOR("waitFor", true),
+
+		/** The fixed sleep of waitStandard. */
+		WAIT_STANDARD_SLEEP("waitStandard sleep", true),
+
+		/** A readiness condition of waitStandard in zero-sleep mode. */
+		WAIT_STANDARD_READINESS("waitStandard readiness", false),
+
+		/** A condition polled by the explicit wait of a page. */
+		NEW_WAIT("newWait.until", false),
+
+		/** A condition resolved inside the browser. */
+		IN_BROWSER("in-browser wait", false),
+
+		/** The network becoming idle after a navigation. */
+		NETWORK_IDLE("network idle", false),
+
+		/** A condition awaited within the wait budget of a step. */
+		DEADLINE("deadline wait", false);
+
+		/**
+		 * The name of the type in the report.
+		 */
+		private final String label;
+
+		/**
+		 * Whether the wait sleeps for a fixed time.
+		 */
+		private final boolean sleep;
+
+		/**
+		 * @param label The name of the type in the report.
+		 * @param sleep Whether the wait sleeps for a fixed time.
+		 */
+		WaitType(final String label, final boolean sleep) {
+			this.label = label;
+			this.sleep = sleep;
+		}
+	}
+
+	/**
+	 * The waits of each type.
+	 */
+	private static final Map<WaitType, LatencyHistogram> TYPES
+			= new EnumMap<>(WaitType.class);
+
+	static {
+		for (WaitType type : WaitType.values()) {
+			TYPES.put(type, new LatencyHistogram());
+		}
+	}
+
+	/**
+	 * The waits of each type and calling page method.
+	 */
+	private static final Map<String, LatencyHistogram> CALL_SITES
+			= new ConcurrentHashMap<>();
+
+	/**
+	 * The time of each step, keyed by its text.
+	 */
+	private static final Map<String, Totals> STEPS = new ConcurrentHashMap<>();
+
+	/**
+	 * The time of each scenario, keyed by its name.
+	 */
+	private static final Map<String, Totals> SCENARIOS
+			= new ConcurrentHashMap<>();
+
+	/**
+	 * The scenario and step running on this thread.
+	 */
+	private static final ThreadLocal<Context> CONTEXT
+			= ThreadLocal.withInitial(Context::new);
+
+	/**
+	 * Start timing a wait. Every call must be followed by a call to
+	 * {@link #stop(WaitType, long) }, in a finally block.
+	 * @return The start time to pass to stop.
+	 */
+	public static long start() {
+		CONTEXT.get().depth++;
+		return System.nanoTime();
+	}
+
+	/**
+	 * Stop timing a wait and record it.
+	 * @param type The type of the wait.
+	 * @param start The time returned by {@link #start() }.
+	 */
+	public static void stop(final WaitType type, final long start) {
+		long nanos = System.nanoTime() - start;
+		Context context = CONTEXT.get();
+		context.depth--;
+		if (!WAIT_PROFILER_ENABLED) {
+			return;
+		}
+
+		TYPES.get(type).record(nanos);
+		CALL_SITES.computeIfAbsent(type.label + " @ " + callSite(),
+				name -> new LatencyHistogram()).record(nanos);
+		if (context.depth == 0) {
+			if (type.sleep) {
+				context.stepSleep += nanos;
+				context.scenarioSleep += nanos;
+			} else {
+				context.stepWait += nanos;
+				context.scenarioWait += nanos;
+			}
+		}
+	}
+
+	/**
+	 * Time every call to until of the 'wait' as a {@link WaitType#NEW_WAIT }.
+	 * @param wait The wait.
+	 * @param <T> The input of the wait's conditions.
+	 * @return The profiled wait, or the 'wait' itself if the profiler is
+	 * disabled.
+	 */
+	public static <T> Wait<T> profiled(final Wait<T> wait) {
+		if (!WAIT_PROFILER_ENABLED) {
+			return wait;
+		}
+		return new Wait<>() {
+			@Override
+			public <V> V until(final Function<? super T, V> isTrue) {
+				long start = start();
+				try {
+					return wait.until(isTrue);
+				} finally {
+					stop(WaitType.NEW_WAIT, start);
+				}
+			}
+		};
+	}
+
+	/**
+	 * A scenario has started on this thread.
+	 * @param name The name of the scenario.
+	 */
+	static void scenarioStarted(final String name) {
+		Context context = CONTEXT.get();
+		context.scenario = name;
+		context.scenarioSleep = 0;
+		context.scenarioWait = 0;
+	}
+
+	/**
+	 * A step (or hook) has started on this thread.
+	 * @param text The text of the step.
+	 */
+	static void stepStarted(final String text) {
+		Context context = CONTEXT.get();
+		context.step = text;
+		context.stepSleep = 0;
+		context.stepWait = 0;
+	}
+
+	/**
+	 * The step running on this thread has finished.
+	 * @param nanos The duration of the step.
+	 */
+	static void stepFinished(final long nanos) {
+		Context context = CONTEXT.get();
+		STEPS.computeIfAbsent(context.step, text -> new Totals())
+				.add(nanos, context.stepSleep, context.stepWait);
+	}
+
+	/**
+	 * The scenario running on this thread has finished.
+	 * @param nanos The duration of the scenario.
+	 */
+	static void scenarioFinished(final long nanos) {
+		Context context = CONTEXT.get();
+		SCENARIOS.computeIfAbsent(context.scenario, name -> new Totals())
+				.add(nanos, context.scenarioSleep, context.scenarioWait);
+	}
+
+	/**
+	 * Write where the waiting time of this run went to the 'report' as
+	 * JSON, and log the time per wait type and the steps that sleep the
+	 * most.
+	 * @param report The file to write the report to.
+	 */
+	public static void writeReport(final Path report) {
+		if (CALL_SITES.isEmpty()) {
+			return;
+		}
+
+		StringBuilder table = new StringBuilder(
+				"\nTime lost waiting"
+				+ "\nwait type                   count   total (s)     p50 (ms)     p99 (ms)");
+		JsonObject types = new JsonObject();
+		for (Map.Entry<WaitType, LatencyHistogram> entry : TYPES.entrySet()) {
+			LatencyHistogram waits = entry.getValue();
+			if (waits.getCount() == 0) {
+				continue;
+			}
+			types.add(entry.getKey().label, waits.toJson());
+			table.append(String.format("%n%-25s %7d %11.1f %12.1f %12.1f",
+					entry.getKey().label,
+					waits.getCount(),
+					waits.getTotalNanos() / 1e9,
+					LatencyHistogram.millis(waits.getPercentileNanos(50)),
+					LatencyHistogram.millis(waits.getPercentileNanos(99))));
+		}
+
+		List<Map.Entry<String, LatencyHistogram>> callSites = CALL_SITES
+				.entrySet()
+				.stream()
+				.sorted(Comparator.comparingLong(
+						(Map.Entry<String, LatencyHistogram> e)
+								-> e.getValue().getTotalNanos()).reversed())
+				.toList();
+		JsonObject sites = new JsonObject();
+		table.append("\nLongest waiting call sites (s)");
+		for (int i = 0; i < callSites.size(); i++) {
+			Map.Entry<String, LatencyHistogram> entry = callSites.get(i);
+			sites.add(entry.getKey(), entry.getValue().toJson());
+			if (i < TOP) {
+				table.append(String.format("%n%-60s %8.1f",
+						entry.getKey(),
+						entry.getValue().getTotalNanos() / 1e9));
+			}
+		}
+
+		List<Map.Entry<String, Totals>> steps = sortedBySleep(STEPS);
+		table.append("\nSteps sleeping the most (s)"
+				+ "\nstep                                                 runs    sleep     wait     work");
+		for (int i = 0; i < Math.min(TOP, steps.size()); i++) {
+			Totals totals = steps.get(i).getValue();
+			table.append(String.format("%n%-50.50s %7d %8.1f %8.1f %8.1f",
+					steps.get(i).getKey(),
+					totals.runs.sum(),
+					totals.sleep.sum() / 1e9,
+					totals.wait.sum() / 1e9,
+					totals.work() / 1e9));
+		}
+		info(table.toString());
+
+		JsonObject summary = new JsonObject();
+		summary.add("wait_types", types);
+		summary.add("call_sites", sites);
+		summary.add("steps", totals("step", steps));
+		summary.add("scenarios", totals("scenario", sortedBySleep(SCENARIOS)));
+		try {
+			Files.createDirectories(report.getParent());
+			Files.writeString(report, new GsonBuilder()
+					.setPrettyPrinting()
+					.create()
+					.toJson(summary));
+		} catch (IOException e) {
+			warn("Could not write the time lost report : " + e.getMessage());
+		}
+	}
+
+	/**
+	 * The first method up the stack that is not itself waiting, e.g.
+	 * LoginPage.login, as SimpleClassName.method.
+	 * @return The calling page method.
+	 */
+	private static String callSite() {
+		return StackWalker.getInstance().walk(frames -> frames
+				.filter(frame -> !frame.getClassName().startsWith(
+								WaitProfiler.class.getName())
+						&& !frame.getClassName().endsWith(".BrowserWait")
+						&& !frame.getClassName().endsWith(".FluentWait")
+						&& !frame.getMethodName().startsWith("wait")
+						&& !frame.getMethodName().startsWith("lambda$")
+						&& !frame.getMethodName().equals("until"))
+				.map(frame -> frame.getClassName()
+						.substring(frame.getClassName().lastIndexOf('.') + 1)
+						+ "." + frame.getMethodName())
+				.findFirst()
+				.orElse("unknown"));
+	}
+
+	/**
+	 * Sort the 'totals' by the time they slept, most first.
+	 * @param totals The totals by name.
+	 * @return The sorted entries.
+	 */
+	private static List<Map.Entry<String, Totals>> sortedBySleep(
+			final Map<String, Totals> totals) {
+		return totals.entrySet()
+				.stream()
+				.sorted(Comparator.comparingLong(
+						(Map.Entry<String, Totals> e)
+								-> e.getValue().sleep.sum()).reversed())
+				.toList();
+	}
+
+	/**
+	 * The 'totals' as a JSON array.
+	 * @param key The name of the name property.
+	 * @param totals The sorted totals.
+	 * @return The JSON array.
+	 */
+	private static JsonArray totals(final String key,
+									final List<Map.Entry<String, Totals>> totals) {
+		JsonArray array = new JsonArray();
+		for (Map.Entry<String, Totals> entry : totals) {
+			Totals value = entry.getValue();
+			JsonObject json = new JsonObject();
+			json.addProperty(key, entry.getKey());
+			json.addProperty("runs", value.runs.sum());
+			json.addProperty("total_ms", LatencyHistogram.millis(value.total.sum()));
+			json.addProperty("sleep_ms", LatencyHistogram.millis(value.sleep.sum()));
+			json.addProperty("wait_ms", LatencyHistogram.millis(value.wait.sum()));
+			json.addProperty("work_ms", LatencyHistogram.millis(value.work()));
+			array.add(json);
+		}
+		return array;
+	}
+
+	/**
+	 * The scenario and step running on a thread, and their waiting time so
+	 * far.
+	 */
+	private static final class Context {
+
+		/**
+		 * The name of the scenario.
+		 */
+		private String scenario = "unknown";
+
+		/**
+		 * The text of the step.
+		 */
+		private String step = "unknown";
+
+		/**
+		 * The number of waits in progress.
+		 */
+		private int depth;
+
+		/**
+		 * The time the step slept, in nanoseconds.
+		 */
+		private long stepSleep;
+
+		/**
+		 * The time the step waited on conditions, in nanoseconds.
+		 */
+		private long stepWait;
+
+		/**
+		 * The time the scenario slept, in nanoseconds.
+		 */
+		private long scenarioSleep;
+
+		/**
+		 * The time the scenario waited on conditions, in nanoseconds.
+		 */
+		private long scenarioWait;
+	}
+
+	/**
+	 * The time of the runs of a step or a scenario.
+	 */
+	private static final class Totals {
+
+		/**
+		 * The number of runs.
+		 */
+		private final LongAdder runs = new LongAdder();
+
+		/**
+		 * The total time, in nanoseconds.
+		 */
+		private final LongAdder total = new LongAdder();
+
+		/**
+		 * The time spent sleeping, in nanoseconds.
+		 */
+		private final LongAdder sleep = new LongAdder();
+
+		/**
+		 * The time spent waiting on conditions, in nanoseconds.
+		 */
+		private final LongAdder wait = new LongAdder();
+
+		/**
+		 * Add a run.
+		 * @param totalNanos The duration of the run.
+		 * @param sleepNanos The time it slept.
+		 * @param waitNanos The time it waited on conditions.
+		 */
+		private void add(final long totalNanos,
+						 final long sleepNanos,
+						 final long waitNanos) {
+			runs.increment();
+			total.add(totalNanos);
+			sleep.add(sleepNanos);
+			wait.add(waitNanos);
+		}
+
+		/**
+		 * The time spent neither sleeping nor waiting.
+		 * @return The working time, in nanoseconds.
+		 */
+		private long work() {
+			return Math.max(0, total.sum() - sleep.sum() - wait.sum());
+		}
+	}
+}
@@ -0,0 +1,59 @@
+package com.sauceLab.utilities;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestStep;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+
+/**
+ * Tells the {@link WaitProfiler} which scenario and step are running on
+ * each thread, and how long they took. Cucumber publishes the events of a
+ * scenario on the thread that runs it, so the waits of the scenario's
+ * pages are attributed to the right step. Registered in the plugins of the
+ * suite runners.
+ */
+public final class WaitProfilerPlugin implements ConcurrentEventListener {
+
+	/**
+	 * Register for the scenario and step events.
+	 * @param publisher The publisher of the events.
+	 */
+	@Override
+	public void setEventPublisher(final EventPublisher publisher) {
+		publisher.registerHandlerFor(TestCaseStarted.class, event ->
+				WaitProfiler.scenarioStarted(event.getTestCase().getName()));
+		publisher.registerHandlerFor(TestStepStarted.class, event ->
+				WaitProfiler.stepStarted(describe(event.getTestStep())));
+		publisher.registerHandlerFor(TestStepFinished.class, event ->
+				WaitProfiler.stepFinished(event.getResult()
+						.getDuration()
+						.toNanos()));
+		publisher.registerHandlerFor(TestCaseFinished.class, event ->
+				WaitProfiler.scenarioFinished(event.getResult()
+						.getDuration()
+						.toNanos()));
+	}
+
+	/**
+	 * The text of a step, or the type and method of a hook.
+	 * @param step The step.
+	 * @return The description.
+	 */
+	static String describe(final TestStep step) {
+		if (step instanceof PickleStepTestStep) {
+			PickleStepTestStep pickleStep = (PickleStepTestStep) step;
+			return pickleStep.getStep().getKeyword()
+					+ pickleStep.getStep().getText();
+		}
+		if (step instanceof HookTestStep) {
+			return "@" + ((HookTestStep) step).getHookType()
+					+ " " + step.getCodeLocation();
+		}
+		return step.getCodeLocation();
+	}
+}
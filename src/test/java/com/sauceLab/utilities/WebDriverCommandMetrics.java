@@ -0,0 +1,89 @@
+package com.sauceLab.utilities;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.sauceLab.utilities.TestLogger.info;
+import static com.sauceLab.utilities.TestLogger.warn;
+
+/**
+ * The round-trip latency of every WebDriver command sent to the Grid,
+ * kept per command name (findElement, clickElement, executeScript, ...)
+ * for the whole run. Comparing cheap commands such as getCurrentUrl with
+ * commands that make the browser work shows whether the time goes on the
+ * Grid hop or in the browser.
+ */
+public final class WebDriverCommandMetrics {
+
+	/**
+	 * There should be no instance of this class.
+	 */
+	private WebDriverCommandMetrics() { }
+
+	/**
+	 * The latency histograms, keyed by command name.
+	 */
+	private static final Map<String, LatencyHistogram> COMMANDS
+			= new ConcurrentHashMap<>();
+
+	/**
+	 * Record the round trip of a command.
+	 * @param command The name of the command.
+	 * @param nanos The round-trip time in nanoseconds.
+	 */
+	public static void record(final String command, final long nanos) {
+		COMMANDS.computeIfAbsent(command, name -> new LatencyHistogram())
+				.record(nanos);
+	}
+
+	/**
+	 * Write the per-command percentile summary of this run to the 'report'
+	 * as JSON, slowest total first, and log it.
+	 * @param report The file to write the summary to.
+	 */
+	public static void writeReport(final Path report) {
+		if (COMMANDS.isEmpty()) {
+			return;
+		}
+
+		JsonObject summary = new JsonObject();
+		StringBuilder table = new StringBuilder(
+				"\nWebDriver command latency (ms)"
+				+ "\ncommand                     count     p50     p90     p99     max");
+		COMMANDS.entrySet().stream()
+				.sorted(Comparator.comparingLong(
+						(Map.Entry<String, LatencyHistogram> e)
+								-> e.getValue().getTotalNanos()).reversed())
+				.forEach(e -> {
+					LatencyHistogram histogram = e.getValue();
+					summary.add(e.getKey(), histogram.toJson());
+					table.append(String.format(
+							"%n%-25s %7d %7.1f %7.1f %7.1f %7.1f",
+							e.getKey(),
+							histogram.getCount(),
+							LatencyHistogram.millis(histogram.getPercentileNanos(50)),
+							LatencyHistogram.millis(histogram.getPercentileNanos(90)),
+							LatencyHistogram.millis(histogram.getPercentileNanos(99)),
+							LatencyHistogram.millis(histogram.getMaxNanos())));
+				});
+		info(table.toString());
+
+		try {
+			Files.createDirectories(report.getParent());
+			Files.writeString(report, new GsonBuilder()
+					.setPrettyPrinting()
+					.create()
+					.toJson(summary));
+		} catch (IOException e) {
+			warn("Could not write the WebDriver command latency report : "
+					+ e.getMessage());
+		}
+	}
+}
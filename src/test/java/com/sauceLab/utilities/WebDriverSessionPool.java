@@ -0,0 +1,524 @@
+package com.sauceLab.utilities;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import static com.sauceLab.utilities.TestLogger.error;
+import static com.sauceLab.utilities.TestLogger.info;
+import static com.sauceLab.utilities.TestLogger.warn;
+
+/**
+ * A pool of warm Remote WebDriver sessions for a single browser type.
+ * Scenarios lease a session from the pool and hand it back when they are
+ * done; the session is reset (windows, cookies and storage) instead of
+ * being quit, so the cost of creating a session on the Grid is only paid
+ * when the pool has to grow.
+ */
+public final class WebDriverSessionPool {
+
+	/**
+	 * Creates the warm-up sessions, which spend their time waiting on the
+	 * Grid.
+	 */
+	private static final ExecutorService WARM_UP_EXECUTOR
+			= Executors.newThreadPerTaskExecutor(Thread.ofVirtual()
+			.name("session-pool-warm-up-", 0)
+			.factory());
+
+	/**
+	 * The browser every session in this pool was created for.
+	 */
+	private final String browser;
+
+	/**
+	 * Creates a brand-new session on the Grid.
+	 */
+	private final Supplier<RemoteWebDriver> sessionFactory;
+
+	/**
+	 * The number of sessions the pool tries to keep alive.
+	 */
+	private final int minSize;
+
+	/**
+	 * The maximum number of live sessions (idle and leased).
+	 */
+	private final int maxSize;
+
+	/**
+	 * The number of scenarios a session may serve before it is quit.
+	 */
+	private final int maxReuse;
+
+	/**
+	 * How long a session may sit idle in the pool before it is quit.
+	 */
+	private final Duration idleTtl;
+
+	/**
+	 * How long a lease waits for a session before giving up.
+	 */
+	private final Duration leaseTimeout;
+
+	/**
+	 * Guards the idle queue, the leased sessions and the live count.
+	 */
+	private final ReentrantLock lock = new ReentrantLock();
+
+	/**
+	 * Signalled whenever a session is returned or a slot is freed.
+	 */
+	private final Condition available = lock.newCondition();
+
+	/**
+	 * The sessions waiting to be leased, most recently returned first.
+	 */
+	private final Deque<PooledSession> idle = new ArrayDeque<>();
+
+	/**
+	 * The sessions currently leased to a scenario.
+	 */
+	private final Map<RemoteWebDriver, PooledSession> leased
+			= new IdentityHashMap<>();
+
+	/**
+	 * The number of sessions that are idle, leased or being created.
+	 */
+	private int live = 0;
+
+	/**
+	 * Set once the pool has been shut down.
+	 */
+	private boolean closed = false;
+
+	/**
+	 * The number of sessions created by this pool.
+	 */
+	private final AtomicInteger created = new AtomicInteger();
+
+	/**
+	 * The number of leases served by an already warm session.
+	 */
+	private final AtomicInteger reused = new AtomicInteger();
+
+	/**
+	 * The number of sessions quit because they expired, wore out or
+	 * could not be reset.
+	 */
+	private final AtomicInteger discarded = new AtomicInteger();
+
+	/**
+	 * Create a pool of sessions.
+	 * @param browserName The browser of the sessions in this pool.
+	 * @param factory Creates a new session on the Grid.
+	 * @param minimum The number of sessions to keep warm.
+	 * @param maximum The maximum number of live sessions.
+	 * @param reuse The number of scenarios a session may serve.
+	 * @param ttl How long a session may stay idle.
+	 * @param timeout How long a lease waits for a free session.
+	 */
+	public WebDriverSessionPool(final String browserName,
+								final Supplier<RemoteWebDriver> factory,
+								final int minimum,
+								final int maximum,
+								final int reuse,
+								final Duration ttl,
+								final Duration timeout) {
+		this.browser = browserName;
+		this.sessionFactory = factory;
+		this.maxSize = Math.max(1, maximum);
+		this.minSize = Math.min(Math.max(0, minimum), this.maxSize);
+		this.maxReuse = Math.max(1, reuse);
+		this.idleTtl = ttl;
+		this.leaseTimeout = timeout;
+	}
+
+	/**
+	 * Start creating sessions in the background until the pool holds its
+	 * minimum number of sessions.
+	 */
+	public void warmUp() {
+		int missing;
+		lock.lock();
+		try {
+			missing = closed ? 0 : minSize - live;
+			if (missing > 0) {
+				live += missing;
+			}
+		} finally {
+			lock.unlock();
+		}
+
+		for (int i = 0; i < missing; i++) {
+			WARM_UP_EXECUTOR.execute(this::createIdleSession);
+		}
+	}
+
+	/**
+	 * Lease a session from the pool, creating one if the pool has not yet
+	 * reached its maximum size and waiting for one to be returned if it
+	 * has.
+	 * @return A {@link RemoteWebDriver } that belongs to the caller until
+	 * it is handed back through {@link #release(RemoteWebDriver)}.
+	 */
+	public RemoteWebDriver lease() {
+		List<PooledSession> expired = new ArrayList<>();
+		PooledSession session = null;
+		boolean create = false;
+
+		lock.lock();
+		try {
+			long remaining = leaseTimeout.toNanos();
+			while (null == session && !create) {
+				if (closed) {
+					break;
+				}
+				PooledSession candidate;
+				while (null != (candidate = idle.pollFirst())) {
+					if (candidate.isExpired(idleTtl)) {
+						expired.add(candidate);
+						live--;
+					} else {
+						session = candidate;
+						break;
+					}
+				}
+				if (null == session) {
+					if (live < maxSize) {
+						live++;
+						create = true;
+					} else if (remaining <= 0) {
+						break;
+					} else {
+						remaining = available.awaitNanos(remaining);
+					}
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			lock.unlock();
+		}
+
+		expired.forEach(this::quit);
+		if (!expired.isEmpty()) {
+			warmUp();
+		}
+
+		if (create) {
+			session = newSession();
+		} else if (null != session) {
+			reused.incrementAndGet();
+		}
+
+		if (null == session) {
+			error("No [" + browser + "] session became available in the "
+					+ "pool within [" + leaseTimeout.toSeconds() + "] seconds");
+		}
+
+		session.uses++;
+		lock.lock();
+		try {
+			leased.put(session.driver, session);
+		} finally {
+			lock.unlock();
+		}
+		return session.driver;
+	}
+
+	/**
+	 * Hand a leased session back to the pool. The session is reset so that
+	 * the next scenario starts from a clean browser, and is quit instead if
+	 * it has served its maximum number of scenarios or cannot be reset.
+	 * @param driver The session to return.
+	 */
+	public void release(final RemoteWebDriver driver) {
+		PooledSession session;
+		lock.lock();
+		try {
+			session = leased.remove(driver);
+		} finally {
+			lock.unlock();
+		}
+
+		if (null == session) {
+			// Not one of ours, so nobody else will clean it up
+			quitQuietly(driver);
+			return;
+		}
+
+		boolean keep = !closed && session.uses < maxReuse && reset(session);
+
+		lock.lock();
+		try {
+			if (keep && !closed) {
+				session.lastReturned = System.nanoTime();
+				idle.addFirst(session);
+			} else {
+				live--;
+				keep = false;
+			}
+			available.signal();
+		} finally {
+			lock.unlock();
+		}
+
+		if (!keep) {
+			quit(session);
+			warmUp();
+		}
+	}
+
+	/**
+	 * Quit a leased session instead of handing it back, because it may
+	 * still be busy or broken, and free its slot for a new session.
+	 * @param driver The session to discard.
+	 */
+	public void discard(final RemoteWebDriver driver) {
+		boolean ours;
+		lock.lock();
+		try {
+			ours = null != leased.remove(driver);
+			if (ours) {
+				live--;
+				available.signal();
+			}
+		} finally {
+			lock.unlock();
+		}
+
+		if (ours) {
+			discarded.incrementAndGet();
+		}
+		quitQuietly(driver);
+		if (ours) {
+			warmUp();
+		}
+	}
+
+	/**
+	 * Count the sessions waiting in the pool to be leased. The Grid reports
+	 * their slots as busy although the next scenario can have one at once.
+	 * @return The number of idle sessions.
+	 */
+	public int idleSessions() {
+		lock.lock();
+		try {
+			return idle.size();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Quit every idle session and stop handing out new ones. Sessions that
+	 * are still leased are quit when they are released.
+	 */
+	public void shutdown() {
+		List<PooledSession> toQuit;
+		lock.lock();
+		try {
+			closed = true;
+			toQuit = new ArrayList<>(idle);
+			live -= idle.size();
+			idle.clear();
+			available.signalAll();
+		} finally {
+			lock.unlock();
+		}
+		toQuit.forEach(this::quitQuietly);
+
+		info("Session pool [" + browser + "] closed. Created : ["
+				+ created.get() + "] Reused : [" + reused.get()
+				+ "] Discarded : [" + discarded.get() + "]");
+	}
+
+	/**
+	 * Create a session and park it in the idle queue.
+	 */
+	private void createIdleSession() {
+		PooledSession session;
+		try {
+			session = newSession();
+		} catch (RuntimeException | AssertionError e) {
+			// newSession has already given the slot back
+			warn("Could not warm a [" + browser + "] session : "
+					+ e.getMessage());
+			return;
+		}
+
+		lock.lock();
+		try {
+			if (!closed) {
+				session.lastReturned = System.nanoTime();
+				idle.addLast(session);
+				session = null;
+			} else {
+				live--;
+			}
+			available.signal();
+		} finally {
+			lock.unlock();
+		}
+
+		if (null != session) {
+			quitQuietly(session);
+		}
+	}
+
+	/**
+	 * Create a new session for a slot that has already been counted as
+	 * live. If creation fails the slot is given back, and a session that
+	 * was created but cannot be used is quit, before the failure is
+	 * thrown; callers must not give the slot back again.
+	 * @return The new {@link PooledSession }.
+	 */
+	private PooledSession newSession() {
+		RemoteWebDriver driver = null;
+		try {
+			driver = sessionFactory.get();
+			if (null == driver) {
+				error("The Grid did not return a [" + browser + "] session "
+						+ "for the pool");
+			}
+			PooledSession session = new PooledSession(driver,
+					driver.getWindowHandle());
+			created.incrementAndGet();
+			return session;
+		} catch (RuntimeException | AssertionError e) {
+			if (null != driver) {
+				quitQuietly(driver);
+			}
+			lock.lock();
+			try {
+				live--;
+				available.signal();
+			} finally {
+				lock.unlock();
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Return the session to the state of a freshly created one: close any
+	 * windows the scenario opened, clear cookies and web storage and park
+	 * the browser on a blank page.
+	 * @param session The session to reset.
+	 * @return True if the session could be reset and is safe to reuse.
+	 */
+	private boolean reset(final PooledSession session) {
+		RemoteWebDriver driver = session.driver;
+		try {
+			for (String handle : driver.getWindowHandles()) {
+				if (!handle.equals(session.primaryWindow)) {
+					driver.switchTo().window(handle).close();
+				}
+			}
+			driver.switchTo().window(session.primaryWindow);
+			driver.manage().deleteAllCookies();
+			((JavascriptExecutor) driver).executeScript(
+					"try { window.localStorage.clear(); } catch (e) {}"
+					+ "try { window.sessionStorage.clear(); } catch (e) {}");
+			driver.navigate().to("about:blank");
+			return true;
+		} catch (WebDriverException e) {
+			warn("Could not reset a pooled [" + browser + "] session, it "
+					+ "will be discarded : " + e.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Quit a session that is leaving the pool.
+	 * @param session The session.
+	 */
+	private void quit(final PooledSession session) {
+		discarded.incrementAndGet();
+		quitQuietly(session);
+	}
+
+	/**
+	 * Quit a session, ignoring failures of sessions the Grid already killed.
+	 * @param session The session.
+	 */
+	private void quitQuietly(final PooledSession session) {
+		quitQuietly(session.driver);
+	}
+
+	/**
+	 * Quit a driver, ignoring failures of sessions the Grid already killed.
+	 * @param driver The driver.
+	 */
+	private void quitQuietly(final RemoteWebDriver driver) {
+		try {
+			driver.quit();
+		} catch (WebDriverException e) {
+			warn("Failed to quit a [" + browser + "] session : "
+					+ e.getMessage());
+		}
+	}
+
+	/**
+	 * A session owned by the pool and its bookkeeping.
+	 */
+	private static final class PooledSession {
+
+		/**
+		 * The session.
+		 */
+		private final RemoteWebDriver driver;
+
+		/**
+		 * The window the session was created with.
+		 */
+		private final String primaryWindow;
+
+		/**
+		 * The number of scenarios this session has been leased to.
+		 */
+		private int uses = 0;
+
+		/**
+		 * When the session was last put back into the idle queue.
+		 */
+		private long lastReturned = System.nanoTime();
+
+		/**
+		 * Wrap a new session.
+		 * @param webDriver The session.
+		 * @param window The handle of the session's first window.
+		 */
+		private PooledSession(final RemoteWebDriver webDriver,
+							  final String window) {
+			this.driver = webDriver;
+			this.primaryWindow = window;
+		}
+
+		/**
+		 * Whether the session has been idle for longer than the 'ttl'.
+		 * @param ttl The idle time to live.
+		 * @return True if the session should no longer be handed out.
+		 */
+		private boolean isExpired(final Duration ttl) {
+			return System.nanoTime() - lastReturned
+					> TimeUnit.NANOSECONDS.convert(ttl);
+		}
+	}
+}
@@ -0,0 +1,244 @@
+package com.sauceLab.utilities;
+
+import org.openqa.selenium.ImmutableCapabilities;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.Response;
+import org.openqa.selenium.remote.SessionId;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+/**
+ * Unit tests for leasing, releasing and discarding the sessions of a
+ * {@link WebDriverSessionPool }, against sessions that answer without a
+ * Grid.
+ */
+public class WebDriverSessionPoolTest {
+
+	/**
+	 * How long a lease waits for a session in these tests.
+	 */
+	private static final Duration LEASE_TIMEOUT = Duration.ofSeconds(1);
+
+	/**
+	 * The pool under test.
+	 */
+	private WebDriverSessionPool pool;
+
+	/**
+	 * Close the pool.
+	 */
+	@AfterMethod
+	public void tearDown() {
+		if (null != pool) {
+			pool.shutdown();
+			pool = null;
+		}
+	}
+
+	/**
+	 * A released session is reset, parked and handed to the next lease
+	 * instead of creating another one.
+	 */
+	@Test
+	public void reusesAReleasedSession() {
+		AtomicInteger created = new AtomicInteger();
+		pool = newPool(() -> {
+			created.incrementAndGet();
+			return stubSession();
+		}, 0, 1, 2);
+
+		RemoteWebDriver first = pool.lease();
+		assertEquals(pool.idleSessions(), 0);
+		pool.release(first);
+		assertEquals(pool.idleSessions(), 1);
+		assertFalse(stub(first).quit);
+		assertTrue(stub(first).reset);
+
+		assertSame(pool.lease(), first);
+		assertEquals(created.get(), 1);
+	}
+
+	/**
+	 * A session that has served its maximum number of scenarios is quit on
+	 * release, and the next lease creates a new one.
+	 */
+	@Test
+	public void quitsAWornOutSession() {
+		pool = newPool(WebDriverSessionPoolTest::stubSession, 0, 1, 1);
+
+		RemoteWebDriver first = pool.lease();
+		pool.release(first);
+		assertTrue(stub(first).quit);
+		assertEquals(pool.idleSessions(), 0);
+
+		assertNotSame(pool.lease(), first);
+	}
+
+	/**
+	 * A discarded session is quit without being reset, and its slot is
+	 * free for the next lease straight away.
+	 */
+	@Test
+	public void discardFreesTheSlot() {
+		pool = newPool(WebDriverSessionPoolTest::stubSession, 0, 1, 2);
+
+		RemoteWebDriver first = pool.lease();
+		pool.discard(first);
+		assertTrue(stub(first).quit);
+		assertFalse(stub(first).reset);
+		assertEquals(pool.idleSessions(), 0);
+
+		long start = System.nanoTime();
+		RemoteWebDriver second = pool.lease();
+		assertNotSame(second, first);
+		assertTrue(System.nanoTime() - start < LEASE_TIMEOUT.toNanos());
+	}
+
+	/**
+	 * A driver the pool never leased is quit instead of being parked.
+	 */
+	@Test
+	public void quitsASessionItDidNotLease() {
+		pool = newPool(WebDriverSessionPoolTest::stubSession, 0, 1, 2);
+
+		RemoteWebDriver stranger = stubSession();
+		pool.release(stranger);
+		assertTrue(stub(stranger).quit);
+		assertEquals(pool.idleSessions(), 0);
+	}
+
+	/**
+	 * Every failed creation, during a lease or the warm-up, gives its slot
+	 * back exactly once, so a pool whose factory recovers still reaches its
+	 * maximum size.
+	 * @throws InterruptedException If the wait for the warm-up is
+	 *                              interrupted.
+	 */
+	@Test
+	public void failedCreationsGiveTheirSlotBack() throws InterruptedException {
+		AtomicInteger failures = new AtomicInteger(3);
+		AtomicInteger attempts = new AtomicInteger();
+		pool = newPool(() -> {
+			attempts.incrementAndGet();
+			if (failures.getAndDecrement() > 0) {
+				throw new SessionNotCreatedException("The Grid is full");
+			}
+			return stubSession();
+		}, 2, 2, 2);
+
+		// the warm-up fails twice in the background
+		pool.warmUp();
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (attempts.get() < 2 && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		assertEquals(attempts.get(), 2);
+		assertEquals(pool.idleSessions(), 0);
+
+		// a lease fails once more
+		expectThrows(SessionNotCreatedException.class, pool::lease);
+
+		// then both slots are there to be created
+		RemoteWebDriver first = pool.lease();
+		RemoteWebDriver second = pool.lease();
+		assertNotSame(first, second);
+		assertEquals(attempts.get(), 5);
+
+		// and there is no third
+		expectThrows(AssertionError.class, pool::lease);
+	}
+
+	/**
+	 * Create a pool for the tests, which is not warmed up.
+	 * @param factory Creates the sessions.
+	 * @param minimum The number of sessions to keep warm.
+	 * @param maximum The maximum number of live sessions.
+	 * @param reuse The number of scenarios a session may serve.
+	 * @return The pool.
+	 */
+	private static WebDriverSessionPool newPool(
+			final Supplier<RemoteWebDriver> factory,
+			final int minimum,
+			final int maximum,
+			final int reuse) {
+		return new WebDriverSessionPool("chrome", factory, minimum, maximum,
+				reuse, Duration.ofMinutes(5), LEASE_TIMEOUT);
+	}
+
+	/**
+	 * Create a session that answers without a Grid.
+	 * @return The session.
+	 */
+	private static RemoteWebDriver stubSession() {
+		return new RemoteWebDriver(new StubExecutor(),
+				new ImmutableCapabilities("browserName", "chrome"));
+	}
+
+	/**
+	 * The executor behind a stub session.
+	 * @param driver The stub session.
+	 * @return Its {@link StubExecutor }.
+	 */
+	private static StubExecutor stub(final RemoteWebDriver driver) {
+		return (StubExecutor) driver.getCommandExecutor();
+	}
+
+	/**
+	 * Answers the commands the pool sends to a session with a single window
+	 * and remembers whether it was reset or quit.
+	 */
+	private static final class StubExecutor implements CommandExecutor {
+
+		/**
+		 * The handle of the only window.
+		 */
+		private static final String WINDOW = "window-1";
+
+		/**
+		 * Whether the session's storage was cleared.
+		 */
+		private volatile boolean reset = false;
+
+		/**
+		 * Whether the session was quit.
+		 */
+		private volatile boolean quit = false;
+
+		@Override
+		public Response execute(final Command command) {
+			Response response = new Response(null == command.getSessionId()
+					? new SessionId(UUID.randomUUID().toString())
+					: command.getSessionId());
+			response.setState("success");
+			switch (command.getName()) {
+				case DriverCommand.NEW_SESSION -> response.setValue(
+						Map.of("browserName", "chrome"));
+				case DriverCommand.GET_CURRENT_WINDOW_HANDLE -> response.setValue(WINDOW);
+				case DriverCommand.GET_WINDOW_HANDLES -> response.setValue(Set.of(WINDOW));
+				case DriverCommand.EXECUTE_SCRIPT -> reset = true;
+				case DriverCommand.QUIT -> quit = true;
+				default -> response.setValue(null);
+			}
+			return response;
+		}
+	}
+}